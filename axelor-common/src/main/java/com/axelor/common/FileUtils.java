@@ -14,6 +14,10 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.FileVisitOption;
 import java.nio.file.FileVisitResult;
@@ -400,6 +404,37 @@ public final class FileUtils {
     }
   }
 
+  /**
+   * Copy a range of bytes of the given file to the given OutputStream.
+   *
+   * <p>The bytes are transferred with {@link FileChannel#transferTo(long, long,
+   * WritableByteChannel)}, which only reads the requested range. As the target is not a file or
+   * socket channel, the bytes are still copied through a buffer, as with {@link
+   * InputStream#transferTo(OutputStream)}.
+   *
+   * @param path the file to copy from
+   * @param offset the position of the first byte to copy
+   * @param length the number of bytes to copy
+   * @param outputStream the outputStream to copy to
+   * @throws IOException in case of I/O errors
+   */
+  public static void transferTo(Path path, long offset, long length, OutputStream outputStream)
+      throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      final WritableByteChannel target = Channels.newChannel(outputStream);
+      long position = offset;
+      long remaining = Math.min(length, channel.size() - offset);
+      while (remaining > 0) {
+        final long transferred = channel.transferTo(position, remaining, target);
+        if (transferred <= 0) {
+          break;
+        }
+        position += transferred;
+        remaining -= transferred;
+      }
+    }
+  }
+
   /**
    * Check if the candidate path is located inside the parent path
    *
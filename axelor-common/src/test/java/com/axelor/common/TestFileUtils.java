@@ -11,6 +11,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -150,4 +151,26 @@ public class TestFileUtils {
         IOUtils.contentEquals(
             source.toURI().toURL().openStream(), destination.toURI().toURL().openStream()));
   }
+
+  @Test
+  public void testTransferTo() throws IOException {
+    Path source = Files.createTempFile(null, null);
+    try {
+      Files.writeString(source, "0123456789");
+
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      FileUtils.transferTo(source, 0, 10, out);
+      assertEquals("0123456789", out.toString());
+
+      out.reset();
+      FileUtils.transferTo(source, 2, 5, out);
+      assertEquals("23456", out.toString());
+
+      out.reset();
+      FileUtils.transferTo(source, 8, 100, out);
+      assertEquals("89", out.toString());
+    } finally {
+      Files.deleteIfExists(source);
+    }
+  }
 }
@@ -0,0 +1,90 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.db.mapper;
+
+import com.axelor.test.db.Contact;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks the {@link Mapper} property accessors against plain reflection. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+  private Mapper mapper;
+
+  private Contact contact;
+
+  private Method getter;
+
+  private Method setter;
+
+  private Map<String, Object> values;
+
+  @Setup
+  public void setup() {
+    mapper = Mapper.of(Contact.class);
+    contact = new Contact("John", "Smith");
+    contact.setEmail("john.smith@example.com");
+    contact.setCredit(new BigDecimal("100.50"));
+    contact.setDateOfBirth(LocalDate.of(1980, 1, 1));
+    getter = mapper.getGetter("firstName");
+    setter = mapper.getSetter("firstName");
+    values =
+        Map.of(
+            "firstName", "Jane",
+            "lastName", "Doe",
+            "email", "jane.doe@example.com",
+            "credit", "200.25",
+            "dateOfBirth", "1990-12-31");
+  }
+
+  @Benchmark
+  public Object get() {
+    return mapper.get(contact, "firstName");
+  }
+
+  @Benchmark
+  public Object getReflective() throws Exception {
+    return getter.invoke(contact);
+  }
+
+  @Benchmark
+  public Object set() {
+    return mapper.set(contact, "firstName", "Jane");
+  }
+
+  @Benchmark
+  public Object setReflective() throws Exception {
+    return setter.invoke(contact, "Jane");
+  }
+
+  @Benchmark
+  public Object toMap() {
+    return Mapper.toMap(contact);
+  }
+
+  @Benchmark
+  public Object toBean() {
+    return Mapper.toBean(Contact.class, values);
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.file.store;
+
+import com.axelor.common.FileUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the transfer of stored files to a client socket: stream copies against {@link
+ * FileChannel} transfers.
+ *
+ * <p>Run with {@code ./gradlew :axelor-core:jmh -Pjmh.includes=FileTransferBenchmark
+ * -Pjmh.args="-prof gc"} to also report the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileTransferBenchmark {
+
+  @Param({"1", "64", "1024"})
+  private int sizeMb;
+
+  private Path file;
+
+  private long size;
+
+  private ServerSocketChannel server;
+
+  private SocketChannel client;
+
+  private OutputStream clientStream;
+
+  private Thread drain;
+
+  @Setup
+  public void setup() throws IOException {
+    file = Files.createTempFile("benchmark", ".bin");
+    size = sizeMb * 1024L * 1024L;
+
+    final byte[] chunk = new byte[1024 * 1024];
+    new Random(42).nextBytes(chunk);
+    try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.WRITE)) {
+      for (int i = 0; i < sizeMb; i++) {
+        out.write(chunk);
+      }
+    }
+
+    // the client socket, as the servlet output of a download
+    server =
+        ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    client = SocketChannel.open(server.getLocalAddress());
+    clientStream = Channels.newOutputStream(client);
+
+    final SocketChannel peer = server.accept();
+    drain =
+        Thread.ofPlatform()
+            .daemon()
+            .start(
+                () -> {
+                  final ByteBuffer buffer = ByteBuffer.allocateDirect(256 * 1024);
+                  try (peer) {
+                    while (peer.read(buffer.clear()) >= 0) {
+                      // discard
+                    }
+                  } catch (IOException e) {
+                    // closed
+                  }
+                });
+  }
+
+  @TearDown
+  public void tearDown() throws IOException, InterruptedException {
+    client.close();
+    server.close();
+    drain.join();
+    Files.deleteIfExists(file);
+  }
+
+  /** The former download path, copying through a 1 KiB heap buffer. */
+  @Benchmark
+  public void streamCopy() throws IOException {
+    try (InputStream in = Files.newInputStream(file)) {
+      int read;
+      byte[] bytes = new byte[1024];
+      while ((read = in.read(bytes)) != -1) {
+        clientStream.write(bytes, 0, read);
+      }
+    }
+  }
+
+  @Benchmark
+  public void streamTransfer() throws IOException {
+    try (InputStream in = Files.newInputStream(file)) {
+      in.transferTo(clientStream);
+    }
+  }
+
+  /** The fallback download path, when sendfile isn't supported. */
+  @Benchmark
+  public void channelTransfer() throws IOException {
+    FileUtils.transferTo(file, 0, size, clientStream);
+  }
+
+  /** The sendfile download path, transferring directly to the socket. */
+  @Benchmark
+  public void sendfile() throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long position = 0;
+      while (position < size) {
+        position += channel.transferTo(position, size - position, client);
+      }
+    }
+  }
+}
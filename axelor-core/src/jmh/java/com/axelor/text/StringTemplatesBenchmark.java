@@ -0,0 +1,79 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.text;
+
+import com.axelor.test.db.Contact;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the rendering of a {@link StringTemplates} template shared by concurrent threads, with
+ * entity, map and object properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringTemplatesBenchmark {
+
+  private static final String TEMPLATE =
+      """
+      <contact.firstName> <contact.lastName> \\<<contact.email>\\>
+      Born: <contact.dateOfBirth>, credit: <contact.credit>
+      <address.street>, <address.city>
+      <company.name> (<company.code>)
+      """;
+
+  public record Company(String name, String code) {}
+
+  private Template template;
+
+  private Map<String, Object> context;
+
+  @Setup
+  public void setup() {
+    final Contact contact = new Contact("John", "Smith");
+    contact.setEmail("john.smith@example.com");
+    contact.setCredit(new BigDecimal("100.50"));
+    contact.setDateOfBirth(LocalDate.of(1980, 1, 1));
+
+    template = new StringTemplates().fromText(TEMPLATE);
+    context =
+        Map.of(
+            "contact",
+            contact,
+            "address",
+            Map.of("street", "1 Main Street", "city", "Paris"),
+            "company",
+            new Company("Axelor", "AXE"));
+  }
+
+  @Benchmark
+  @Threads(1)
+  public String render() {
+    return template.make(context).render();
+  }
+
+  @Benchmark
+  @Threads(32)
+  public String renderConcurrent() {
+    return template.make(context).render();
+  }
+}
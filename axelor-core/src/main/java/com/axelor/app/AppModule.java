@@ -9,6 +9,7 @@ import com.axelor.db.audit.HibernateListenerConfigurator;
 import com.axelor.event.EventModule;
 import com.axelor.inject.Beans;
 import com.axelor.inject.logger.LoggerModule;
+import com.axelor.mail.service.MailOutbox;
 import com.axelor.meta.MetaScanner;
 import com.axelor.meta.db.repo.MetaJsonReferenceUpdater;
 import com.axelor.meta.loader.ModuleManager;
@@ -67,6 +68,7 @@ public class AppModule extends AbstractModule {
 
     bind(AppSettingsObserver.class);
     bind(ViewWatcherObserver.class);
+    bind(MailOutbox.class);
 
     bind(MetaThemeService.class).to(MetaThemeServiceImpl.class);
     bind(ModelServiceFactory.class).to(ModelServiceFactoryImpl.class);
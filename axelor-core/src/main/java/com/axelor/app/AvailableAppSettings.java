@@ -26,6 +26,8 @@ public interface AvailableAppSettings {
   String APPLICATION_BASE_URL = "application.base-url";
   String APPLICATION_CONFIG_PROVIDER = "application.config-provider";
   String CONFIG_MULTI_TENANCY = "application.multi-tenancy";
+  String CONFIG_MULTI_TENANCY_MAX_CONNECTIONS = "application.multi-tenancy.max-connections";
+  String CONFIG_MULTI_TENANCY_WARM_UP = "application.multi-tenancy.warm-up";
   String APPLICATION_POLLING_INTERVAL = "application.polling-interval";
 
   @Deprecated
@@ -48,6 +50,9 @@ public interface AvailableAppSettings {
   String AUDIT_PROCESSOR_BUSY_BACKOFF_MAX_RETRIES =
       "application.audit.processor.busy-backoff-max-retries";
   String AUDIT_PROCESSOR_BATCH_SIZE = "application.audit.processor.batch-size";
+  String AUDIT_PROCESSOR_WORKERS = "application.audit.processor.workers";
+  String AUDIT_PROCESSOR_QUEUE_SIZE = "application.audit.processor.queue-size";
+  String AUDIT_PROCESSOR_COALESCE_SIZE = "application.audit.processor.coalesce-size";
 
   String APPLICATION_DOMAIN_BLOCKLIST_PATTERN = "application.domain-blocklist-pattern";
 
@@ -118,6 +123,7 @@ public interface AvailableAppSettings {
   String FILE_UPLOAD_BLACKLIST_PATTERN = "data.upload.blocklist.pattern";
   String FILE_UPLOAD_WHITELIST_TYPES = "data.upload.allowlist.types";
   String FILE_UPLOAD_BLACKLIST_TYPES = "data.upload.blocklist.types";
+  String FILE_UPLOAD_CONTENT_ADDRESSED = "data.upload.content-addressed";
 
   String DATA_EXPORT_MAX_SIZE = "data.export.max-size";
   String DATA_EXPORT_FETCH_SIZE = "data.export.fetch-size";
@@ -127,6 +133,8 @@ public interface AvailableAppSettings {
   String DATA_EXPORT_COLLECTIONS_ENABLED = "data.export.collections.enabled";
   String DATA_EXPORT_COLLECTIONS_SEPARATOR = "data.export.collections.separator";
 
+  String DATA_SEARCH_COUNT_LIMIT = "data.search.count-limit";
+
   String DATA_IMPORT_DEMO_DATA = "data.import.demo-data";
 
   String DATA_OBJECT_STORAGE_ENABLED = "data.object-storage.enabled";
@@ -147,8 +155,14 @@ public interface AvailableAppSettings {
       "data.object-storage.iam-aws.custom-endpoint";
 
   String DATA_OBJECT_STORAGE_CACHE_ENABLED = "data.object-storage.cache.enabled";
+  String DATA_OBJECT_STORAGE_CACHE_MAX_SIZE = "data.object-storage.cache.max-size";
+
+  @Deprecated
   String DATA_OBJECT_STORAGE_CACHE_MAX_ENTRIES = "data.object-storage.cache.max-entries";
+
   String DATA_OBJECT_STORAGE_CACHE_TIME_TO_LIVE = "data.object-storage.cache.time-to-live";
+
+  @Deprecated
   String DATA_OBJECT_STORAGE_CACHE_CLEAN_FREQUENCY = "data.object-storage.cache.clean-frequency";
 
   String CORS_ALLOW_ORIGIN = "cors.allow-origin";
@@ -197,6 +211,10 @@ public interface AvailableAppSettings {
   String MAIL_SMTP_CONNECTION_TIMEOUT = "mail.smtp.connection-timeout";
   String MAIL_SMTP_FROM = "mail.smtp.from";
   String MAIL_SMTP_PROPERTIES_PREFIX = "mail.smtp.properties.";
+  String MAIL_OUTBOX_WORKERS = "mail.outbox.workers";
+  String MAIL_OUTBOX_BATCH_SIZE = "mail.outbox.batch-size";
+  String MAIL_OUTBOX_MAX_ATTEMPTS = "mail.outbox.max-attempts";
+  String MAIL_OUTBOX_RETRY_DELAY = "mail.outbox.retry-delay";
 
   String MAIL_IMAP_HOST = "mail.imap.host";
   String MAIL_IMAP_PORT = "mail.imap.port";
@@ -205,6 +223,7 @@ public interface AvailableAppSettings {
   String MAIL_IMAP_CHANNEL = "mail.imap.channel";
   String MAIL_IMAP_TIMEOUT = "mail.imap.timeout";
   String MAIL_IMAP_CONNECTION_TIMEOUT = "mail.imap.connection-timeout";
+  String MAIL_IMAP_BATCH_SIZE = "mail.imap.batch-size";
   String MAIL_IMAP_PROPERTIES_PREFIX = "mail.imap.properties.";
 
   String LOGGING_PATH = "logging.path";
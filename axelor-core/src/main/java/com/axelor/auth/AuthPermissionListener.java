@@ -0,0 +1,38 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.auth;
+
+import com.axelor.auth.db.User;
+import com.axelor.db.JPA;
+import com.axelor.db.Model;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.engine.spi.SessionImplementor;
+
+/**
+ * Entity listener to invalidate the resolved permissions when users, groups, roles or permissions
+ * are changed.
+ *
+ * <p>Changing a user only invalidates the permissions of that user.
+ */
+public class AuthPermissionListener {
+
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  private void onChange(Model entity) {
+    final Long userId = entity instanceof User ? entity.getId() : null;
+    SessionImplementor session = JPA.em().unwrap(SessionImplementor.class);
+    session
+        .getActionQueue()
+        .registerProcess(
+            (success, sessionImplementor) -> {
+              if (success) {
+                AuthSecurity.invalidatePermissions(userId);
+              }
+            });
+  }
+}
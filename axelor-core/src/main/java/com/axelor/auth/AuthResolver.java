@@ -22,7 +22,7 @@ final class AuthResolver {
    * @param accessType the required access type, if null, returns true always
    * @return true if can confirm or given accessType is null otherwise false
    */
-  boolean hasAccess(Permission permission, AccessType accessType) {
+  static boolean hasAccess(Permission permission, AccessType accessType) {
     if (accessType == null) {
       return true;
     }
@@ -6,6 +6,7 @@ package com.axelor.auth;
 
 import com.axelor.auth.db.Permission;
 import com.axelor.auth.db.User;
+import com.axelor.cache.DistributedFactory;
 import com.axelor.common.StringUtils;
 import com.axelor.db.JpaSecurity;
 import com.axelor.db.Model;
@@ -20,7 +21,11 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.shiro.authz.UnauthorizedException;
 
 @Singleton
@@ -68,6 +73,56 @@ class AuthSecurity implements JpaSecurity, Provider<JpaSecurity> {
     }
   }
 
+  /** The permissions resolved for an access type on an object, with the compiled conditions. */
+  private static final class ResolvedPermissions {
+
+    private final Set<Permission> permissions;
+
+    private final boolean unconditional;
+
+    private final List<Filter> filters;
+
+    public ResolvedPermissions(User user, AccessType type, Set<Permission> permissions) {
+      this.permissions = permissions;
+      this.unconditional =
+          permissions.stream()
+              .anyMatch(p -> p.getCondition() == null && AuthResolver.hasAccess(p, type));
+      this.filters =
+          permissions.stream()
+              .map(p -> getCondition(user, p))
+              .filter(Objects::nonNull)
+              .map(Condition::getFilter)
+              .toList();
+    }
+
+    public boolean isEmpty() {
+      return permissions.isEmpty();
+    }
+  }
+
+  /** The resolved permissions of a user, by access type and model. */
+  private static final class UserPermissions {
+
+    private final Map<String, ResolvedPermissions> resolved = new ConcurrentHashMap<>();
+  }
+
+  private static final PermissionsCache<UserPermissions> PERMISSIONS =
+      new PermissionsCache<>(
+          DistributedFactory.getTopic("permissions", PermissionsCache.Invalidation.class));
+
+  /**
+   * Invalidate the resolved permissions of the given user, or of all the users, in the current
+   * tenant.
+   *
+   * <p>This should be called after users, groups, roles or permissions are changed. The other nodes
+   * are notified to discard their copies.
+   *
+   * @param userId the id of the changed user, or {@code null} to invalidate all the users
+   */
+  static void invalidatePermissions(Long userId) {
+    PERMISSIONS.invalidate(userId);
+  }
+
   private AuthResolver authResolver = new AuthResolver();
   private EduFlowAuthResolver eduFlowAuthResolver = EduFlowAuthResolverRegistry.get();
 
@@ -79,7 +134,7 @@ class AuthSecurity implements JpaSecurity, Provider<JpaSecurity> {
     return user;
   }
 
-  private Condition getCondition(User user, Permission permission, AccessType accessType) {
+  private static Condition getCondition(User user, Permission permission) {
     final String condition = permission.getCondition();
     final String params = permission.getConditionParams();
     if (condition == null || "".equals(condition.trim())) {
@@ -120,20 +175,12 @@ class AuthSecurity implements JpaSecurity, Provider<JpaSecurity> {
       return null;
     }
 
-    final List<Filter> filters = new ArrayList<>();
-    final Set<Permission> permissions = resolvePermissions(user, model.getName(), type, ids);
-    //final Set<Permission> permissions = authResolver.resolve(user, model.getName(), type);
+    final ResolvedPermissions permissions = resolvePermissions(user, model.getName(), type, ids);
     if (permissions.isEmpty()) {
       return null;
     }
 
-    for (Permission permission : permissions) {
-      Condition condition = this.getCondition(user, permission, type);
-      if (condition != null) {
-        filters.add(condition.getFilter());
-      }
-    }
-
+    final List<Filter> filters = permissions.filters;
     if (filters.isEmpty() && ids.length == 0) {
       return null;
     }
@@ -158,17 +205,14 @@ class AuthSecurity implements JpaSecurity, Provider<JpaSecurity> {
       return true;
     }
 
-    final Set<Permission> permissions = resolvePermissions(user, model.getName(), type, ids);
-    //final Set<Permission> permissions = authResolver.resolve(user, model.getName(), type);
+    final ResolvedPermissions permissions = resolvePermissions(user, model.getName(), type, ids);
     if (permissions.isEmpty()) {
       return false;
     }
 
     // check whether non-conditional permissions are granted
-    for (Permission permission : permissions) {
-      if (permission.getCondition() == null && authResolver.hasAccess(permission, type)) {
-        return true;
-      }
+    if (permissions.unconditional) {
+      return true;
     }
 
     if (ids == null || ids.length == 0) {
@@ -197,12 +241,24 @@ class AuthSecurity implements JpaSecurity, Provider<JpaSecurity> {
     return new AuthSecurity();
   }
 
-  private Set<Permission> resolvePermissions (User user, String object, AccessType type, Long... ids) {
+  private ResolvedPermissions resolvePermissions(
+      User user, String object, AccessType type, Long... ids) {
     if (eduFlowAuthResolver != null) {
-      return eduFlowAuthResolver
-              .resolve(user, object, type, ids).orElse(
-              authResolver.resolve(user, object, type));
+      final Optional<Set<Permission>> permissions =
+          eduFlowAuthResolver.resolve(user, object, type, ids);
+      if (permissions.isPresent()) {
+        return new ResolvedPermissions(user, type, permissions.get());
+      }
+    }
+
+    final UserPermissions cached = PERMISSIONS.get(user.getId(), UserPermissions::new);
+
+    final String key = type + ":" + object;
+    ResolvedPermissions resolved = cached.resolved.get(key);
+    if (resolved == null) {
+      resolved = new ResolvedPermissions(user, type, authResolver.resolve(user, object, type));
+      cached.resolved.putIfAbsent(key, resolved);
     }
-    return authResolver.resolve(user, object, type);
+    return resolved;
   }
 }
@@ -0,0 +1,126 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.auth;
+
+import com.axelor.cache.AxelorCache;
+import com.axelor.cache.CacheBuilder;
+import com.axelor.cache.DistributedTopic;
+import com.axelor.db.tenants.TenantResolver;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of the resolved permissions of the users.
+ *
+ * <p>Invalidations are published on a {@link DistributedTopic}, so that the other nodes discard
+ * their copies too. They are applied in the tenant where the change was made.
+ *
+ * @param <V> the type of the cached permissions
+ */
+final class PermissionsCache<V> {
+
+  private static final Logger log = LoggerFactory.getLogger(PermissionsCache.class);
+
+  /**
+   * Permissions invalidation message
+   *
+   * @param source the cache instance publishing the message
+   * @param tenantId the tenant of the change
+   * @param userId the user whose permissions are invalidated, or {@code null} for all the users
+   */
+  record Invalidation(String source, String tenantId, Long userId) implements Serializable {}
+
+  private record Versioned<V>(long version, V value) {}
+
+  private final AxelorCache<Long, Versioned<V>> cache =
+      CacheBuilder.newInMemoryBuilder()
+          .maximumSize(10_000)
+          .expireAfterAccess(Duration.ofHours(1))
+          .build();
+
+  // versions by tenant, incremented when the permissions of all the users are invalidated
+  private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+  // identifies the messages published by this instance
+  private final String source = UUID.randomUUID().toString();
+
+  private final DistributedTopic<Invalidation> topic;
+
+  PermissionsCache(DistributedTopic<Invalidation> topic) {
+    this.topic = topic;
+    topic.addListener(this::onMessage);
+    // messages may have been missed while not subscribed
+    topic.addSubscribeListener(() -> versions.values().forEach(AtomicLong::incrementAndGet));
+  }
+
+  private AtomicLong getVersion() {
+    final String tenantId = Objects.toString(TenantResolver.currentTenantIdentifier(), "");
+    return versions.computeIfAbsent(tenantId, k -> new AtomicLong());
+  }
+
+  /**
+   * Returns the cached permissions of the given user in the current tenant, creating them if
+   * missing or invalidated.
+   *
+   * @param userId the user id
+   * @param factory creates the permissions to cache
+   * @return the cached permissions
+   */
+  V get(Long userId, Supplier<V> factory) {
+    final long version = getVersion().get();
+    Versioned<V> cached = cache.get(userId);
+    if (cached == null || cached.version() != version) {
+      cached = new Versioned<>(version, factory.get());
+      cache.put(userId, cached);
+    }
+    return cached.value();
+  }
+
+  /**
+   * Invalidates the permissions of the given user, or of all the users, in the current tenant.
+   *
+   * @param userId the user id, or {@code null} to invalidate all the users
+   */
+  void invalidate(Long userId) {
+    invalidateLocal(userId);
+    try {
+      topic.publish(
+          new Invalidation(source, TenantResolver.currentTenantIdentifier(), userId));
+    } catch (Exception e) {
+      log.error("Unable to publish invalidation of permissions", e);
+    }
+  }
+
+  private void invalidateLocal(Long userId) {
+    if (userId == null) {
+      getVersion().incrementAndGet();
+    } else {
+      cache.invalidate(userId);
+    }
+  }
+
+  private void onMessage(Invalidation message) {
+    if (source.equals(message.source())) {
+      return;
+    }
+    // listeners run without tenant, the cache is resolved from the current tenant
+    final String tenantId = TenantResolver.currentTenantIdentifier();
+    final String tenantHost = TenantResolver.currentTenantHost();
+    TenantResolver.setCurrentTenant(message.tenantId(), null);
+    try {
+      invalidateLocal(message.userId());
+    } finally {
+      TenantResolver.setCurrentTenant(tenantId, tenantHost);
+    }
+  }
+}
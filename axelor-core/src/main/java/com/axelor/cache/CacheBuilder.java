@@ -6,8 +6,10 @@ package com.axelor.cache;
 
 import com.axelor.cache.caffeine.CaffeineCacheBuilder;
 import com.axelor.cache.event.RemovalListener;
+import com.axelor.cache.redisson.RedissonNearCache;
 import com.axelor.db.tenants.TenantModule;
 import java.time.Duration;
+import java.util.List;
 
 /**
  * A builder of {@link AxelorCache} instances
@@ -31,6 +33,8 @@ public abstract class CacheBuilder<K, V> {
 
   private boolean tenantAware = true;
 
+  private int nearCacheSize;
+
   private RemovalListener<? super K, ? super V> removalListener;
 
   private static final CacheProviderInfo cacheProviderInfo =
@@ -63,6 +67,7 @@ public abstract class CacheBuilder<K, V> {
     this.weakKeys = builder.weakKeys;
     this.weakValues = builder.weakValues;
     this.removalListener = builder.removalListener;
+    this.nearCacheSize = builder.nearCacheSize;
   }
 
   /**
@@ -224,6 +229,38 @@ public abstract class CacheBuilder<K, V> {
     return this;
   }
 
+  protected int getNearCacheSize() {
+    return nearCacheSize;
+  }
+
+  /**
+   * Enables a local near-cache in front of a distributed cache.
+   *
+   * <p>Values read from the distributed cache are kept in a bounded in-memory cache on each node,
+   * which is invalidated when entries are changed on any node. This avoids a network round trip
+   * and deserialization on each read, but values are shared between callers as with in-memory
+   * caches, so they must not be modified.
+   *
+   * <p>Updates must be done with the cache methods, as updates through {@link AxelorCache#asMap()}
+   * are not propagated to the near-caches. This has no effect on in-memory caches.
+   *
+   * @param maximumSize the maximum number of entries of the near-cache on each node
+   * @return this {@code CacheBuilder} instance (for chaining)
+   */
+  public CacheBuilder<K, V> nearCache(int maximumSize) {
+    this.nearCacheSize = maximumSize;
+    return this;
+  }
+
+  /**
+   * Returns the statistics of the near-caches of this node.
+   *
+   * @return the statistics of each near-cache
+   */
+  public static List<NearCacheStats> getNearCacheStats() {
+    return RedissonNearCache.getAllStats();
+  }
+
   @SuppressWarnings("unchecked")
   protected <K1 extends K, V1 extends V> RemovalListener<K1, V1> getRemovalListener() {
     return (RemovalListener<K1, V1>) removalListener;
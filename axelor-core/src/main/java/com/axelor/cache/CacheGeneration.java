@@ -0,0 +1,74 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.cache;
+
+import jakarta.annotation.Nullable;
+import java.util.function.Function;
+
+/**
+ * Generation stamp of a cache, keeping loads that race with an invalidation out of the cache.
+ *
+ * <p>A value read from the database before a change is committed must not be put back in the cache
+ * after the change has invalidated it. Values are therefore loaded with {@link #get(AxelorCache,
+ * Object, Function)}, which stamps the generation before calling the loader and drops the value
+ * again if the generation has moved meanwhile, and invalidations go through {@link
+ * #invalidate(Runnable)}, which moves the generation before evicting.
+ *
+ * <p>The generation is a {@link DistributedAtomicLong}, so an invalidation on any node discards
+ * the values being loaded on the others. It is only read on cache misses.
+ */
+public class CacheGeneration {
+
+  private final DistributedAtomicLong generation;
+
+  /**
+   * Creates a generation stamp.
+   *
+   * @param name unique name of the generation
+   */
+  public CacheGeneration(String name) {
+    this.generation = DistributedFactory.getAtomicLong(name);
+  }
+
+  /**
+   * Returns the value cached for the {@code key}, loading and caching it if necessary.
+   *
+   * <p>The loaded value is always returned to the caller, but is not kept in the cache if an
+   * invalidation happened while it was being loaded.
+   *
+   * @param cache the cache, without loader
+   * @param key the key
+   * @param loader the function loading the value
+   * @return the value, or {@code null} if the loader returned {@code null}
+   */
+  @Nullable
+  public <K, V> V get(AxelorCache<K, V> cache, K key, Function<? super K, ? extends V> loader) {
+    final V cached = cache.get(key);
+    if (cached != null) {
+      return cached;
+    }
+
+    final long stamp = generation.get();
+    final V value = loader.apply(key);
+    if (value != null) {
+      cache.put(key, value);
+      // invalidated while loading, the value may predate the change
+      if (generation.get() != stamp) {
+        cache.invalidate(key);
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Moves the generation, then runs the {@code invalidation}.
+   *
+   * @param invalidation evicts the changed values from the cache
+   */
+  public void invalidate(Runnable invalidation) {
+    generation.incrementAndGet();
+    invalidation.run();
+  }
+}
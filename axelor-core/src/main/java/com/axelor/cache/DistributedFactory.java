@@ -47,4 +47,16 @@ public class DistributedFactory {
   public static DistributedAtomicLong getAtomicLong(String name) {
     return distributedService.getAtomicLong(stackWalker.getCallerClass().getName() + ":" + name);
   }
+
+  /**
+   * Returns distributed-aware publish-subscribe topic.
+   *
+   * @param name name of the topic
+   * @param type type of the messages
+   * @return distributed-aware topic
+   */
+  public static <M> DistributedTopic<M> getTopic(String name, Class<M> type) {
+    return distributedService.getTopic(
+        stackWalker.getCallerClass().getName() + ":" + name, type);
+  }
 }
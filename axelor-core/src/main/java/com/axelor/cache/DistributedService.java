@@ -36,4 +36,13 @@ public interface DistributedService {
    * @return distributed-aware atomic long
    */
   DistributedAtomicLong getAtomicLong(String name);
+
+  /**
+   * Returns distributed-aware publish-subscribe topic.
+   *
+   * @param name name of the topic
+   * @param type type of the messages
+   * @return distributed-aware topic
+   */
+  <M> DistributedTopic<M> getTopic(String name, Class<M> type);
 }
@@ -0,0 +1,51 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Publish-subscribe topic, delivering messages to the listeners of all the nodes when the cache is
+ * distributed.
+ *
+ * @param <M> the type of messages
+ */
+public interface DistributedTopic<M> {
+
+  /**
+   * Publishes a message to the listeners of this topic, including the ones of the current node.
+   *
+   * <p>Delivery is asynchronous when the cache is distributed.
+   *
+   * @param message the message to publish
+   */
+  void publish(M message);
+
+  /**
+   * Adds a listener of the messages published to this topic.
+   *
+   * @param listener the listener to add
+   * @return the listener id
+   */
+  int addListener(Consumer<? super M> listener);
+
+  /**
+   * Adds a listener called each time this node subscribes to the topic.
+   *
+   * <p>Messages published while not subscribed, like during a connection loss, are not delivered,
+   * so this can be used to discard the state maintained by the messages.
+   *
+   * @param listener the listener to add
+   * @return the listener id
+   */
+  int addSubscribeListener(Runnable listener);
+
+  /**
+   * Removes the given listeners.
+   *
+   * @param listenerIds the ids of the listeners to remove
+   */
+  void removeListener(int... listenerIds);
+}
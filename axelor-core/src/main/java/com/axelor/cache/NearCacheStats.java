@@ -0,0 +1,36 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.cache;
+
+/**
+ * Statistics of a near-cache on the current node.
+ *
+ * @param name the name of the cache
+ * @param localHits the number of reads served by the near-cache
+ * @param localMisses the number of reads not found in the near-cache
+ * @param remoteHits the number of near-cache misses found in the distributed cache
+ * @param remoteMisses the number of near-cache misses not found in the distributed cache
+ * @param invalidations the number of invalidation messages received from other nodes
+ * @param size the estimated number of entries of the near-cache
+ */
+public record NearCacheStats(
+    String name,
+    long localHits,
+    long localMisses,
+    long remoteHits,
+    long remoteMisses,
+    long invalidations,
+    long size) {
+
+  /**
+   * Returns the ratio of reads served without reaching the distributed cache.
+   *
+   * @return the local hit rate, {@code 1.0} when there were no reads
+   */
+  public double localHitRate() {
+    final long total = localHits + localMisses;
+    return total == 0 ? 1.0 : (double) localHits / total;
+  }
+}
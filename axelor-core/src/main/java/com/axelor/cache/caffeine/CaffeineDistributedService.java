@@ -6,8 +6,11 @@ package com.axelor.cache.caffeine;
 
 import com.axelor.cache.DistributedAtomicLong;
 import com.axelor.cache.DistributedService;
+import com.axelor.cache.DistributedTopic;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -20,6 +23,8 @@ public class CaffeineDistributedService implements DistributedService {
   private static LoadingCache<String, DistributedAtomicLong> atomics =
       Caffeine.newBuilder().weakValues().build(k -> new AtomicLongAdapter(new AtomicLong()));
 
+  private static Map<String, DistributedTopic<?>> topics = new ConcurrentHashMap<>();
+
   private static final NoOpLock NO_OP_LOCK = new NoOpLock();
 
   @Override
@@ -36,4 +41,10 @@ public class CaffeineDistributedService implements DistributedService {
   public DistributedAtomicLong getAtomicLong(String name) {
     return atomics.get(name);
   }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <M> DistributedTopic<M> getTopic(String name, Class<M> type) {
+    return (DistributedTopic<M>) topics.computeIfAbsent(name, k -> new LocalTopic<>());
+  }
 }
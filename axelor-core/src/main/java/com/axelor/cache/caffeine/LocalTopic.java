@@ -0,0 +1,49 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.cache.caffeine;
+
+import com.axelor.cache.DistributedTopic;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * In-memory {@link DistributedTopic}, delivering messages synchronously to the listeners of the
+ * current node.
+ *
+ * @param <M> the type of messages
+ */
+public class LocalTopic<M> implements DistributedTopic<M> {
+
+  private final AtomicInteger ids = new AtomicInteger();
+
+  private final Map<Integer, Consumer<? super M>> listeners = new ConcurrentSkipListMap<>();
+
+  @Override
+  public void publish(M message) {
+    listeners.values().forEach(listener -> listener.accept(message));
+  }
+
+  @Override
+  public int addListener(Consumer<? super M> listener) {
+    final int id = ids.incrementAndGet();
+    listeners.put(id, listener);
+    return id;
+  }
+
+  @Override
+  public int addSubscribeListener(Runnable listener) {
+    // always subscribed, no message can be missed
+    return ids.incrementAndGet();
+  }
+
+  @Override
+  public void removeListener(int... listenerIds) {
+    for (int id : listenerIds) {
+      listeners.remove(id);
+    }
+  }
+}
@@ -7,6 +7,8 @@ package com.axelor.cache.redisson;
 import com.axelor.cache.AxelorCache;
 import com.axelor.cache.CacheBuilder;
 import com.axelor.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import java.time.Duration;
 import org.redisson.api.RMap;
 import org.redisson.api.map.MapLoader;
@@ -42,7 +44,7 @@ public abstract class AbstractRedissonCacheBuilder<
     var cache = newMapCache(name);
 
     @SuppressWarnings("unchecked")
-    var redissonCache = (AxelorCache<K1, V1>) newConfiguredCache(cache);
+    var redissonCache = (AxelorCache<K1, V1>) newConfiguredCache(name, cache);
 
     return redissonCache;
   }
@@ -53,7 +55,7 @@ public abstract class AbstractRedissonCacheBuilder<
     var cache = newMapCache(name, loader);
 
     @SuppressWarnings("unchecked")
-    var redissonCache = (AxelorCache<K1, V1>) newConfiguredCache(cache);
+    var redissonCache = (AxelorCache<K1, V1>) newConfiguredCache(name, cache);
 
     return redissonCache;
   }
@@ -95,10 +97,34 @@ public abstract class AbstractRedissonCacheBuilder<
     return newMapCache(options);
   }
 
-  private AbstractRedissonCache<K, V, M> newConfiguredCache(M cache) {
+  private AxelorCache<K, V> newConfiguredCache(String name, M cache) {
     var redissonCache = newRedissonCache(cache);
     configureCache(redissonCache);
-    return redissonCache;
+    return getNearCacheSize() > 0 ? newNearCache(name, redissonCache) : redissonCache;
+  }
+
+  private AxelorCache<K, V> newNearCache(String name, AxelorCache<K, V> cache) {
+    var builder = Caffeine.newBuilder().maximumSize(getNearCacheSize());
+
+    // keep local entries no longer than the distributed ones
+    var expireAfterWrite = getExpireAfterWrite();
+    if ((isWeakKeys() || isWeakValues()) && expireAfterWrite == null) {
+      expireAfterWrite = Duration.ofHours(1);
+    }
+    if (expireAfterWrite != null) {
+      builder.expireAfterWrite(expireAfterWrite);
+    }
+    if (getExpireAfterAccess() != null) {
+      builder.expireAfterAccess(getExpireAfterAccess());
+    }
+    if (isWeakValues()) {
+      builder.weakValues();
+    }
+
+    @SuppressWarnings("unchecked")
+    var local = (Cache<K, V>) builder.build();
+
+    return new RedissonNearCache<>(name, cache, local);
   }
 
   protected void configureCache(AbstractRedissonCache<K, V, M> cache) {
@@ -6,12 +6,14 @@ package com.axelor.cache.redisson;
 
 import com.axelor.cache.DistributedAtomicLong;
 import com.axelor.cache.DistributedService;
+import com.axelor.cache.DistributedTopic;
 import java.util.concurrent.locks.Lock;
 
 public class RedissonDistributedService implements DistributedService {
 
   protected static final String LOCK_PREFIX = "axelor-lock:";
   protected static final String ATOMIC_PREFIX = "axelor-atomic:";
+  protected static final String TOPIC_PREFIX = "axelor-topic:";
 
   @Override
   public Lock getLock(String name) {
@@ -23,4 +25,9 @@ public class RedissonDistributedService implements DistributedService {
     return new RedissonAtomicLongAdapter(
         RedissonProvider.get().getAtomicLong(ATOMIC_PREFIX + name));
   }
+
+  @Override
+  public <M> DistributedTopic<M> getTopic(String name, Class<M> type) {
+    return new RedissonTopicAdapter<>(RedissonProvider.get().getTopic(TOPIC_PREFIX + name), type);
+  }
 }
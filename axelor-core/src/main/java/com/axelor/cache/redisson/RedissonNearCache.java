@@ -0,0 +1,264 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.cache.redisson;
+
+import com.axelor.cache.AxelorCache;
+import com.axelor.cache.DistributedTopic;
+import com.axelor.cache.NearCacheStats;
+import com.github.benmanes.caffeine.cache.Cache;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Redisson cache with a local near-cache
+ *
+ * <p>Reads are served from a local in-memory cache when possible, falling back to the distributed
+ * cache. Changes are written to the distributed cache and an invalidation message is published,
+ * so that the other nodes discard their local copies.
+ *
+ * @param <K> the type of keys maintained by this cache
+ * @param <V> the type of mapped values
+ */
+public class RedissonNearCache<K, V> implements AxelorCache<K, V> {
+
+  private static final String TOPIC_PREFIX = "axelor-cache-invalidation:";
+
+  private static final Map<String, RedissonNearCache<?, ?>> INSTANCES = new ConcurrentHashMap<>();
+
+  private static final Logger log = LoggerFactory.getLogger(RedissonNearCache.class);
+
+  private final String name;
+
+  // identifies the messages published by this instance
+  private final String source = UUID.randomUUID().toString();
+  private final AxelorCache<K, V> remote;
+  private final Cache<K, V> local;
+  private final DistributedTopic<Invalidation> topic;
+  private final int messageListenerId;
+  private final int statusListenerId;
+
+  // incremented on each invalidation, so that concurrent reads don't keep stale values
+  private final AtomicLong epoch = new AtomicLong();
+
+  private final LongAdder localHits = new LongAdder();
+  private final LongAdder localMisses = new LongAdder();
+  private final LongAdder remoteHits = new LongAdder();
+  private final LongAdder remoteMisses = new LongAdder();
+  private final LongAdder invalidations = new LongAdder();
+
+  /**
+   * Invalidation message
+   *
+   * @param source the cache instance publishing the message
+   * @param keys the invalidated keys, or {@code null} if all entries are invalidated
+   */
+  public record Invalidation(String source, List<Object> keys) implements Serializable {}
+
+  public RedissonNearCache(String name, AxelorCache<K, V> remote, Cache<K, V> local) {
+    this.name = name;
+    this.remote = remote;
+    this.local = local;
+    this.topic =
+        new RedissonTopicAdapter<>(
+            RedissonProvider.get().getTopic(TOPIC_PREFIX + name), Invalidation.class);
+    this.messageListenerId = topic.addListener(this::onMessage);
+    // messages may have been missed while not subscribed
+    this.statusListenerId = topic.addSubscribeListener(() -> invalidateLocal(null));
+    INSTANCES.put(name, this);
+  }
+
+  /**
+   * Returns the statistics of the near-caches of this node.
+   *
+   * @return the statistics of each near-cache
+   */
+  public static List<NearCacheStats> getAllStats() {
+    return INSTANCES.values().stream().map(RedissonNearCache::getStats).toList();
+  }
+
+  public NearCacheStats getStats() {
+    return new NearCacheStats(
+        name,
+        localHits.sum(),
+        localMisses.sum(),
+        remoteHits.sum(),
+        remoteMisses.sum(),
+        invalidations.sum(),
+        local.estimatedSize());
+  }
+
+  @SuppressWarnings("unchecked")
+  private void onMessage(Invalidation message) {
+    if (source.equals(message.source())) {
+      return;
+    }
+    invalidations.increment();
+    invalidateLocal((List<K>) message.keys());
+  }
+
+  private void invalidateLocal(List<K> keys) {
+    epoch.incrementAndGet();
+    if (keys == null) {
+      local.invalidateAll();
+    } else {
+      local.invalidateAll(keys);
+    }
+  }
+
+  private void publish(Collection<? extends K> keys) {
+    try {
+      topic.publish(new Invalidation(source, keys == null ? null : new ArrayList<>(keys)));
+    } catch (Exception e) {
+      log.error("Unable to publish invalidation of cache {}", name, e);
+    }
+  }
+
+  private V getLocal(K key) {
+    final V value = local.getIfPresent(key);
+    if (value == null) {
+      localMisses.increment();
+    } else {
+      localHits.increment();
+    }
+    return value;
+  }
+
+  private V putLocal(K key, V value, long readEpoch) {
+    if (value == null) {
+      remoteMisses.increment();
+      return null;
+    }
+    remoteHits.increment();
+    local.put(key, value);
+    // an invalidation happened while reading, the value may be stale
+    if (epoch.get() != readEpoch) {
+      local.invalidate(key);
+    }
+    return value;
+  }
+
+  @Override
+  public V get(K key) {
+    final V value = getLocal(key);
+    if (value != null) {
+      return value;
+    }
+    final long readEpoch = epoch.get();
+    return putLocal(key, remote.get(key), readEpoch);
+  }
+
+  @Override
+  public V get(K key, Function<? super K, ? extends V> mappingFunction) {
+    final V value = getLocal(key);
+    if (value != null) {
+      return value;
+    }
+    final long readEpoch = epoch.get();
+    return putLocal(key, remote.get(key, mappingFunction), readEpoch);
+  }
+
+  @Override
+  public Map<K, V> getAll(Set<K> keys) {
+    final Map<K, V> result = new HashMap<>();
+    final Set<K> missing = new HashSet<>();
+    for (K key : keys) {
+      final V value = getLocal(key);
+      if (value == null) {
+        missing.add(key);
+      } else {
+        result.put(key, value);
+      }
+    }
+    if (!missing.isEmpty()) {
+      final long readEpoch = epoch.get();
+      final Map<K, V> found = remote.getAll(missing);
+      for (K key : missing) {
+        final V value = putLocal(key, found.get(key), readEpoch);
+        if (value != null) {
+          result.put(key, value);
+        }
+      }
+    }
+    return Map.copyOf(result);
+  }
+
+  @Override
+  public void put(K key, V value) {
+    remote.put(key, value);
+    invalidateLocal(List.of(key));
+    publish(List.of(key));
+  }
+
+  @Override
+  public void putAll(Map<? extends K, ? extends V> map) {
+    remote.putAll(map);
+    final List<K> keys = new ArrayList<>(map.keySet());
+    invalidateLocal(keys);
+    publish(keys);
+  }
+
+  @Override
+  public void invalidate(K key) {
+    remote.invalidate(key);
+    invalidateLocal(List.of(key));
+    publish(List.of(key));
+  }
+
+  @Override
+  public void invalidateAll() {
+    remote.invalidateAll();
+    invalidateLocal(null);
+    publish(null);
+  }
+
+  @Override
+  public long estimatedSize() {
+    return remote.estimatedSize();
+  }
+
+  /**
+   * Returns the map view of the distributed cache.
+   *
+   * <p>Changes made through this view are not propagated to the near-caches.
+   */
+  @Override
+  public ConcurrentMap<K, V> asMap() {
+    return remote.asMap();
+  }
+
+  @Override
+  public void cleanUp() {
+    local.cleanUp();
+    remote.cleanUp();
+  }
+
+  @Override
+  public void close() {
+    INSTANCES.remove(name, this);
+    topic.removeListener(messageListenerId, statusListenerId);
+    local.invalidateAll();
+    remote.close();
+  }
+
+  @Override
+  public Lock getLock(K key) {
+    return remote.getLock(key);
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.cache.redisson;
+
+import com.axelor.cache.DistributedTopic;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import org.redisson.api.RTopic;
+import org.redisson.api.listener.BaseStatusListener;
+
+/**
+ * Adapter class for {@link org.redisson.api.RTopic} to conform to the {@link DistributedTopic}
+ * interface.
+ *
+ * @param <M> the type of messages
+ */
+public class RedissonTopicAdapter<M> implements DistributedTopic<M> {
+
+  private final RTopic topic;
+  private final Class<M> type;
+
+  public RedissonTopicAdapter(RTopic topic, Class<M> type) {
+    this.topic = topic;
+    this.type = type;
+  }
+
+  @Override
+  public void publish(M message) {
+    topic.publish(message);
+  }
+
+  @Override
+  public int addListener(Consumer<? super M> listener) {
+    return topic.addListener(type, (channel, message) -> listener.accept(message));
+  }
+
+  @Override
+  public int addSubscribeListener(Runnable listener) {
+    return topic.addListener(
+        new BaseStatusListener() {
+          @Override
+          public void onSubscribe(String channel) {
+            listener.run();
+          }
+        });
+  }
+
+  @Override
+  public void removeListener(int... listenerIds) {
+    topic.removeListener(Arrays.stream(listenerIds).boxed().toArray(Integer[]::new));
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.db;
+
+import com.axelor.file.temp.TempFiles;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+
+/**
+ * The content of a binary property, backed by a file instead of a byte array.
+ *
+ * <p>When given as the value of a binary property to {@link JPA#edit(Class, java.util.Map)}, or
+ * to {@link JPA#writeBinary(Model, String, BinaryContent)}, the content is streamed to the database
+ * column, so the memory used doesn't depend on the size of the content.
+ *
+ * <p>When set with {@link com.axelor.db.mapper.Mapper#set(Object, String, Object)} on a property
+ * of type {@code byte[]}, the content is read in memory.
+ */
+public final class BinaryContent implements AutoCloseable {
+
+  private final Path path;
+
+  private final long length;
+
+  private final boolean temporary;
+
+  private BinaryContent(Path path, long length, boolean temporary) {
+    this.path = path;
+    this.length = length;
+    this.temporary = temporary;
+  }
+
+  /**
+   * Create a binary content from the given stream.
+   *
+   * <p>The stream is copied to a temporary file, deleted when the content is closed. The stream is
+   * not closed.
+   *
+   * @param stream the stream to read
+   * @return the binary content
+   * @throws IOException if an I/O error occurs
+   */
+  public static BinaryContent of(InputStream stream) throws IOException {
+    Objects.requireNonNull(stream);
+    final Path file = TempFiles.createTempFile();
+    try {
+      final long length = Files.copy(stream, file, StandardCopyOption.REPLACE_EXISTING);
+      return new BinaryContent(file, length, true);
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(file);
+      throw e;
+    }
+  }
+
+  /**
+   * Create a binary content from the given file.
+   *
+   * <p>The file is not deleted when the content is closed.
+   *
+   * @param file the file to read
+   * @return the binary content
+   * @throws IOException if an I/O error occurs
+   */
+  public static BinaryContent of(Path file) throws IOException {
+    Objects.requireNonNull(file);
+    return new BinaryContent(file, Files.size(file), false);
+  }
+
+  /**
+   * Get the length of the content.
+   *
+   * @return the length in bytes
+   */
+  public long getLength() {
+    return length;
+  }
+
+  /**
+   * Open a new stream to read the content.
+   *
+   * @return the input stream
+   * @throws IOException if an I/O error occurs
+   */
+  public InputStream openStream() throws IOException {
+    return Files.newInputStream(path);
+  }
+
+  /**
+   * Read the whole content in memory.
+   *
+   * @return the content as byte array
+   * @throws UncheckedIOException if an I/O error occurs
+   */
+  public byte[] toByteArray() {
+    try {
+      return Files.readAllBytes(path);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Delete the temporary file of the content, if any. */
+  @Override
+  public void close() {
+    if (temporary) {
+      try {
+        Files.deleteIfExists(path);
+      } catch (IOException e) {
+        // left to the temp files clean up
+      }
+    }
+  }
+}
@@ -15,11 +15,16 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.PersistenceException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Modifier;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -38,7 +43,12 @@ import org.hibernate.HibernateException;
 import org.hibernate.MultiIdentifierLoadAccess;
 import org.hibernate.Session;
 import org.hibernate.StaleObjectStateException;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
 import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.ActionQueue;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
 
 /**
  * This class provides easy access to {@link EntityManager} and related API. It also provides some
@@ -334,6 +344,9 @@ public final class JPA {
    * This is a convenient method to reconstruct model object from a key value map, for example HTTP
    * params.
    *
+   * <p>The values of binary properties can be given as {@link BinaryContent}, in which case they
+   * are streamed to the database with {@link #writeBinary(Model, String, BinaryContent)}.
+   *
    * @param klass a model class
    * @param values key value map where key represents a field name
    * @return a JPA managed object of the given model class
@@ -386,6 +399,7 @@ public final class JPA {
     // optimistic concurrency check
     Integer beanVersion = (Integer) values.get("version");
     boolean beanChanged = false;
+    Map<String, BinaryContent> binaries = null;
 
     if (visited.contains(bean) && beanVersion == null) {
       return bean;
@@ -462,6 +476,12 @@ public final class JPA {
         value = items;
       } else if (p.isReference() && value instanceof Map map) {
         value = _edit(target, map, visited, edited);
+      } else if (value instanceof BinaryContent content && p.getType() == PropertyType.BINARY) {
+        // streamed to the column once the bean is flushed
+        if (binaries == null) binaries = new HashMap<>();
+        binaries.put(name, content);
+        beanChanged = true;
+        continue;
       }
       Object oldValue = mapper.set(bean, name, value);
       if (p.valueChanged(bean, oldValue)) {
@@ -475,6 +495,12 @@ public final class JPA {
       edited.remove(klass.getName(), id);
     }
 
+    if (binaries != null) {
+      for (Map.Entry<String, BinaryContent> entry : binaries.entrySet()) {
+        writeBinary(bean, entry.getKey(), entry.getValue());
+      }
+    }
+
     return bean;
   }
 
@@ -647,6 +673,103 @@ public final class JPA {
     return obj;
   }
 
+  /**
+   * Write the given content to a binary property of the given bean.
+   *
+   * <p>The content is streamed to the database column when the current transaction is committed,
+   * once the bean is flushed, so it's never loaded in memory whatever its size. The property of the
+   * bean itself isn't changed, and the content is closed when the transaction is completed.
+   *
+   * <p>Once committed, the bean is evicted from the second-level cache and detached from the
+   * persistence context, so that it's read again with the new content.
+   *
+   * @param bean the bean, to be persisted in the current transaction if it's a new one
+   * @param name the name of the binary property
+   * @param content the content to write
+   * @throws IllegalArgumentException if the property isn't a binary property
+   * @throws IllegalStateException if there is no active transaction
+   */
+  public static <T extends Model> void writeBinary(T bean, String name, BinaryContent content) {
+    Objects.requireNonNull(bean);
+    Objects.requireNonNull(content);
+
+    final Class<T> klass = EntityHelper.getEntityClass(bean);
+    final Property property = Mapper.of(klass).getProperty(name);
+    if (property == null || property.isTransient() || property.getType() != PropertyType.BINARY) {
+      throw new IllegalArgumentException(
+          "The bean of type: " + klass.getName() + " has no binary property called: " + name);
+    }
+
+    final EntityManager em = em();
+    if (!em.getTransaction().isActive()) {
+      throw new IllegalStateException("Binary content can only be written in a transaction.");
+    }
+
+    // the column is updated behind hibernate, so increment the version to detect concurrent edits
+    if (bean.getId() != null && em.contains(bean)) {
+      em.lock(bean, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+    }
+
+    final ActionQueue queue = em.unwrap(SessionImplementor.class).getActionQueue();
+    queue.registerProcess(
+        (BeforeTransactionCompletionProcess) session -> updateBinary(session, bean, name, content));
+    queue.registerProcess(
+        (AfterTransactionCompletionProcess) (success, session) -> content.close());
+  }
+
+  private static void updateBinary(
+      SessionImplementor session, Model bean, String name, BinaryContent content) {
+    // not persisted, nothing to update
+    if (bean.getId() == null) {
+      return;
+    }
+
+    final AbstractEntityPersister persister =
+        (AbstractEntityPersister)
+            session
+                .getFactory()
+                .getMappingMetamodel()
+                .getEntityDescriptor(EntityHelper.getEntityClass(bean));
+    final String sql =
+        "UPDATE %s SET %s = ? WHERE %s = ?"
+            .formatted(
+                persister.getPropertyTableName(name),
+                persister.getPropertyColumnNames(name)[0],
+                persister.getIdentifierColumnNames()[0]);
+
+    session.doWork(
+        connection -> {
+          try (PreparedStatement statement = connection.prepareStatement(sql);
+              InputStream stream = content.openStream()) {
+            statement.setBinaryStream(1, stream, content.getLength());
+            statement.setLong(2, bean.getId());
+            statement.executeUpdate();
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+
+    // the cached states of the bean still hold the old content, drop them once committed; this is
+    // registered after flush, so it runs after the cache updates of the flushed changes
+    final Class<? extends Model> klass = EntityHelper.getEntityClass(bean);
+    final Long id = bean.getId();
+    session
+        .getActionQueue()
+        .registerProcess(
+            (AfterTransactionCompletionProcess)
+                (success, completed) -> {
+                  if (!success) {
+                    return;
+                  }
+                  completed.getFactory().getCache().evictEntityData(klass, id);
+                  if (completed.isOpen()
+                      && completed instanceof SessionImplementor current
+                      && current.contains(bean)) {
+                    current.detach(bean);
+                  }
+                });
+  }
+
   /**
    * Run the given <code>task</code> inside a transaction that is committed after the task is
    * completed.
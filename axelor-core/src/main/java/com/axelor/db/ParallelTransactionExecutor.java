@@ -8,15 +8,11 @@ import com.axelor.concurrent.ContextAware;
 import com.axelor.db.internal.DBHelper;
 import com.axelor.db.tenants.TenantResolver;
 import java.lang.invoke.MethodHandles;
-import java.util.AbstractMap.SimpleImmutableEntry;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
-import java.util.Map.Entry;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ConcurrentMap;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -24,12 +20,30 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** Executes transactions in parallel and handles rollback if any exception occurs. */
+/**
+ * Executes transactions in parallel and handles rollback if any exception occurs.
+ *
+ * <p>Workers run on a shared executor (platform or virtual threads), so creating an executor is
+ * cheap. Each worker runs all its commands in a single transaction, claiming commands by chunks
+ * from the current priority level until it is exhausted.
+ */
 public class ParallelTransactionExecutor {
 
+  private static final ExecutorService PLATFORM_POOL =
+      Executors.newCachedThreadPool(
+          Thread.ofPlatform().daemon().name("parallel-transaction-", 0).factory());
+
+  private static final ExecutorService VIRTUAL_POOL =
+      Executors.newThreadPerTaskExecutor(
+          Thread.ofVirtual().name("parallel-transaction-virtual-", 0).factory());
+
+  private static final int MAX_CHUNK_SIZE = 16;
+
   private final String tenantId;
 
   private final int numWorkers;
@@ -38,11 +52,15 @@ public class ParallelTransactionExecutor {
 
   private final List<Future<?>> workerFutures;
 
-  private final ConcurrentMap<Integer, Entry<CountDownLatch, Queue<Runnable>>> commandsByPriority;
+  private final Map<Integer, Level> commandsByPriority;
 
-  private final List<Entry<CountDownLatch, Queue<Runnable>>> commands;
+  private final List<Level> commands;
 
-  private boolean rollbackNeeded;
+  private int batchSize;
+
+  private Consumer<Progress> progressListener;
+
+  private volatile boolean rollbackNeeded;
 
   private static final Logger logger =
       LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
@@ -58,8 +76,7 @@ public class ParallelTransactionExecutor {
   /**
    * Instantiates a parallel transaction executor with as many workers as there are available
    * processors.
-   */
-  /**
+   *
    * @param tenantId
    */
   public ParallelTransactionExecutor(String tenantId) {
@@ -73,14 +90,58 @@ public class ParallelTransactionExecutor {
    * @param numWorkers
    */
   public ParallelTransactionExecutor(String tenantId, int numWorkers) {
+    this(tenantId, numWorkers, false);
+  }
+
+  /**
+   * Instantiates a parallel transaction executor with the specified number of workers, optionally
+   * running on virtual threads.
+   *
+   * <p>The number of workers still bounds the number of concurrent transactions, so it should not
+   * exceed the size of the connection pool.
+   *
+   * @param tenantId
+   * @param numWorkers
+   * @param virtualThreads whether to run workers on virtual threads
+   */
+  public ParallelTransactionExecutor(String tenantId, int numWorkers, boolean virtualThreads) {
     this.tenantId = tenantId;
     this.numWorkers = numWorkers;
-    workerPool = Executors.newFixedThreadPool(numWorkers);
+    workerPool = virtualThreads ? VIRTUAL_POOL : PLATFORM_POOL;
     workerFutures = new ArrayList<>(numWorkers);
-    commandsByPriority = new ConcurrentHashMap<>();
+    commandsByPriority = new TreeMap<>();
     commands = new ArrayList<>();
   }
 
+  /**
+   * Sets the number of commands after which a worker flushes and clears its persistence context.
+   *
+   * <p>This keeps the memory used by long running workers bounded. The transaction of the worker
+   * is kept open, so all the commands are still rolled back if any of them fails. Commands should
+   * not rely on managed entities loaded by previous commands.
+   *
+   * @param batchSize the number of commands, {@code 0} to disable (default)
+   * @return this executor
+   */
+  public ParallelTransactionExecutor batchSize(int batchSize) {
+    this.batchSize = Math.max(0, batchSize);
+    return this;
+  }
+
+  /**
+   * Sets a listener notified of the progress of each priority level.
+   *
+   * <p>The listener is called from the worker threads each time a chunk of commands is done, and
+   * once the level is completed. It must be thread-safe.
+   *
+   * @param listener the progress listener
+   * @return this executor
+   */
+  public ParallelTransactionExecutor onProgress(Consumer<Progress> listener) {
+    this.progressListener = listener;
+    return this;
+  }
+
   /**
    * Adds a command to the queue of commands to run in a transaction.
    *
@@ -98,15 +159,8 @@ public class ParallelTransactionExecutor {
    * @param command
    * @param priority
    */
-  public void add(Runnable command, int priority) {
-    commandsByPriority
-        .computeIfAbsent(
-            priority,
-            key ->
-                new SimpleImmutableEntry<>(
-                    new CountDownLatch(numWorkers), new ConcurrentLinkedQueue<>()))
-        .getValue()
-        .add(command);
+  public synchronized void add(Runnable command, int priority) {
+    commandsByPriority.computeIfAbsent(priority, Level::new).commands.add(command);
   }
 
   /**
@@ -115,13 +169,12 @@ public class ParallelTransactionExecutor {
    */
   public void run() {
     start();
-    waitAndShutdown();
+    waitForCompletion();
   }
 
-  private void start() {
-    commandsByPriority.keySet().stream()
-        .sorted()
-        .forEachOrdered(priority -> commands.add(commandsByPriority.get(priority)));
+  private synchronized void start() {
+    commands.addAll(commandsByPriority.values());
+    commands.forEach(level -> level.prepare(numWorkers));
 
     for (int i = 0; i < numWorkers; ++i) {
       workerFutures.add(
@@ -129,33 +182,29 @@ public class ParallelTransactionExecutor {
     }
   }
 
-  private void waitAndShutdown() {
-    try {
-      workerFutures.forEach(
-          future -> {
-            try {
-              wait(future);
-            } catch (InterruptedException e) {
-              logger.error(e.getMessage(), e);
-              Thread.currentThread().interrupt();
-            } catch (ExecutionException e) {
-              final Throwable cause = e.getCause();
-
-              if (cause instanceof ErrorInAnotherWorker) {
-                return;
-              } else if (cause instanceof RuntimeException runtimeException) {
-                throw runtimeException;
-              } else if (cause instanceof Error error) {
-                throw error;
-              } else {
-                // Should never happen
-                throw new IllegalStateException(cause);
-              }
+  private void waitForCompletion() {
+    workerFutures.forEach(
+        future -> {
+          try {
+            wait(future);
+          } catch (InterruptedException e) {
+            logger.error(e.getMessage(), e);
+            Thread.currentThread().interrupt();
+          } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof ErrorInAnotherWorker) {
+              return;
+            } else if (cause instanceof RuntimeException runtimeException) {
+              throw runtimeException;
+            } else if (cause instanceof Error error) {
+              throw error;
+            } else {
+              // Should never happen
+              throw new IllegalStateException(cause);
             }
-          });
-    } finally {
-      workerPool.shutdown();
-    }
+          }
+        });
   }
 
   private void wait(Future<?> future) throws InterruptedException, ExecutionException {
@@ -171,25 +220,32 @@ public class ParallelTransactionExecutor {
 
   private void runCommands() {
     RuntimeException error = null;
+    int sinceClear = 0;
 
-    for (final Entry<CountDownLatch, Queue<Runnable>> entry : commands) {
-      final CountDownLatch doneSignal = entry.getKey();
-      final Queue<Runnable> commandQueue = entry.getValue();
-
+    for (final Level level : commands) {
       try {
-        for (Runnable command; (command = commandQueue.poll()) != null; ) {
-          command.run();
+        for (int start; !rollbackNeeded && (start = level.claim()) < level.size(); ) {
+          final int end = Math.min(start + level.chunkSize, level.size());
+          for (int i = start; i < end; ++i) {
+            level.commands.get(i).run();
+            if (batchSize > 0 && ++sinceClear >= batchSize) {
+              JPA.flush();
+              JPA.clear();
+              sinceClear = 0;
+            }
+          }
+          level.progress(end - start, false);
         }
       } catch (RuntimeException e) {
         rollbackNeeded = true;
         error = e;
-        clearCommandQueues();
+        level.failures.incrementAndGet();
       } finally {
-        doneSignal.countDown();
+        level.done();
       }
 
       try {
-        doneSignal.await();
+        level.doneSignal.await();
       } catch (InterruptedException e) {
         logger.error(e.getMessage(), e);
         Thread.currentThread().interrupt();
@@ -203,8 +259,87 @@ public class ParallelTransactionExecutor {
     }
   }
 
-  private void clearCommandQueues() {
-    commands.stream().map(Entry::getValue).forEach(Collection::clear);
+  /**
+   * Progress of a priority level.
+   *
+   * @param priority the priority level
+   * @param completed the number of commands done so far
+   * @param total the total number of commands of the level
+   * @param failures the number of failed commands
+   * @param elapsed the time elapsed since the level was started
+   * @param done whether the level is completed
+   */
+  public record Progress(
+      int priority, int completed, int total, int failures, Duration elapsed, boolean done) {}
+
+  private class Level {
+
+    private final int priority;
+    private final List<Runnable> commands = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger remainingWorkers = new AtomicInteger();
+
+    private CountDownLatch doneSignal;
+    private int chunkSize;
+    private volatile long startTime;
+
+    Level(int priority) {
+      this.priority = priority;
+    }
+
+    void prepare(int workers) {
+      doneSignal = new CountDownLatch(workers);
+      remainingWorkers.set(workers);
+      // small chunks keep the load balanced, while reducing contention on large levels
+      chunkSize = Math.clamp(commands.size() / (workers * 4L), 1, MAX_CHUNK_SIZE);
+    }
+
+    int size() {
+      return commands.size();
+    }
+
+    int claim() {
+      if (startTime == 0) {
+        startTime = System.nanoTime();
+      }
+      return next.getAndAdd(chunkSize);
+    }
+
+    void progress(int count, boolean done) {
+      final int total = completed.addAndGet(count);
+      if (progressListener != null) {
+        progressListener.accept(
+            new Progress(
+                priority,
+                total,
+                size(),
+                failures.get(),
+                Duration.ofNanos(System.nanoTime() - startTime),
+                done));
+      }
+    }
+
+    void done() {
+      try {
+        if (remainingWorkers.decrementAndGet() == 0) {
+          if (startTime == 0) {
+            startTime = System.nanoTime();
+          }
+          logger.debug(
+              "Priority {} done: {}/{} commands, {} failures in {} ms",
+              priority,
+              completed.get(),
+              size(),
+              failures.get(),
+              TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+          progress(0, true);
+        }
+      } finally {
+        doneSignal.countDown();
+      }
+    }
   }
 
   private static class ErrorInAnotherWorker extends RuntimeException {
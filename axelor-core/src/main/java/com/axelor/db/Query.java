@@ -61,6 +61,10 @@ public class Query<T extends Model> {
 
   private List<String> orderNames;
 
+  private List<Boolean> orderDescending;
+
+  private Object[] afterValues;
+
   private JoinHelper joinHelper;
 
   private boolean cacheable;
@@ -85,6 +89,7 @@ public class Query<T extends Model> {
     this.beanClass = beanClass;
     this.orderBy = "";
     this.orderNames = new ArrayList<>();
+    this.orderDescending = new ArrayList<>();
     this.joinHelper = new JoinHelper(beanClass);
   }
 
@@ -228,7 +233,8 @@ public class Query<T extends Model> {
           "Query#order(String) called with 'self' prefixed argument: " + spec);
     }
 
-    if (name.charAt(0) == '-') {
+    final boolean desc = name.charAt(0) == '-';
+    if (desc) {
       name = this.joinHelper.joinName(name.substring(1), true, translate);
       orderBy += name + " DESC";
     } else {
@@ -237,10 +243,77 @@ public class Query<T extends Model> {
     }
 
     orderNames.add(name);
+    orderDescending.add(desc);
+
+    return this;
+  }
 
+  /**
+   * Fetch only the records positioned after the record having the given sort key values (keyset
+   * pagination).
+   *
+   * <p>The values are matched with the {@link #order(String)} specs in the same order, and the
+   * query is restricted to the records that come after them in that ordering. Unlike an offset, the
+   * database can seek directly to the position using an index on the order columns, so fetching a
+   * deep page costs the same as fetching the first one.
+   *
+   * <pre>
+   * Query&lt;Person&gt; query = Query.of(Person).order(&quot;name&quot;).order(&quot;id&quot;);
+   * List&lt;Person&gt; next = query.after(last.getName(), last.getId()).fetch(40);
+   * </pre>
+   *
+   * <p>The ordering should be total (for example, with {@code id} as last order spec) and the
+   * order columns should not contain null values, otherwise records can be skipped.
+   *
+   * <p>The keyset restriction doesn't apply to {@link #count()}, {@link #update(Map)} and {@link
+   * #delete()}.
+   *
+   * @param values sort key values of the last record of the previous page, empty for the first
+   *     page
+   * @return the same query instance
+   * @throws IllegalArgumentException if number of values doesn't match the order specs
+   */
+  public Query<T> after(Object... values) {
+    if (values != null && values.length > 0 && values.length != orderNames.size()) {
+      throw new IllegalArgumentException(
+          "Expected %d keyset values, got %d.".formatted(orderNames.size(), values.length));
+    }
+    this.afterValues = values;
     return this;
   }
 
+  private String keysetFilter() {
+    if (afterValues == null || afterValues.length == 0) {
+      return null;
+    }
+    // (a > :a) OR (a = :a AND b > :b) OR (a = :a AND b = :b AND c > :c) ...
+    final List<String> terms = new ArrayList<>();
+    for (int i = 0; i < afterValues.length; i++) {
+      final StringBuilder term = new StringBuilder("(");
+      for (int j = 0; j < i; j++) {
+        term.append(orderNames.get(j)).append(" = :__after").append(j).append(" AND ");
+      }
+      term.append(orderNames.get(i))
+          .append(Boolean.TRUE.equals(orderDescending.get(i)) ? " < " : " > ")
+          .append(":__after")
+          .append(i)
+          .append(")");
+      terms.add(term.toString());
+    }
+    return String.join(" OR ", terms);
+  }
+
+  private String whereClause(boolean keyset) {
+    final String keysetFilter = keyset ? keysetFilter() : null;
+    final boolean hasFilter = filter != null && !filter.trim().isEmpty();
+    if (keysetFilter == null) {
+      return hasFilter ? " WHERE " + filter : "";
+    }
+    return hasFilter
+        ? " WHERE (" + filter + ") AND (" + keysetFilter + ")"
+        : " WHERE " + keysetFilter;
+  }
+
   /**
    * Set the query result cacheable.
    *
@@ -419,6 +492,33 @@ public class Query<T extends Model> {
     return query.getSingleResult();
   }
 
+  /**
+   * Returns the number of records matched, counting at most <code>max</code> records.
+   *
+   * <p>This is cheaper than {@link #count()} on large tables as the database can stop scanning once
+   * <code>max</code> records are found.
+   *
+   * @param max the maximum number of records to count
+   * @return total number, not more than <code>max</code>
+   */
+  public long count(int max) {
+    if (max <= 0) {
+      return count();
+    }
+    final String ids =
+        joinHelper.fixSelect(
+            new StringBuilder("SELECT self.id AS id FROM ")
+                .append(beanClass.getSimpleName())
+                .append(" self")
+                .append(joinHelper.toString(false))
+                .append(whereClause(false))
+                .toString());
+    final String qs = "SELECT COUNT(*) FROM (" + ids + " LIMIT " + max + ") _capped";
+    final TypedQuery<Long> query = em().createQuery(qs, Long.class);
+    this.bind(query).setCacheable(cacheable).setFlushMode(flushMode).setReadOnly();
+    return query.getSingleResult();
+  }
+
   /**
    * Return a selector to select records with specific fields only.
    *
@@ -619,13 +719,70 @@ public class Query<T extends Model> {
     }
   }
 
+  /**
+   * Remove all the matched records in batches. <br>
+   * <br>
+   * Like {@link #remove()}, it performs {@link EntityManager#remove(Object)} operation so that
+   * entity listeners and audit hooks are called, but records are loaded by chunks of ids and the
+   * persistence context is flushed and cleared after each chunk. This keeps the memory bounded
+   * when removing a large number of records.
+   *
+   * <p>As the persistence context is cleared, all the managed entities are detached, including the
+   * ones loaded by the caller before calling this method.
+   *
+   * @param batchSize the number of records removed per chunk, the jdbc batch size is used if
+   *     {@code <= 0}
+   * @see #remove()
+   * @see #delete()
+   * @return total number of records removed.
+   */
+  public long remove(int batchSize) {
+    final int limit = batchSize > 0 ? batchSize : Math.max(DBHelper.getJdbcBatchSize(), 1);
+    final String selectQuery = updateQuery().replaceFirst("SELECT self", "SELECT DISTINCT self.id");
+    final String idQuery =
+        (selectQuery.contains(" WHERE ")
+                ? selectQuery.replaceFirst(" WHERE ", " WHERE (") + ") AND "
+                : selectQuery + " WHERE ")
+            + "self.id > :__lastId ORDER BY self.id";
+
+    final EntityManager em = em();
+    final TypedQuery<Long> sq = em.createQuery(idQuery, Long.class);
+    this.bind(sq);
+    sq.setMaxResults(limit);
+
+    long count = 0;
+    long lastId = Long.MIN_VALUE;
+
+    while (true) {
+      sq.setParameter("__lastId", lastId);
+      final List<Long> ids = sq.getResultList();
+      if (ids.isEmpty()) {
+        break;
+      }
+
+      for (T item : em.unwrap(org.hibernate.Session.class).byMultipleIds(beanClass).multiLoad(ids)) {
+        if (item != null) {
+          JPA.remove(item);
+          count++;
+        }
+      }
+
+      em.flush();
+      em.clear();
+
+      lastId = ids.getLast();
+    }
+
+    return count;
+  }
+
   protected String selectQuery(boolean update) {
     StringBuilder sb =
         new StringBuilder("SELECT self FROM ")
             .append(beanClass.getSimpleName())
             .append(" self")
             .append(joinHelper.toString(!update));
-    if (filter != null && !filter.trim().isEmpty()) sb.append(" WHERE ").append(filter);
+    sb.append(whereClause(!update));
     if (update) {
       return sb.toString();
     }
@@ -682,7 +839,13 @@ public class Query<T extends Model> {
   }
 
   protected QueryBinder bind(jakarta.persistence.Query query) {
-    return QueryBinder.of(query).bind(namedParams, params);
+    final QueryBinder binder = QueryBinder.of(query).bind(namedParams, params);
+    if (afterValues != null) {
+      for (int i = 0; i < afterValues.length; i++) {
+        binder.bind("__after" + i, afterValues[i]);
+      }
+    }
+    return binder;
   }
 
   /**
@@ -743,6 +906,8 @@ public class Query<T extends Model> {
     private List<String> collections = new ArrayList<>();
     private String query;
     private Mapper mapper = Mapper.of(beanClass);
+    // properties of the selected names, resolved once for all the rows
+    private Property[] properties;
 
     private Selector(String... names) {
       List<String> selects = new ArrayList<>();
@@ -791,7 +956,7 @@ public class Query<T extends Model> {
               .append(beanClass.getSimpleName())
               .append(" self")
               .append(joinHelper.toString(false));
-      if (filter != null && !filter.trim().isEmpty()) sb.append(" WHERE ").append(filter);
+      sb.append(whereClause(true));
       sb.append(orderBy);
       query = joinHelper.fixSelect(sb.toString());
     }
@@ -828,6 +993,10 @@ public class Query<T extends Model> {
 
     @SuppressWarnings("all")
     public List<List> values(int limit, int offset) {
+      return valuesQuery(limit, offset).getResultList();
+    }
+
+    private jakarta.persistence.Query valuesQuery(int limit, int offset) {
       jakarta.persistence.Query q = em().createQuery(query);
       if (limit > 0) {
         q.setMaxResults(limit);
@@ -841,7 +1010,7 @@ public class Query<T extends Model> {
         binder.setReadOnly();
       }
 
-      return q.getResultList();
+      return q;
     }
 
     @SuppressWarnings("all")
@@ -851,29 +1020,57 @@ public class Query<T extends Model> {
       List<Map> result = new ArrayList<>();
 
       for (List items : data) {
-        Map<String, Object> map = new HashMap<>();
-        for (int i = 0; i < names.size(); i++) {
-          Object value = items.get(i);
-          String name = names.get(i);
-          Property property = getProperty(name);
-          // in case of m2o, get the id,version,name tuple
-          if (property != null && property.isReference() && property.getTargetName() != null) {
-            value = getReferenceValue(items, i);
-            i += 3;
-          } else if (value instanceof Model) {
-            value = Resource.toMapCompact(value);
-          }
-          map.put(name, value);
-        }
-        if (collections.size() > 0) {
-          map.putAll(this.fetchCollections(items.getFirst()));
-        }
-        result.add(map);
+        result.add(toMap(items));
       }
 
       return result;
     }
 
+    /**
+     * Fetch the matched records as {@link Stream} of {@link Map} within the given range.
+     *
+     * <p>Unlike {@link #fetch(int, int)}, the rows are read lazily from the underlying JDBC result
+     * set, so it's suitable to process large number of records without loading them all in memory.
+     * The stream must be closed after use.
+     *
+     * @param limit the limit
+     * @param offset the offset
+     * @param fetchSize the jdbc fetch size, if zero or negative, the default fetch size is used
+     * @return stream of matched records within the range
+     */
+    @SuppressWarnings("all")
+    public Stream<Map> fetchStream(int limit, int offset, int fetchSize) {
+      final org.hibernate.query.Query<List> q =
+          (org.hibernate.query.Query<List>) valuesQuery(limit, offset);
+      q.setFetchSize(fetchSize > 0 ? fetchSize : DBHelper.getJdbcFetchSize());
+      return q.stream().map(this::toMap);
+    }
+
+    @SuppressWarnings("all")
+    private Map toMap(List items) {
+      if (properties == null) {
+        properties = names.stream().map(this::getProperty).toArray(Property[]::new);
+      }
+      Map<String, Object> map = HashMap.newHashMap(names.size() + collections.size());
+      for (int i = 0; i < names.size(); i++) {
+        Object value = items.get(i);
+        String name = names.get(i);
+        Property property = properties[i];
+        // in case of m2o, get the id,version,name tuple
+        if (property != null && property.isReference() && property.getTargetName() != null) {
+          value = getReferenceValue(items, i);
+          i += 3;
+        } else if (value instanceof Model) {
+          value = Resource.toMapCompact(value);
+        }
+        map.put(name, value);
+      }
+      if (collections.size() > 0) {
+        map.putAll(this.fetchCollections(items.getFirst()));
+      }
+      return map;
+    }
+
     private Object getReferenceValue(List<?> items, int at) {
       if (items.get(at) == null && items.get(at + 1) == null) {
         return null;
@@ -4,82 +4,366 @@
  */
 package com.axelor.db.audit;
 
+import com.axelor.app.AppSettings;
+import com.axelor.app.AvailableAppSettings;
+import com.axelor.app.internal.AppFilter;
+import com.axelor.auth.AuthUtils;
+import com.axelor.auth.db.User;
 import com.axelor.concurrent.ContextAware;
+import com.axelor.db.tenants.TenantResolver;
 import com.axelor.event.Observes;
 import com.axelor.events.ShutdownEvent;
 import jakarta.inject.Singleton;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Asynchronous implementation of {@link AuditQueue} that offloads processing to a background
- * thread.
+ * Asynchronous implementation of {@link AuditQueue} that offloads processing to background
+ * threads.
  *
- * <p>This class uses a single-threaded {@link ExecutorService} to process audit logs sequentially
- * (FIFO) without blocking the main application thread.
+ * <p>Work is partitioned over a fixed number of workers, each one owning a bounded FIFO queue. A
+ * dispatcher routes the transactions to the workers in the order they were committed. While a
+ * worker has pending transactions on some records, the next transactions changing any of these
+ * records are routed to the same worker, so that successive changes of a record are always
+ * processed in order. A transaction changing records pending on different workers is parked until
+ * they are processed, along with the next transactions changing any of its records, while the
+ * other transactions are still routed.
+ *
+ * <p>Queues are bounded: when they are full, committing transactions wait for the workers to
+ * catch up, which keeps memory bounded during bulk operations.
+ *
+ * <p>Each worker drains up to {@link #COALESCE_SIZE} pending transactions at once and processes
+ * them in a single run, sharing the same context and processor.
  */
 @Singleton
 class AsyncAuditQueue implements AuditQueue {
 
   private static final Logger log = LoggerFactory.getLogger(AsyncAuditQueue.class);
 
-  private final AtomicLong failureCounter = new AtomicLong(0);
-  private volatile boolean isActive = true;
   private static final long SHUTDOWN_TIMEOUT_SECONDS = 20;
+  private static final long POLL_TIMEOUT_MILLIS = 500;
 
-  private static final ThreadPoolExecutor POOL =
-      new ThreadPoolExecutor(
+  private static final int WORKERS =
+      Math.max(
           1,
-          1,
-          0L,
-          TimeUnit.MILLISECONDS,
-          new LinkedBlockingQueue<>(),
-          (task) -> {
-            var thread = new Thread(task);
-            thread.setDaemon(true);
-            thread.setPriority(Thread.MIN_PRIORITY);
-            thread.setName("Audit-Worker");
-            return thread;
-          });
+          AppSettings.get()
+              .getInt(
+                  AvailableAppSettings.AUDIT_PROCESSOR_WORKERS,
+                  Math.max(1, Runtime.getRuntime().availableProcessors() / 2)));
+  private static final int QUEUE_SIZE =
+      Math.max(1, AppSettings.get().getInt(AvailableAppSettings.AUDIT_PROCESSOR_QUEUE_SIZE, 1000));
+  private static final int COALESCE_SIZE =
+      Math.max(
+          1, AppSettings.get().getInt(AvailableAppSettings.AUDIT_PROCESSOR_COALESCE_SIZE, 20));
+
+  private final int queueSize;
+  private final int coalesceSize;
+
+  private final AtomicLong failureCounter = new AtomicLong(0);
+  private final AtomicLong completedCounter = new AtomicLong(0);
+  private final AtomicLong blockedCounter = new AtomicLong(0);
+  private final AtomicInteger pendingCounter = new AtomicInteger(0);
+  private final AtomicInteger activeCounter = new AtomicInteger(0);
+
+  private volatile boolean isActive = true;
+  private volatile boolean isAccepting = true;
+
+  // committed transactions, waiting to be routed to a worker
+  private final BlockingQueue<Entry> inbox;
+  private final Thread dispatcher;
+
+  private final List<Worker> workers;
+
+  // the worker owning each bucket of records, and its number of pending transactions
+  private final Lock routing = new ReentrantLock();
+  private final Condition released = routing.newCondition();
+  private final int[] owners = new int[RECORD_BUCKETS];
+  private final int[] owned = new int[RECORD_BUCKETS];
+
+  // transactions waiting for their records to be released, in commit order
+  private final List<Entry> parked = new LinkedList<>();
+  private final int[] parkedRecords = new int[RECORD_BUCKETS];
+
+  AsyncAuditQueue() {
+    this(WORKERS, QUEUE_SIZE, COALESCE_SIZE);
+  }
+
+  AsyncAuditQueue(int workerCount, int queueSize, int coalesceSize) {
+    this.queueSize = queueSize;
+    this.coalesceSize = coalesceSize;
+    this.inbox = new ArrayBlockingQueue<>(queueSize);
+    this.workers = new ArrayList<>(workerCount);
+    dispatcher = new Thread(this::dispatch);
+    dispatcher.setDaemon(true);
+    dispatcher.setPriority(Thread.MIN_PRIORITY);
+    dispatcher.setName("Audit-Dispatcher");
+    for (int i = 0; i < workerCount; i++) {
+      workers.add(new Worker(i, workerCount));
+    }
+    workers.forEach(worker -> worker.thread.start());
+    dispatcher.start();
+  }
 
   @Override
   public void process(String txId) {
+    process(txId, new BitSet());
+  }
+
+  @Override
+  public void process(String txId, BitSet relatedRecords) {
+    if (!isAccepting) {
+      return;
+    }
+
+    var entry =
+        new Entry(
+            txId,
+            new Context(
+                TenantResolver.currentTenantIdentifier(),
+                AuthUtils.getUser(),
+                AppFilter.getBaseURL(),
+                AppFilter.getLanguage()),
+            (BitSet) relatedRecords.clone());
+
     log.trace("Enqueue audit log processing for transaction ID: {}", txId);
-    Runnable task =
-        ContextAware.of()
-            .withTransaction(false)
-            .build(
-                () -> {
-                  try {
-                    AuditProcessor processor = new AuditProcessor(() -> isActive);
-                    processor.process(txId);
-                  } catch (Exception e) {
-                    failureCounter.incrementAndGet();
-                    log.error("Error in audit log processing for transaction ID: {}", txId);
-                  }
-                });
-
-    if (!POOL.isShutdown()) {
+
+    pendingCounter.incrementAndGet();
+    try {
+      if (inbox.offer(entry)) {
+        return;
+      }
+      blockedCounter.incrementAndGet();
+      log.debug("Audit queue is full, waiting to enqueue transaction ID: {}", txId);
+      while (isAccepting) {
+        if (inbox.offer(entry, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    // not enqueued, the audit logs are processed later by the recovery of the leader node
+    pendingCounter.decrementAndGet();
+  }
+
+  private void dispatch() {
+    while (isActive) {
+      Entry entry;
       try {
-        POOL.execute(task);
-      } catch (RejectedExecutionException ignore) {
+        awaitParked();
+        entry = inbox.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (entry == null) {
+          if (!isAccepting && isParkedEmpty()) {
+            break;
+          }
+          continue;
+        }
+        route(entry);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+  }
+
+  /**
+   * Wait while too many transactions are parked, so that the inbox fills up and committing
+   * transactions wait for the workers to catch up.
+   */
+  private void awaitParked() throws InterruptedException {
+    routing.lock();
+    try {
+      routeParked();
+      while (isActive && parked.size() >= queueSize) {
+        released.await(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        routeParked();
+      }
+    } finally {
+      routing.unlock();
+    }
+  }
+
+  private boolean isParkedEmpty() {
+    routing.lock();
+    try {
+      return parked.isEmpty();
+    } finally {
+      routing.unlock();
+    }
+  }
+
+  private void route(Entry entry) {
+    routing.lock();
+    try {
+      var records = entry.relatedRecords();
+      // transactions changing parked records wait for them, to keep the changes in order
+      boolean isParked = false;
+      for (int i = records.nextSetBit(0); i >= 0 && !isParked; i = records.nextSetBit(i + 1)) {
+        isParked = parkedRecords[i] > 0;
+      }
+      if (isParked || !tryRoute(entry)) {
+        parked.add(entry);
+        for (int i = records.nextSetBit(0); i >= 0; i = records.nextSetBit(i + 1)) {
+          parkedRecords[i]++;
+        }
+        log.trace("Park audit log processing for transaction ID: {}", entry.txId());
+      }
+    } finally {
+      routing.unlock();
+    }
+  }
+
+  /** Route the parked transactions that can be, in commit order. Must hold the routing lock. */
+  private void routeParked() {
+    // records of the transactions still parked, which the next ones must wait for
+    var blocked = new BitSet();
+    for (var iter = parked.iterator(); iter.hasNext(); ) {
+      var entry = iter.next();
+      var records = entry.relatedRecords();
+      if (!records.intersects(blocked) && tryRoute(entry)) {
+        iter.remove();
+        for (int i = records.nextSetBit(0); i >= 0; i = records.nextSetBit(i + 1)) {
+          parkedRecords[i]--;
+        }
+      } else {
+        blocked.or(records);
       }
     }
   }
 
+  /** Route the given transaction to a worker if possible. Must hold the routing lock. */
+  private boolean tryRoute(Entry entry) {
+    var worker = findWorker(entry.relatedRecords());
+    if (worker == null) {
+      return false;
+    }
+    var records = entry.relatedRecords();
+    for (int i = records.nextSetBit(0); i >= 0; i = records.nextSetBit(i + 1)) {
+      owners[i] = worker.index;
+      owned[i]++;
+    }
+    worker.load++;
+    // all the queues are changed under the routing lock, so there is room left
+    worker.queue.add(entry);
+    log.trace(
+        "Route audit log processing for transaction ID: {} ({})", entry.txId(), worker.name());
+    return true;
+  }
+
+  /**
+   * Find the worker to process a transaction changing the given records.
+   *
+   * <p>This is the worker with pending transactions on these records if any, else the least loaded
+   * one.
+   *
+   * @return the worker, or null if the records are pending on several workers or if the worker
+   *     queue is full
+   */
+  private Worker findWorker(BitSet records) {
+    Worker owner = null;
+    for (int i = records.nextSetBit(0); i >= 0; i = records.nextSetBit(i + 1)) {
+      if (owned[i] > 0) {
+        var worker = workers.get(owners[i]);
+        if (owner != null && owner != worker) {
+          return null;
+        }
+        owner = worker;
+      }
+    }
+    if (owner == null) {
+      owner = workers.stream().min(Comparator.comparingInt(w -> w.load)).orElseThrow();
+    }
+    return owner.queue.remainingCapacity() > 0 ? owner : null;
+  }
+
+  private void release(Worker worker, List<Entry> batch) {
+    routing.lock();
+    try {
+      for (Entry entry : batch) {
+        var records = entry.relatedRecords();
+        for (int i = records.nextSetBit(0); i >= 0; i = records.nextSetBit(i + 1)) {
+          owned[i]--;
+        }
+      }
+      worker.load -= batch.size();
+      routeParked();
+      released.signalAll();
+    } finally {
+      routing.unlock();
+    }
+  }
+
   @Override
   public QueueStats getStatistics() {
     return new QueueStats(
-        POOL.getQueue().size(),
-        POOL.getCompletedTaskCount(),
-        POOL.getActiveCount() > 0,
-        failureCounter.get());
+        pendingCounter.get(),
+        completedCounter.get(),
+        activeCounter.get() > 0,
+        failureCounter.get(),
+        blockedCounter.get());
+  }
+
+  /**
+   * Process the given batch of coalesced entries.
+   *
+   * <p>Consecutive entries sharing the same captured context are processed within a single run,
+   * keeping the enqueue order.
+   */
+  private void process(List<Entry> batch) {
+    int start = 0;
+    while (start < batch.size()) {
+      var context = batch.get(start).context();
+      var txIds = new LinkedHashSet<String>();
+      int end = start;
+      while (end < batch.size() && batch.get(end).context().equals(context)) {
+        txIds.add(batch.get(end++).txId());
+      }
+      process(context, txIds);
+      start = end;
+    }
+  }
+
+  /**
+   * Process the given transactions sharing the same context.
+   *
+   * @param context the context captured when the transactions were committed
+   * @param txIds the transaction ids, in commit order
+   */
+  void process(Context context, Set<String> txIds) {
+    ContextAware.of(
+            context.tenantId(), context.user(), context.baseUrl(), context.language(), false)
+        .build(
+            () -> {
+              AuditProcessor processor = new AuditProcessor(() -> isActive);
+              for (String txId : txIds) {
+                if (!isActive) {
+                  break;
+                }
+                try {
+                  processor.process(txId);
+                } catch (Exception e) {
+                  failureCounter.incrementAndGet();
+                  log.error("Error in audit log processing for transaction ID: {}", txId);
+                }
+              }
+            })
+        .run();
   }
 
   /**
@@ -87,7 +371,7 @@ class AsyncAuditQueue implements AuditQueue {
    *
    * <p>Shutdown as smoothly as possible: first stop accepting new tasks then wait up to {@value
    * #SHUTDOWN_TIMEOUT_SECONDS} seconds for existing tasks to complete. If tasks are still running
-   * trigger signal to gracefully quit the process, then drain the queue.
+   * trigger signal to gracefully quit the process, then drain the queues.
    *
    * @param event the application shutdown event.
    */
@@ -95,20 +379,113 @@ class AsyncAuditQueue implements AuditQueue {
     log.info("Shutting down AuditQueue...");
 
     // Stop accepting new tasks
-    POOL.shutdown();
+    isAccepting = false;
 
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SHUTDOWN_TIMEOUT_SECONDS);
     try {
-      if (!POOL.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
-        log.debug("Audit queue did not terminate. Forcing shutdown...");
-        // Trigger signal for active tasks to stop
-        this.isActive = false;
-        // Drain queue and interrupt active task
-        POOL.shutdownNow();
+      for (Thread thread : threads()) {
+        long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remaining > 0) {
+          thread.join(remaining);
+        }
       }
     } catch (InterruptedException e) {
-      this.isActive = false;
-      POOL.shutdownNow();
       Thread.currentThread().interrupt();
     }
+
+    if (threads().stream().anyMatch(Thread::isAlive)) {
+      log.debug("Audit queue did not terminate. Forcing shutdown...");
+      // Trigger signal for active tasks to stop
+      this.isActive = false;
+      // Drain queues and interrupt active tasks, pending logs are left for recovery
+      pendingCounter.addAndGet(-inbox.size());
+      inbox.clear();
+      routing.lock();
+      try {
+        pendingCounter.addAndGet(-parked.size());
+        parked.clear();
+      } finally {
+        routing.unlock();
+      }
+      dispatcher.interrupt();
+      for (Worker worker : workers) {
+        pendingCounter.addAndGet(-worker.queue.size());
+        worker.queue.clear();
+        worker.thread.interrupt();
+      }
+    }
+  }
+
+  private List<Thread> threads() {
+    var threads = new ArrayList<Thread>();
+    threads.add(dispatcher);
+    workers.forEach(worker -> threads.add(worker.thread));
+    return threads;
+  }
+
+  record Context(String tenantId, User user, String baseUrl, Locale language) {}
+
+  private record Entry(String txId, Context context, BitSet relatedRecords) {}
+
+  private class Worker implements Runnable {
+
+    private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(queueSize);
+    private final Thread thread;
+    private final int index;
+
+    // number of routed transactions not yet processed, guarded by the routing lock
+    private int load;
+
+    Worker(int index, int workerCount) {
+      this.index = index;
+      thread = new Thread(this);
+      thread.setDaemon(true);
+      thread.setPriority(Thread.MIN_PRIORITY);
+      thread.setName(workerCount == 1 ? "Audit-Worker" : "Audit-Worker-" + index);
+    }
+
+    String name() {
+      return thread.getName();
+    }
+
+    @Override
+    public void run() {
+      List<Entry> batch = new ArrayList<>(coalesceSize);
+      while (isActive) {
+        Entry first;
+        try {
+          first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+
+        if (first == null) {
+          if (!isAccepting && !dispatcher.isAlive()) {
+            break;
+          }
+          continue;
+        }
+
+        batch.add(first);
+        queue.drainTo(batch, coalesceSize - 1);
+
+        // mark active before releasing pending count so that statistics never report an idle
+        // queue while work is in progress
+        activeCounter.incrementAndGet();
+        pendingCounter.addAndGet(-batch.size());
+        try {
+          process(batch);
+          completedCounter.addAndGet(batch.size());
+        } catch (Exception e) {
+          failureCounter.incrementAndGet();
+          log.error("Error in audit log processing", e);
+        } finally {
+          release(this, batch);
+          activeCounter.decrementAndGet();
+          batch.clear();
+        }
+      }
+    }
   }
 }
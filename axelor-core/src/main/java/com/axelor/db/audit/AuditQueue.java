@@ -5,6 +5,8 @@
 package com.axelor.db.audit;
 
 import com.google.inject.ImplementedBy;
+import java.util.BitSet;
+import java.util.Objects;
 
 /**
  * Represents an interface for queuing and triggering the processing of audit logs.
@@ -15,6 +17,9 @@ import com.google.inject.ImplementedBy;
 @ImplementedBy(NoopAuditQueue.class)
 public interface AuditQueue {
 
+  /** The number of buckets the related records are hashed into. */
+  int RECORD_BUCKETS = 4096;
+
   /**
    * Process audit records for the given transaction ID.
    *
@@ -22,6 +27,33 @@ public interface AuditQueue {
    */
   void process(String txId);
 
+  /**
+   * Process audit records for the given transaction ID.
+   *
+   * <p>The related records are used to process successive transactions on the same record in
+   * order. They are given as a set of buckets, see {@link #bucket(String, Long)}.
+   *
+   * @param txId the transaction ID
+   * @param relatedRecords the buckets of the records changed by the transaction
+   */
+  default void process(String txId, BitSet relatedRecords) {
+    process(txId);
+  }
+
+  /**
+   * Get the bucket of the given related record.
+   *
+   * <p>Records are hashed into {@link #RECORD_BUCKETS} buckets, so the records changed by a
+   * transaction take a bounded amount of memory. Records sharing a bucket are ordered together.
+   *
+   * @param relatedModel the model name of the related record
+   * @param relatedId the id of the related record
+   * @return the bucket of the record
+   */
+  static int bucket(String relatedModel, Long relatedId) {
+    return Math.floorMod(Objects.hash(relatedModel, relatedId), RECORD_BUCKETS);
+  }
+
   default QueueStats getStatistics() {
     return new QueueStats(0, 0, false, 0);
   }
@@ -30,6 +62,12 @@ public interface AuditQueue {
       int pending, // Pending items
       long completed, // Total processed
       boolean isActive, // Is busy?
-      long failure // Total errors
-      ) {}
+      long failure, // Total errors
+      long blocked // Total waits for a full queue
+      ) {
+
+    public QueueStats(int pending, long completed, boolean isActive, long failure) {
+      this(pending, completed, isActive, failure, 0);
+    }
+  }
 }
@@ -32,6 +32,7 @@ import jakarta.inject.Singleton;
 import java.security.SecureRandom;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -63,6 +64,9 @@ public class AuditTracker {
   private ObjectMapper mapper;
   private boolean logCreated = false;
 
+  // buckets of the related records, used to process transactions of a record in order
+  private final BitSet relatedRecords = new BitSet(AuditQueue.RECORD_BUCKETS);
+
   public AuditTracker() {
     this.txId = generateTxId();
     this.mapper = Beans.get(ObjectMapper.class);
@@ -268,10 +272,13 @@ public class AuditTracker {
         var entity = state.getEntity();
         var isCreate = state.getOldValues() == null;
 
+        var entityName = EntityHelper.getEntityClass(entity).getName();
+        relatedRecords.set(AuditQueue.bucket(entityName, entity.getId()));
+
         query.setParameter("txId" + i, txId);
         query.setParameter(
             "eventType" + i, isCreate ? AuditEventType.CREATE : AuditEventType.UPDATE);
-        query.setParameter("relatedModel" + i, EntityHelper.getEntityClass(entity).getName());
+        query.setParameter("relatedModel" + i, entityName);
         query.setParameter("relatedId" + i, entity.getId());
         query.setParameter("currentState" + i, toJSON(state.getValues()));
         query.setParameter("previousState" + i, isCreate ? null : toJSON(state.getOldValues()));
@@ -330,7 +337,7 @@ public class AuditTracker {
   public void doAfterTransactionCompletion(
       boolean success, SharedSessionContractImplementor session) {
     if (success && logCreated) {
-      Beans.get(AuditQueue.class).process(txId);
+      Beans.get(AuditQueue.class).process(txId, relatedRecords);
     }
   }
 
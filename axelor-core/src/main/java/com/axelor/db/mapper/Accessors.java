@@ -0,0 +1,82 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.db.mapper;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Creates property accessors as generated lambdas using {@link LambdaMetafactory}, so that getting
+ * or setting a property is a direct method call instead of a reflective {@link Method#invoke}.
+ *
+ * <p>If a lambda can't be generated for a method (for example, if the method is not accessible),
+ * an accessor using reflection is returned instead.
+ */
+final class Accessors {
+
+  private static final Object[] NULL_ARGUMENTS = {};
+
+  private Accessors() {}
+
+  @SuppressWarnings("unchecked")
+  static Function<Object, Object> getter(Method method) {
+    try {
+      final MethodHandles.Lookup lookup = lookup(method);
+      final MethodHandle handle = lookup.unreflect(method);
+      final CallSite site =
+          LambdaMetafactory.metafactory(
+              lookup,
+              "apply",
+              MethodType.methodType(Function.class),
+              MethodType.methodType(Object.class, Object.class),
+              handle,
+              handle.type().wrap());
+      return (Function<Object, Object>) site.getTarget().invokeExact();
+    } catch (Throwable e) {
+      return bean -> invoke(method, bean, NULL_ARGUMENTS);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  static BiConsumer<Object, Object> setter(Method method) {
+    try {
+      final MethodHandles.Lookup lookup = lookup(method);
+      final MethodHandle handle = lookup.unreflect(method);
+      final Class<?> type = MethodType.methodType(method.getParameterTypes()[0]).wrap().returnType();
+      final CallSite site =
+          LambdaMetafactory.metafactory(
+              lookup,
+              "accept",
+              MethodType.methodType(BiConsumer.class),
+              MethodType.methodType(void.class, Object.class, Object.class),
+              handle,
+              MethodType.methodType(void.class, method.getDeclaringClass(), type));
+      return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+    } catch (Throwable e) {
+      return (bean, value) -> invoke(method, bean, value);
+    }
+  }
+
+  private static MethodHandles.Lookup lookup(Method method) throws IllegalAccessException {
+    return MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+  }
+
+  private static Object invoke(Method method, Object bean, Object... args) {
+    try {
+      return method.invoke(bean, args);
+    } catch (InvocationTargetException e) {
+      throw new IllegalStateException(e.getCause());
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
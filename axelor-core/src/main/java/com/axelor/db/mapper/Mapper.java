@@ -33,6 +33,8 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.Opcodes;
@@ -52,8 +54,6 @@ public class Mapper {
   private static final Cache<Method, Annotation[]> ANNOTATION_CACHE =
       Caffeine.newBuilder().maximumSize(1000).weakKeys().build();
 
-  private static final Object[] NULL_ARGUMENTS = {};
-
   private static final String PREFIX_COMPUTE = "compute";
   private static final String PREFIX_SET = "set";
 
@@ -61,6 +61,9 @@ public class Mapper {
   private Map<String, Method> setters = new HashMap<>(); // field -> setter
   private Map<String, String> methods = new HashMap<>(); // getter/setter/compute -> field
 
+  private Map<String, Function<Object, Object>> readers = new HashMap<>(); // field -> getter
+  private Map<String, Writer> writers = new HashMap<>(); // field -> setter
+
   private Map<String, Class<?>> types = new HashMap<>();
   private Map<String, Property> fields = new HashMap<>();
 
@@ -72,6 +75,22 @@ public class Mapper {
 
   private Class<?> beanClass;
 
+  /** The generated setter of a property, with the type information needed to adapt values. */
+  private static final class Writer {
+
+    private final BiConsumer<Object, Object> accessor;
+    private final Class<?> type;
+    private final Type genericType;
+    private final Annotation[] annotations;
+
+    private Writer(Method method, Annotation[] annotations) {
+      this.accessor = Accessors.setter(method);
+      this.type = method.getParameterTypes()[0];
+      this.genericType = method.getGenericParameterTypes()[0];
+      this.annotations = annotations;
+    }
+  }
+
   private Mapper(Class<?> beanClass) {
     Objects.requireNonNull(beanClass);
     this.beanClass = beanClass;
@@ -85,6 +104,7 @@ public class Mapper {
 
         if (getter != null) {
           getters.put(name, getter);
+          readers.put(name, Accessors.getter(getter));
           methods.put(getter.getName(), name);
           try {
             Property property =
@@ -121,6 +141,7 @@ public class Mapper {
         if (setter != null) {
           setter.setAccessible(true);
           setters.put(name, setter);
+          writers.put(name, new Writer(setter, getAnnotations(name, setter)));
           methods.put(setter.getName(), name);
         }
         types.put(name, type);
@@ -356,9 +377,13 @@ public class Mapper {
     Objects.requireNonNull(bean);
     Objects.requireNonNull(name);
     Preconditions.checkArgument(beanClass.isInstance(bean));
-    Preconditions.checkArgument(!name.trim().equals(""));
+    Preconditions.checkArgument(!name.isBlank());
+    final Function<Object, Object> reader = readers.get(name);
+    if (reader == null) {
+      return null;
+    }
     try {
-      return getters.get((String) name).invoke(bean, NULL_ARGUMENTS);
+      return reader.apply(bean);
     } catch (Exception e) {
       return null;
     }
@@ -376,20 +401,18 @@ public class Mapper {
     Objects.requireNonNull(bean);
     Objects.requireNonNull(name);
     Preconditions.checkArgument(beanClass.isInstance(bean));
-    Preconditions.checkArgument(!name.trim().equals(""));
+    Preconditions.checkArgument(!name.isBlank());
 
-    final Method method = setters.get(name);
-    if (method == null) {
+    final Writer writer = writers.get(name);
+    if (writer == null) {
       throw new IllegalArgumentException(
           "The bean of type: " + beanClass.getName() + " has no property called: " + name);
     }
 
     final Object oldValue = get(bean, name);
-    final Class<?> actualType = method.getParameterTypes()[0];
-    final Type genericType = method.getGenericParameterTypes()[0];
-    final Annotation[] annotations = getAnnotations(name, method);
     try {
-      method.invoke(bean, Adapter.adapt(value, actualType, genericType, annotations));
+      writer.accessor.accept(
+          bean, Adapter.adapt(value, writer.type, writer.genericType, writer.annotations));
     } catch (Exception e) {
       throw new IllegalArgumentException(e);
     }
@@ -434,8 +457,8 @@ public class Mapper {
     }
     final Map<String, Object> map = new HashMap<>();
     final Mapper mapper = Mapper.of(bean.getClass());
-    for (Property p : mapper.getProperties()) {
-      map.put(p.getName(), p.get(bean));
+    for (String name : mapper.fields.keySet()) {
+      map.put(name, mapper.get(bean, name));
     }
     return map;
   }
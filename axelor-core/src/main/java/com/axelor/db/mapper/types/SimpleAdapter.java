@@ -4,6 +4,7 @@
  */
 package com.axelor.db.mapper.types;
 
+import com.axelor.db.BinaryContent;
 import com.axelor.db.mapper.TypeAdapter;
 import jakarta.persistence.Column;
 import java.lang.annotation.Annotation;
@@ -45,6 +46,10 @@ public class SimpleAdapter implements TypeAdapter<Object> {
       return string.getBytes();
     }
 
+    if (type == byte[].class && value instanceof BinaryContent content) {
+      return content.toByteArray();
+    }
+
     if (type == Character.TYPE || type == Character.class)
       return Character.valueOf(value.toString().charAt(0));
 
@@ -46,4 +46,14 @@ public interface TenantConfig {
 
   /** The JDBC password for the tenant. */
   String getJdbcPassword();
+
+  /** The maximum size of the connection pool of the tenant, or {@code null} for the default. */
+  default Integer getMaxPoolSize() {
+    return null;
+  }
+
+  /** The minimum number of idle connections of the tenant, or {@code null} for the default. */
+  default Integer getMinPoolSize() {
+    return null;
+  }
 }
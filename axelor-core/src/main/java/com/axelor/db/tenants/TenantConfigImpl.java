@@ -34,6 +34,8 @@ import java.util.regex.Pattern;
  * db.company1.url = jdbc:postgresql://localhost:5432/axelor-db1
  * db.company1.user = axelor
  * db.company1.password =
+ * db.company1.max-pool-size = 10
+ * db.company1.min-pool-size = 2
  *
  * db.company2.name = Company 2
  * db.company2.driver = org.postgresql.Driver
@@ -61,6 +63,9 @@ public class TenantConfigImpl implements TenantConfig {
   private String jdbcUser;
   private String jdbcPassword;
 
+  private Integer maxPoolSize;
+  private Integer minPoolSize;
+
   private static final Pattern PATTERN_DB_NAME = Pattern.compile("db\\.(.*?)\\.name");
 
   private static final Map<String, TenantConfig> CONFIGS = new ConcurrentHashMap<>();
@@ -147,6 +152,9 @@ public class TenantConfigImpl implements TenantConfig {
           cfg.jdbcUser = get(props, prefix, "user");
           cfg.jdbcPassword = get(props, prefix, "password");
 
+          cfg.maxPoolSize = getInt(props, prefix, "max-pool-size");
+          cfg.minPoolSize = getInt(props, prefix, "min-pool-size");
+
           if (cfg.jndiDataSource == null && (cfg.jdbcDriver == null || cfg.jdbcUrl == null)) {
             return null;
           }
@@ -171,6 +179,11 @@ public class TenantConfigImpl implements TenantConfig {
     return StringUtils.isBlank(val) ? null : val;
   }
 
+  private static Integer getInt(Map<String, String> props, String prefix, String name) {
+    final String val = get(props, prefix, name);
+    return val == null ? null : Integer.valueOf(val.trim());
+  }
+
   @Override
   public Boolean getActive() {
     return active;
@@ -226,6 +239,16 @@ public class TenantConfigImpl implements TenantConfig {
     return jdbcPassword;
   }
 
+  @Override
+  public Integer getMaxPoolSize() {
+    return maxPoolSize;
+  }
+
+  @Override
+  public Integer getMinPoolSize() {
+    return minPoolSize;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
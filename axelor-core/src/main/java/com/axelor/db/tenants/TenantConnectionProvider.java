@@ -7,13 +7,29 @@ package com.axelor.db.tenants;
 import com.axelor.app.AppSettings;
 import com.axelor.app.AvailableAppSettings;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.google.common.base.Preconditions;
 import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariConfigMXBean;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import java.sql.Connection;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import javax.sql.DataSource;
 import org.hibernate.engine.jdbc.connections.spi.AbstractDataSourceBasedMultiTenantConnectionProviderImpl;
 import org.hibernate.service.spi.ServiceRegistryAwareService;
@@ -22,7 +38,18 @@ import org.hibernate.service.spi.Stoppable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** The tenant connection provider. */
+/**
+ * The tenant connection provider.
+ *
+ * <p>A connection pool is created for each tenant on first use, and closed after one hour without
+ * use, except for the tenants listed by {@code application.multi-tenancy.warm-up} which are
+ * created at startup and kept open.
+ *
+ * <p>When {@code application.multi-tenancy.max-connections} is set, the maximum sizes of the pools
+ * are adjusted so that all the pools together don't use more connections. This is a soft limit:
+ * each pool keeps at least one connection, so it is exceeded while more pools than connections
+ * are open.
+ */
 public class TenantConnectionProvider
     extends AbstractDataSourceBasedMultiTenantConnectionProviderImpl<String>
     implements ServiceRegistryAwareService, Stoppable {
@@ -31,21 +58,86 @@ public class TenantConnectionProvider
 
   private static final Logger LOGGER = LoggerFactory.getLogger(TenantConnectionProvider.class);
 
+  private static final String WARM_UP_ALL = "*";
+
+  private static final Duration POOL_EXPIRE_TIME = Duration.ofHours(1);
+
+  private static volatile TenantConnectionProvider instance;
+
   private transient TenantConfigProvider configProvider;
 
-  private final transient LoadingCache<String, HikariDataSource> dataSourceCache =
+  private transient Set<String> warmUpTenants = Set.of();
+
+  private transient int maxConnections;
+
+  private final transient AtomicBoolean rebalance = new AtomicBoolean();
+
+  // tenant configs may be provided by external resources, avoid looking up on each checkout
+  private final transient LoadingCache<String, TenantConfig> configCache =
       Caffeine.newBuilder()
-          .weakValues()
-          .expireAfterAccess(Duration.ofHours(1))
+          .expireAfterWrite(Duration.ofMinutes(1))
+          .build(tenantIdentifier -> configProvider.find(tenantIdentifier));
+
+  private final transient LoadingCache<String, TenantPool> dataSourceCache =
+      Caffeine.newBuilder()
+          .expireAfter(
+              new Expiry<String, TenantPool>() {
+                @Override
+                public long expireAfterCreate(String id, TenantPool pool, long currentTime) {
+                  return warmUpTenants.contains(id) || warmUpTenants.contains(WARM_UP_ALL)
+                      ? Long.MAX_VALUE
+                      : POOL_EXPIRE_TIME.toNanos();
+                }
+
+                @Override
+                public long expireAfterUpdate(
+                    String id, TenantPool pool, long currentTime, long currentDuration) {
+                  return expireAfterCreate(id, pool, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(
+                    String id, TenantPool pool, long currentTime, long currentDuration) {
+                  return expireAfterCreate(id, pool, currentTime);
+                }
+              })
           .removalListener(
-              (String id, HikariDataSource source, RemovalCause cause) -> {
-                if (source != null) {
-                  source.close();
+              (String id, TenantPool pool, RemovalCause cause) -> {
+                if (pool != null) {
+                  pool.dataSource().close();
                 }
+                rebalance.set(true);
               })
-          .build(
-              tenantIdentifier ->
-                  createDataSource(validate(configProvider.find(tenantIdentifier))));
+          .build(tenantIdentifier -> createPool(validate(findConfig(tenantIdentifier))));
+
+  /** The connection pool of a tenant. */
+  private record TenantPool(
+      String tenantId,
+      HikariDataSource dataSource,
+      int maxPoolSize,
+      int minPoolSize,
+      PoolMetrics metrics) {}
+
+  /** Records the connection wait times of a pool. */
+  private static class PoolMetrics implements IMetricsTracker {
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+      acquired.increment();
+      totalWaitNanos.add(elapsedAcquiredNanos);
+      maxWaitNanos.accumulate(elapsedAcquiredNanos);
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+      timeouts.increment();
+    }
+  }
 
   @Override
   protected final DataSource selectAnyDataSource() {
@@ -54,34 +146,148 @@ public class TenantConnectionProvider
 
   @Override
   protected final DataSource selectDataSource(String tenantIdentifier) {
-    if (configProvider.find(tenantIdentifier) == null) {
+    if (findConfig(tenantIdentifier) == null) {
       dataSourceCache.invalidate(tenantIdentifier);
       LOGGER.debug("no such tenant found: {}", tenantIdentifier);
       throw new TenantNotFoundException(tenantIdentifier);
     }
     LOGGER.debug("using tenant: {}", tenantIdentifier);
-    return dataSourceCache.get(tenantIdentifier);
+    final TenantPool pool = dataSourceCache.get(tenantIdentifier);
+    if (rebalance.compareAndSet(true, false)) {
+      rebalance();
+    }
+    return pool.dataSource();
   }
 
-  private HikariDataSource createDataSource(TenantConfig config) {
+  private TenantConfig findConfig(String tenantIdentifier) {
+    return configCache.get(tenantIdentifier);
+  }
+
+  private TenantPool createPool(TenantConfig config) {
     LOGGER.debug("creating datasource for tenant config: {}", config);
 
     final AppSettings settings = AppSettings.get();
     final HikariConfig hc = new HikariConfig();
+    final PoolMetrics metrics = new PoolMetrics();
 
+    hc.setPoolName("tenant-" + config.getTenantId());
     hc.setDataSourceJNDI(config.getJndiDataSource());
     hc.setDriverClassName(config.getJdbcDriver());
     hc.setJdbcUrl(config.getJdbcUrl());
     hc.setUsername(config.getJdbcUser());
     hc.setPassword(config.getJdbcPassword());
     hc.setAutoCommit(false);
+    hc.setMetricsTrackerFactory((poolName, poolStats) -> metrics);
+
+    final int maxPoolSize =
+        Objects.requireNonNullElseGet(
+            config.getMaxPoolSize(),
+            () -> settings.getInt(AvailableAppSettings.HIBERNATE_HIKARI_MAXIMUM_POOL_SIZE, 20));
+    final int minPoolSize =
+        Math.min(maxPoolSize, Objects.requireNonNullElse(config.getMinPoolSize(), 0));
+
+    // start within the budget, the pools are resized once the new pool is registered
+    final int initialSize =
+        maxConnections > 0
+            ? Math.max(
+                1, Math.min(maxPoolSize, maxConnections / (dataSourceCache.asMap().size() + 1)))
+            : maxPoolSize;
 
     hc.setIdleTimeout(settings.getInt(AvailableAppSettings.HIBERNATE_HIKARI_IDLE_TIMEOUT, 300000));
-    hc.setMaximumPoolSize(
-        settings.getInt(AvailableAppSettings.HIBERNATE_HIKARI_MAXIMUM_POOL_SIZE, 20));
-    hc.setMinimumIdle(0);
+    hc.setMaximumPoolSize(initialSize);
+    hc.setMinimumIdle(Math.min(minPoolSize, initialSize));
+
+    final TenantPool pool =
+        new TenantPool(
+            config.getTenantId(), new HikariDataSource(hc), maxPoolSize, minPoolSize, metrics);
+
+    rebalance.set(true);
+
+    return pool;
+  }
+
+  /** Shares the connection budget between the pools. */
+  private synchronized void rebalance() {
+    if (maxConnections <= 0) {
+      return;
+    }
 
-    return new HikariDataSource(hc);
+    final List<TenantPool> pools = new ArrayList<>(dataSourceCache.asMap().values());
+    if (pools.size() > maxConnections) {
+      LOGGER.warn(
+          "{} tenant connection pools are open, exceeding the budget of {} connections",
+          pools.size(),
+          maxConnections);
+    }
+
+    final int[] sizes =
+        share(maxConnections, pools.stream().mapToInt(TenantPool::maxPoolSize).toArray());
+    for (int i = 0; i < pools.size(); i++) {
+      final TenantPool pool = pools.get(i);
+      final int size = sizes[i];
+      final HikariConfigMXBean bean = pool.dataSource().getHikariConfigMXBean();
+      if (bean.getMaximumPoolSize() != size) {
+        LOGGER.debug("resizing connection pool of tenant {} to {}", pool.tenantId(), size);
+        // lower the minimum first, it can't exceed the maximum
+        bean.setMinimumIdle(Math.min(pool.minPoolSize(), size));
+        bean.setMaximumPoolSize(size);
+      }
+    }
+  }
+
+  /**
+   * Shares the connection budget between pools of the given maximum sizes.
+   *
+   * <p>Each pool gets an equal share of the budget, capped to its own maximum size, the unused part
+   * of a share being given to the other pools. Each pool gets at least one connection, so the
+   * budget is exceeded when there are more pools than connections.
+   *
+   * @param budget the maximum number of connections of all the pools
+   * @param maxSizes the maximum size of each pool
+   * @return the size of each pool, in the same order
+   */
+  static int[] share(int budget, int[] maxSizes) {
+    // the smallest pools first, so that their unused shares go to the larger ones
+    final int[] order =
+        IntStream.range(0, maxSizes.length)
+            .boxed()
+            .sorted(Comparator.comparingInt(i -> maxSizes[i]))
+            .mapToInt(Integer::intValue)
+            .toArray();
+    final int[] sizes = new int[maxSizes.length];
+
+    int remaining = budget;
+    for (int i = 0; i < order.length; i++) {
+      final int pool = order[i];
+      final int share = Math.max(1, remaining / (order.length - i));
+      sizes[pool] = Math.min(maxSizes[pool], share);
+      remaining = Math.max(0, remaining - sizes[pool]);
+    }
+    return sizes;
+  }
+
+  /**
+   * Creates the pools of the tenants to warm up, and opens their connections, in background.
+   *
+   * @param tenants the tenants to warm up
+   */
+  private void warmUp(Collection<String> tenants) {
+    if (tenants.isEmpty()) {
+      return;
+    }
+    Thread.ofPlatform()
+        .name("tenant-pool-warm-up")
+        .daemon()
+        .start(
+            () -> {
+              for (String tenantId : tenants) {
+                try (Connection connection = selectDataSource(tenantId).getConnection()) {
+                  LOGGER.info("connection pool of tenant {} is ready", tenantId);
+                } catch (Exception e) {
+                  LOGGER.warn("unable to warm up connection pool of tenant {}", tenantId, e);
+                }
+              }
+            });
   }
 
   private TenantConfig validate(TenantConfig config) {
@@ -94,8 +300,44 @@ public class TenantConnectionProvider
     return config;
   }
 
+  /**
+   * Returns the statistics of the tenant connection pools of this node.
+   *
+   * @return the statistics of each pool, empty if multi-tenancy is not enabled
+   */
+  public static List<TenantPoolStats> getPoolStats() {
+    final TenantConnectionProvider provider = instance;
+    if (provider == null) {
+      return List.of();
+    }
+    return provider.dataSourceCache.asMap().values().stream()
+        .filter(pool -> pool.dataSource().getHikariPoolMXBean() != null)
+        .map(TenantConnectionProvider::getStats)
+        .sorted(Comparator.comparing(TenantPoolStats::tenantId))
+        .toList();
+  }
+
+  private static TenantPoolStats getStats(TenantPool pool) {
+    final HikariPoolMXBean bean = pool.dataSource().getHikariPoolMXBean();
+    final PoolMetrics metrics = pool.metrics();
+    return new TenantPoolStats(
+        pool.tenantId(),
+        bean.getActiveConnections(),
+        bean.getIdleConnections(),
+        bean.getTotalConnections(),
+        pool.dataSource().getHikariConfigMXBean().getMaximumPoolSize(),
+        bean.getThreadsAwaitingConnection(),
+        metrics.acquired.sum(),
+        metrics.timeouts.sum(),
+        TimeUnit.NANOSECONDS.toMillis(metrics.totalWaitNanos.sum()),
+        TimeUnit.NANOSECONDS.toMillis(metrics.maxWaitNanos.get()));
+  }
+
   @Override
   public void stop() {
+    if (instance == this) {
+      instance = null;
+    }
     dataSourceCache.invalidateAll();
   }
 
@@ -103,5 +345,19 @@ public class TenantConnectionProvider
   public void injectServices(ServiceRegistryImplementor serviceRegistry) {
     configProvider = TenantSupport.get().getConfigProvider();
     LOGGER.debug("using tenant config provider: {}", configProvider.getClass().getName());
+
+    final AppSettings settings = AppSettings.get();
+    maxConnections = settings.getInt(AvailableAppSettings.CONFIG_MULTI_TENANCY_MAX_CONNECTIONS, 0);
+    warmUpTenants =
+        Set.copyOf(settings.getList(AvailableAppSettings.CONFIG_MULTI_TENANCY_WARM_UP));
+    instance = this;
+
+    warmUp(
+        warmUpTenants.contains(WARM_UP_ALL)
+            ? configProvider.findAll().stream()
+                .filter(config -> !Boolean.FALSE.equals(config.getActive()))
+                .map(TenantConfig::getTenantId)
+                .collect(Collectors.toList())
+            : warmUpTenants);
   }
 }
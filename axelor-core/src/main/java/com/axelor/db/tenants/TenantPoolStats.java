@@ -0,0 +1,41 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.db.tenants;
+
+/**
+ * Statistics of the connection pool of a tenant on the current node.
+ *
+ * @param tenantId the tenant identifier
+ * @param active the number of connections in use
+ * @param idle the number of idle connections
+ * @param total the total number of connections
+ * @param maxPoolSize the current maximum size of the pool
+ * @param awaiting the number of threads waiting for a connection
+ * @param acquired the number of connections acquired from the pool
+ * @param timeouts the number of connection requests that timed out
+ * @param totalWaitMillis the total time spent waiting for connections, in milliseconds
+ * @param maxWaitMillis the longest time spent waiting for a connection, in milliseconds
+ */
+public record TenantPoolStats(
+    String tenantId,
+    int active,
+    int idle,
+    int total,
+    int maxPoolSize,
+    int awaiting,
+    long acquired,
+    long timeouts,
+    long totalWaitMillis,
+    long maxWaitMillis) {
+
+  /**
+   * Returns the average time spent waiting for a connection.
+   *
+   * @return the average wait time in milliseconds, {@code 0} when no connections were acquired
+   */
+  public double averageWaitMillis() {
+    return acquired == 0 ? 0 : (double) totalWaitMillis / acquired;
+  }
+}
@@ -15,9 +15,12 @@ import com.axelor.file.store.Store;
 import com.axelor.file.store.StoreType;
 import com.axelor.file.store.UploadedFile;
 import com.axelor.file.temp.TempFiles;
+import com.google.common.io.ByteStreams;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.CopyOption;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -124,6 +127,22 @@ public class FileSystemStore implements Store {
     }
   }
 
+  @Override
+  public InputStream getStream(String fileName, long offset, long length) {
+    try {
+      final FileChannel channel = FileChannel.open(resolveFilePath(fileName));
+      try {
+        channel.position(offset);
+      } catch (IOException e) {
+        channel.close();
+        throw e;
+      }
+      return ByteStreams.limit(Channels.newInputStream(channel), length);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   @Override
   public StoreType getStoreType() {
     return StoreType.FILE_SYSTEM;
@@ -8,63 +8,107 @@ import com.axelor.app.AppSettings;
 import com.axelor.app.AvailableAppSettings;
 import com.axelor.common.FileUtils;
 import com.axelor.file.temp.TempFiles;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.hash.Hashing;
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
-import java.nio.file.FileVisitResult;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * A caching when working with S3 as file storage using LRU (Least Recently Used) strategy: the
- * element that hasn't been used for the longest time will be evicted from the cache
+ * A disk cache of the objects downloaded from S3.
+ *
+ * <p>The cache is bounded by the total size of the cached files, and the entries expire when not
+ * accessed during the configured time-to-live. Concurrent misses on the same object are downloaded
+ * only once.
+ *
+ * <p>The cached files are named after the digest of their object name, and an index of the object
+ * names is kept in the cache directory, so the cache is restored on restart.
  */
 public class S3Cache {
 
   private static final Logger LOG = LoggerFactory.getLogger(S3Cache.class);
   private static final String CACHE_DIR_NAME = "s3_cache";
+  private static final String INDEX_FILE_NAME = "index";
+  private static final String PART_SUFFIX = ".part";
   public static final boolean CACHE_ENABLED =
       AppSettings.get().getBoolean(AvailableAppSettings.DATA_OBJECT_STORAGE_CACHE_ENABLED, true);
 
   private static volatile S3Cache instance;
 
-  private final int DEFAULT_TTL;
-  private final int CLEAN_FREQUENCY;
-  private final int MAX_ENTRIES;
-  private volatile AtomicInteger numberOfHit = new AtomicInteger(0);
+  private final Path cacheDir;
+  private final long maxSize;
+  private final Cache<String, CacheEntry> entries;
+  private final Map<String, CompletableFuture<Path>> downloads = new ConcurrentHashMap<>();
 
-  Map<String, CacheEntry> cacheEntryMap;
-  CacheEntry head;
-  CacheEntry tail;
-  private ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final AtomicLong size = new AtomicLong();
+  private final AtomicLong downloaded = new AtomicLong();
+
+  // number of lines of the index file, to compact it when it grows too much
+  private long indexLines;
+
+  private record CacheEntry(Path path, long size) {}
 
   private S3Cache() {
     final AppSettings settings = AppSettings.get();
-    DEFAULT_TTL = settings.getInt(AvailableAppSettings.DATA_OBJECT_STORAGE_CACHE_TIME_TO_LIVE, 600);
-    CLEAN_FREQUENCY =
-        settings.getInt(AvailableAppSettings.DATA_OBJECT_STORAGE_CACHE_CLEAN_FREQUENCY, 1000);
-    MAX_ENTRIES = settings.getInt(AvailableAppSettings.DATA_OBJECT_STORAGE_CACHE_MAX_ENTRIES, 2000);
-    cacheEntryMap = new ConcurrentHashMap<>(MAX_ENTRIES);
+    final int ttl =
+        settings.getInt(AvailableAppSettings.DATA_OBJECT_STORAGE_CACHE_TIME_TO_LIVE, 600);
+    final long maxSizeMb =
+        settings.getLong(AvailableAppSettings.DATA_OBJECT_STORAGE_CACHE_MAX_SIZE, 1024);
+
+    cacheDir = Path.of(TempFiles.getRootTempPath().toString(), CACHE_DIR_NAME);
+    maxSize = maxSizeMb < 0 ? -1 : maxSizeMb * 1024 * 1024;
+
+    final Caffeine<Object, Object> builder =
+        Caffeine.newBuilder()
+            // evicted files are deleted by the thread causing the eviction
+            .executor(Runnable::run)
+            .recordStats();
+    if (maxSize > -1) {
+      builder
+          .maximumWeight(maxSize)
+          .weigher(
+              (String key, CacheEntry entry) -> (int) Math.min(entry.size(), Integer.MAX_VALUE));
+    }
+    if (ttl > -1) {
+      builder.expireAfterAccess(Duration.ofSeconds(ttl));
+    }
+
+    entries =
+        builder
+            .removalListener(
+                (String key, CacheEntry entry, RemovalCause cause) -> onRemoval(entry, cause))
+            .build();
 
     try {
-      Path cacheDir = getCacheDir();
-      if (Files.isDirectory(cacheDir)) {
-        FileUtils.deleteDirectory(cacheDir);
-      }
+      restore(ttl);
     } catch (Exception e) {
-      LOG.error("Unable to delete S3 cache directory {} : {}", getCacheDir(), e.getMessage());
+      LOG.error("Unable to restore S3 cache from {} : {}", cacheDir, e.getMessage());
     }
   }
 
@@ -78,208 +122,288 @@ public class S3Cache {
     return instance;
   }
 
+  /**
+   * Get the cached file of the given object.
+   *
+   * @param fileName the object name
+   * @return the cached file, or {@code null} if not cached
+   */
   public Path get(String fileName) {
-    clean();
-
-    this.lock.readLock().lock();
+    final CacheEntry entry = entries.getIfPresent(fileName);
+    if (entry == null) {
+      return null;
+    }
+    if (!Files.exists(entry.path())) {
+      entries.asMap().remove(fileName, entry);
+      return null;
+    }
     try {
-      numberOfHit.incrementAndGet();
-      CacheEntry item = cacheEntryMap.get(fileName);
-      if (item == null) {
-        return null;
-      }
+      // the last modified time is the last access time, used to restore the cache
+      Files.setLastModifiedTime(entry.path(), FileTime.fromMillis(System.currentTimeMillis()));
+    } catch (IOException e) {
+      // ignore
+    }
+    return entry.path();
+  }
 
-      Path cacheFile = resolveCachePath(fileName);
-      if (!Files.exists(cacheFile) || isExpired(item.lastAccess)) {
-        // if the file doesn't exist or is expired, remove it
-        deleteFileAndEntry(item);
-        return null;
+  /**
+   * Open the cached file of the given object, downloading it with the given loader if not cached.
+   *
+   * <p>Concurrent calls for the same object wait for a single download.
+   *
+   * @param fileName the object name
+   * @param loader the loader of the object content
+   * @return the stream of the object content
+   * @throws IOException if unable to read the cached file
+   */
+  public InputStream open(String fileName, Callable<InputStream> loader) throws IOException {
+    final Path cached = get(fileName);
+    if (cached != null) {
+      try {
+        return Files.newInputStream(cached);
+      } catch (IOException e) {
+        // evicted in the meantime
       }
+    }
 
-      item.lastAccess = System.currentTimeMillis();
-      removeEntry(item);
-      addToTail(item);
+    final CompletableFuture<Path> download = new CompletableFuture<>();
+    final CompletableFuture<Path> pending = downloads.putIfAbsent(fileName, download);
 
-      return cacheFile;
-    } catch (IOException e) {
-      throw new UncheckedIOException(e);
+    if (pending != null) {
+      try {
+        return Files.newInputStream(pending.join());
+      } catch (CompletionException | IOException e) {
+        // failed or evicted in the meantime, read the object directly
+        return call(loader);
+      }
+    }
+
+    try {
+      final Path file = commit(fileName, download(fileName, call(loader)));
+      // opened before being cached, as it may be evicted right away
+      final InputStream stream = Files.newInputStream(file);
+      register(fileName, file);
+      download.complete(file);
+      return stream;
+    } catch (RuntimeException | IOException e) {
+      download.completeExceptionally(e);
+      throw e;
     } finally {
-      this.lock.readLock().unlock();
+      downloads.remove(fileName, download);
     }
   }
 
   public File put(File file, String fileName) {
-    try {
-      return put(new FileInputStream(file), fileName);
+    try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+      return put(inputStream, fileName);
     } catch (IOException e) {
       throw new UncheckedIOException(e);
     }
   }
 
+  /**
+   * Put the given content in the cache.
+   *
+   * <p>The returned file may be evicted right away, if it doesn't fit in the cache.
+   *
+   * @param inputStream the object content, closed once cached
+   * @param fileName the object name
+   * @return the cached file
+   */
   public File put(InputStream inputStream, String fileName) {
-    this.lock.writeLock().lock();
     try {
-
-      if (cacheEntryMap.containsKey(fileName)) {
-        CacheEntry item = cacheEntryMap.get(fileName);
-        item.lastAccess = System.currentTimeMillis();
-
-        removeEntry(item);
-        addToTail(item);
-      } else {
-        // check if exceed max entries
-        if (MAX_ENTRIES > -1 && cacheEntryMap.size() >= MAX_ENTRIES) {
-          LOG.debug(
-              "Maximum number of entries of S3 cache has been reached : {}. Cleaning.",
-              MAX_ENTRIES);
-          deleteFileAndEntry(head);
-        }
-
-        CacheEntry entry = new CacheEntry(fileName, System.currentTimeMillis());
-        addToTail(entry);
-        cacheEntryMap.put(fileName, entry);
-      }
-
-      File tempFile = Path.of(getCacheDir().toString(), fileName).toFile();
-      FileUtils.write(tempFile, inputStream);
-      return tempFile;
+      final Path file = commit(fileName, download(fileName, inputStream));
+      register(fileName, file);
+      return file.toFile();
     } catch (IOException e) {
       throw new UncheckedIOException(e);
-    } finally {
-      this.lock.writeLock().unlock();
     }
   }
 
   public boolean remove(String fileName) {
-    this.lock.writeLock().lock();
+    return entries.asMap().remove(fileName) != null;
+  }
+
+  private static InputStream call(Callable<InputStream> loader) throws IOException {
     try {
-      CacheEntry entry = cacheEntryMap.get(fileName);
-      if (entry == null) {
-        return false;
-      }
-      deleteFileAndEntry(entry);
-      return true;
-    } catch (IOException e) {
-      throw new UncheckedIOException(e);
-    } finally {
-      this.lock.writeLock().unlock();
+      return loader.call();
+    } catch (IOException | RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IOException(e);
     }
   }
 
-  private boolean isExpired(long lastAccess) {
-    return isExpired(lastAccess, System.currentTimeMillis());
+  private static String getCacheName(String fileName) {
+    return Hashing.sha256().hashString(fileName, StandardCharsets.UTF_8).toString();
+  }
+
+  /** Write the given content to a new part file, so readers never see incomplete files. */
+  private Path download(String fileName, InputStream inputStream) throws IOException {
+    try (inputStream) {
+      Files.createDirectories(cacheDir);
+      final Path part = Files.createTempFile(cacheDir, getCacheName(fileName), PART_SUFFIX);
+      try {
+        FileUtils.write(part, inputStream);
+      } catch (IOException | RuntimeException e) {
+        Files.deleteIfExists(part);
+        throw e;
+      }
+      downloaded.incrementAndGet();
+      return part;
+    }
   }
 
-  private boolean isExpired(long lastAccess, long time) {
-    return DEFAULT_TTL != -1 && lastAccess < time - TimeUnit.SECONDS.toMillis(DEFAULT_TTL);
+  /** Move the given part file to the cached file of the given object. */
+  private Path commit(String fileName, Path part) throws IOException {
+    final Path target = cacheDir.resolve(getCacheName(fileName));
+    Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    appendIndex(target.getFileName().toString(), fileName);
+    return target;
   }
 
-  private Path resolveCachePath(String fileName) {
-    return getCacheDir().resolve(fileName);
+  private void register(String fileName, Path file) throws IOException {
+    final long length = Files.size(file);
+    size.addAndGet(length);
+    entries.put(fileName, new CacheEntry(file, length));
   }
 
-  private Path getCacheDir() {
-    return Path.of(TempFiles.getRootTempPath().toString(), CACHE_DIR_NAME);
+  private void onRemoval(CacheEntry entry, RemovalCause cause) {
+    if (entry == null) {
+      return;
+    }
+    size.addAndGet(-entry.size());
+    // replaced entries share the same file
+    if (cause == RemovalCause.REPLACED) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(entry.path());
+    } catch (IOException e) {
+      LOG.debug("Unable to delete S3 cache file {} : {}", entry.path(), e.getMessage());
+    }
   }
 
-  private void deleteFileAndEntry(CacheEntry entry) throws IOException {
-    cacheEntryMap.remove(entry.key);
-    Files.deleteIfExists(Path.of(getCacheDir().toString(), entry.key));
-    removeEntry(entry);
+  private Path getIndexFile() {
+    return cacheDir.resolve(INDEX_FILE_NAME);
   }
 
-  private void clean() {
-    if (CLEAN_FREQUENCY == -1 || numberOfHit.get() < CLEAN_FREQUENCY) {
+  private synchronized void appendIndex(String cacheName, String fileName) throws IOException {
+    // compact the index when it mostly contains removed entries
+    if (indexLines > 1000 && indexLines > 2 * entries.estimatedSize()) {
+      final List<String> lines = new ArrayList<>();
+      entries
+          .asMap()
+          .forEach((key, entry) -> lines.add(entry.path().getFileName() + "\t" + key));
+      lines.add(cacheName + "\t" + fileName);
+      final Path tmp = Files.createTempFile(cacheDir, INDEX_FILE_NAME, PART_SUFFIX);
+      Files.write(tmp, lines, StandardCharsets.UTF_8);
+      Files.move(
+          tmp, getIndexFile(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      indexLines = lines.size();
       return;
     }
-    synchronized (this) {
-      if (numberOfHit.get() == 0) {
-        return;
-      }
-
-      numberOfHit.set(0);
-      try {
-        LOG.trace("Cleaning S3 cache directory...");
-        clean(getCacheDir(), System.currentTimeMillis());
-      } catch (IOException e) {
-        LOG.error("Error when cleaning S3 cache directory " + getCacheDir(), e);
-      }
+    try (BufferedWriter writer =
+        Files.newBufferedWriter(
+            getIndexFile(),
+            StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.APPEND)) {
+      writer.write(cacheName + "\t" + fileName);
+      writer.newLine();
     }
+    indexLines++;
   }
 
-  private void clean(Path cacheDir, long currentTimeMillis) throws IOException {
+  /** Restore the entries of the index whose files are still present and not expired. */
+  private void restore(int ttl) throws IOException {
     if (!Files.isDirectory(cacheDir)) {
       return;
     }
-    Files.walkFileTree(
-        cacheDir,
-        new SimpleFileVisitor<>() {
-          @Override
-          public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
-              throws IOException {
-            CacheEntry entry = cacheEntryMap.get(getCacheDir().relativize(file).toString());
-            if (isExpired(entry.lastAccess, currentTimeMillis)) {
-              deleteFileAndEntry(entry);
-            }
-            return FileVisitResult.CONTINUE;
-          }
-
-          @Override
-          public FileVisitResult postVisitDirectory(Path directory, IOException ioException)
-              throws IOException {
 
-            if (cacheDir.equals(directory)) {
-              return FileVisitResult.CONTINUE;
-            }
+    final Map<String, String> names = new HashMap<>();
+    final Path indexFile = getIndexFile();
+    if (Files.exists(indexFile)) {
+      for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+        final int tab = line.indexOf('\t');
+        if (tab > 0) {
+          names.put(line.substring(0, tab), line.substring(tab + 1));
+        }
+      }
+    }
 
-            try (Stream<Path> stream = Files.list(directory)) {
-              if (!stream.iterator().hasNext()) {
-                Files.delete(directory);
-              }
-            }
+    final long expired =
+        ttl > -1 ? System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(ttl) : Long.MIN_VALUE;
+    final List<Path> files = new ArrayList<>();
 
-            return FileVisitResult.CONTINUE;
+    try (Stream<Path> stream = Files.list(cacheDir)) {
+      for (Path file : (Iterable<Path>) stream::iterator) {
+        if (file.equals(indexFile)) {
+          continue;
+        }
+        final String fileName = names.get(file.getFileName().toString());
+        if (fileName == null
+            || !Files.isRegularFile(file)
+            || Files.getLastModifiedTime(file).toMillis() < expired) {
+          // unknown, expired, incomplete or from an older cache layout
+          if (Files.isDirectory(file)) {
+            FileUtils.deleteDirectory(file);
+          } else {
+            Files.deleteIfExists(file);
           }
-        });
-  }
-
-  private void removeEntry(CacheEntry entry) {
-
-    if (entry.prev != null) {
-      entry.prev.next = entry.next;
-    } else {
-      head = entry.next;
+          continue;
+        }
+        files.add(file);
+      }
     }
 
-    if (entry.next != null) {
-      entry.next.prev = entry.prev;
-    } else {
-      tail = entry.prev;
+    // least recently used first
+    files.sort(Comparator.comparing(S3Cache::getLastModified));
+
+    final List<String> lines = new ArrayList<>();
+    for (Path file : files) {
+      final String cacheName = file.getFileName().toString();
+      final String fileName = names.get(cacheName);
+      final long length = Files.size(file);
+      size.addAndGet(length);
+      entries.put(fileName, new CacheEntry(file, length));
+      lines.add(cacheName + "\t" + fileName);
     }
-  }
 
-  private void addToTail(CacheEntry entry) {
+    Files.write(indexFile, lines, StandardCharsets.UTF_8);
+    indexLines = lines.size();
 
-    if (tail != null) {
-      tail.next = entry;
-    }
-
-    entry.prev = tail;
-    entry.next = null;
-    tail = entry;
+    LOG.debug("Restored {} S3 cache entries from {}", lines.size(), cacheDir);
+  }
 
-    if (head == null) {
-      head = tail;
+  private static FileTime getLastModified(Path file) {
+    try {
+      return Files.getLastModifiedTime(file);
+    } catch (IOException e) {
+      return FileTime.fromMillis(0);
     }
   }
 
+  /**
+   * Get the statistics of the cache.
+   *
+   * @return the cache statistics
+   */
+  public S3CacheStats getStats() {
+    final CacheStats stats = entries.stats();
+    return new S3CacheStats(
+        stats.hitCount(),
+        stats.missCount(),
+        downloaded.get(),
+        stats.evictionCount(),
+        entries.estimatedSize(),
+        size.get(),
+        maxSize);
+  }
+
   public int size() {
-    this.lock.readLock().lock();
-    try {
-      return cacheEntryMap.size();
-    } finally {
-      this.lock.readLock().unlock();
-    }
+    entries.cleanUp();
+    return (int) entries.estimatedSize();
   }
 
   public boolean isEmpty() {
@@ -287,31 +411,7 @@ public class S3Cache {
   }
 
   public void clear() {
-    this.lock.writeLock().lock();
-    try {
-      cacheEntryMap.forEach(
-          (s, cacheEntry) -> {
-            try {
-              deleteFileAndEntry(cacheEntry);
-            } catch (IOException e) {
-              // ignore
-            }
-          });
-    } finally {
-      this.lock.writeLock().unlock();
-    }
-  }
-
-  private class CacheEntry {
-
-    private String key;
-    private long lastAccess;
-    private CacheEntry prev;
-    private CacheEntry next;
-
-    public CacheEntry(String key, long lastAccess) {
-      this.key = key;
-      this.lastAccess = lastAccess;
-    }
+    entries.invalidateAll();
+    entries.cleanUp();
   }
 }
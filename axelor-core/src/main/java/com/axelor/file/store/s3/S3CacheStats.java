@@ -0,0 +1,30 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.file.store.s3;
+
+/**
+ * Statistics of the {@link S3Cache} of the current node.
+ *
+ * @param hits the number of lookups of cached objects
+ * @param misses the number of lookups of objects not cached
+ * @param downloads the number of objects downloaded to the cache
+ * @param evictions the number of objects evicted from the cache
+ * @param entries the number of cached objects
+ * @param size the total size of the cached files, in bytes
+ * @param maxSize the maximum total size of the cached files, in bytes, {@code -1} if unlimited
+ */
+public record S3CacheStats(
+    long hits, long misses, long downloads, long evictions, long entries, long size, long maxSize) {
+
+  /**
+   * Returns the ratio of lookups of cached objects.
+   *
+   * @return the hit ratio, {@code 1} when there were no lookups
+   */
+  public double hitRate() {
+    final long lookups = hits + misses;
+    return lookups == 0 ? 1 : (double) hits / lookups;
+  }
+}
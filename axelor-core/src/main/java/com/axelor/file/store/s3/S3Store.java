@@ -14,6 +14,7 @@ import com.axelor.file.store.StoreType;
 import com.axelor.file.store.UploadedFile;
 import com.axelor.file.temp.TempFiles;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.io.ByteStreams;
 import io.minio.BucketExistsArgs;
 import io.minio.GetObjectArgs;
 import io.minio.MakeBucketArgs;
@@ -32,7 +33,6 @@ import io.minio.errors.InvalidResponseException;
 import io.minio.errors.ServerException;
 import io.minio.errors.XmlParserException;
 import java.io.BufferedInputStream;
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
@@ -194,6 +194,9 @@ public class S3Store implements Store {
             .headers(headers)
             .sse(getEncryption());
     getClient().putObject(builder.build());
+    if (S3Cache.CACHE_ENABLED) {
+      _s3Cache.remove(objectName);
+    }
 
     // Get actual size from S3 if it was unknown
     if (fileSize < 0) {
@@ -216,7 +219,7 @@ public class S3Store implements Store {
           RemoveObjectArgs.builder().bucket(getBucketName()).object(objectName);
       getClient().removeObject(builder.build());
       if (S3Cache.CACHE_ENABLED) {
-        _s3Cache.remove(fileName);
+        _s3Cache.remove(objectName);
       }
     } catch (IOException
         | ErrorResponseException
@@ -233,27 +236,10 @@ public class S3Store implements Store {
 
   @Override
   public Path getPath(String fileName, boolean cache) {
-    Path cachePath = S3Cache.CACHE_ENABLED && cache ? _s3Cache.get(fileName) : null;
-    if (cachePath != null) {
-      // if in cache, return it as a new temp file
-      try {
-        Path tempFile = TempFiles.createTempFile();
-        FileUtils.copyPath(cachePath, tempFile);
-        return tempFile;
-      } catch (IOException e) {
-        throw new UncheckedIOException(e);
-      }
-    }
-
-    // fetch stream from S3
-    try (InputStream inputStream = _fetchStream(fileName)) {
-      // create tmp file from stream
+    // fetch stream from the cache or S3, and return it as a new temp file
+    try (InputStream inputStream = getStream(fileName, cache)) {
       Path tempFile = TempFiles.createTempFile();
       FileUtils.write(tempFile, inputStream);
-      if (S3Cache.CACHE_ENABLED && cache) {
-        // put in the cache
-        _s3Cache.put(tempFile.toFile(), fileName);
-      }
       return tempFile;
     } catch (IOException e) {
       throw new UncheckedIOException(e);
@@ -263,37 +249,49 @@ public class S3Store implements Store {
   @Override
   public InputStream getStream(String fileName, boolean cache) {
     if (S3Cache.CACHE_ENABLED && cache) {
+      // concurrent misses are downloaded once
       try {
-        // if in cache, return it
-        Path cachePath = _s3Cache.get(fileName);
-        if (cachePath != null) {
-          return Files.newInputStream(cachePath);
-        }
+        return _s3Cache.open(getObjectName(fileName), () -> _fetchStream(fileName));
       } catch (IOException e) {
-        throw new RuntimeException(e);
+        throw new UncheckedIOException(e);
       }
     }
 
     // fetch stream from S3
-    InputStream inputStream = _fetchStream(fileName);
+    return _fetchStream(fileName);
+  }
 
-    if (S3Cache.CACHE_ENABLED && cache) {
-      try (inputStream) {
-        File cachedFile = _s3Cache.put(inputStream, fileName);
-        return Files.newInputStream(cachedFile.toPath());
-      } catch (IOException e) {
-        throw new RuntimeException(e);
+  @Override
+  public InputStream getStream(String fileName, long offset, long length) {
+    if (S3Cache.CACHE_ENABLED) {
+      // if in cache, read the range from it
+      final Path cachePath = _s3Cache.get(getObjectName(fileName));
+      if (cachePath != null) {
+        try {
+          final InputStream stream = Files.newInputStream(cachePath);
+          stream.skipNBytes(offset);
+          return ByteStreams.limit(stream, length);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
       }
     }
-
-    return inputStream;
+    // fetch only the range from S3
+    return _fetchStream(fileName, offset, length);
   }
 
   private InputStream _fetchStream(String fileName) {
+    return _fetchStream(fileName, null, null);
+  }
+
+  private InputStream _fetchStream(String fileName, Long offset, Long length) {
     final String objectName = getObjectName(fileName);
     try {
       GetObjectArgs.Builder builder =
           GetObjectArgs.builder().bucket(getBucketName()).object(objectName);
+      if (offset != null) {
+        builder.offset(offset).length(length);
+      }
       return getClient().getObject(builder.build());
     } catch (XmlParserException
         | ErrorResponseException
@@ -8,21 +8,20 @@ import com.axelor.cache.AxelorCache;
 import com.axelor.cache.CacheBuilder;
 import com.axelor.common.StringUtils;
 import com.axelor.db.JPA;
+import com.google.common.collect.Lists;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.FlushModeType;
 import jakarta.persistence.TypedQuery;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
-import java.util.HexFormat;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,10 +30,23 @@ public class I18nBundle extends ResourceBundle {
 
   private final String languageTag;
 
-  private static final AxelorCache<String, Map<String, String>> messages =
-      CacheBuilder.newBuilder("messages").build(I18nBundle::loadMessages);
-  private static final AxelorCache<String, String> hashes =
-      CacheBuilder.newBuilder("hashes").build(I18nBundle::computeHash);
+  private static final AxelorCache<String, MessageDictionary> messages =
+      CacheBuilder.newBuilder("messages").nearCache(100).build(I18nBundle::loadMessages);
+
+  // above this number of changed keys, the dictionaries are reloaded entirely
+  private static final int MAX_CHANGED_KEYS = 1000;
+
+  private static final int PAGE_SIZE = 1000;
+
+  private static final String SELECT_MESSAGES =
+      """
+      SELECT self.key, MAX(CASE WHEN self.language = :lang THEN self.message ELSE base.message END)
+      FROM MetaTranslation self
+      LEFT JOIN MetaTranslation base ON base.key = self.key AND base.language = :baseLang
+      WHERE self.message IS NOT NULL AND self.language IN (:lang, :baseLang) %s
+      GROUP BY self.key
+      ORDER BY self.key
+      """;
 
   private static final Logger log = LoggerFactory.getLogger(I18nBundle.class);
 
@@ -66,75 +78,122 @@ public class I18nBundle extends ResourceBundle {
 
   @Override
   public boolean containsKey(String key) {
-    return handleKeySet().contains(key);
+    return getMessages().containsKey(key);
   }
 
-  private Map<String, String> getMessages() {
-    return messages.get(languageTag);
+  private MessageDictionary getMessages() {
+    return getMessages(languageTag);
   }
 
-  private static Map<String, String> loadMessages(String languageTag) {
-    final EntityManager em;
+  private static MessageDictionary getMessages(String languageTag) {
+    return messages.get(languageTag);
+  }
 
+  private static EntityManager getEntityManager() {
     try {
-      em = JPA.em();
+      return JPA.em();
     } catch (Throwable e) {
       log.error("Failed to obtain entity manager", e);
-      return Collections.emptyMap();
+      return null;
     }
+  }
 
+  private static TypedQuery<String[]> createQuery(
+      EntityManager em, String languageTag, String condition) {
     final String language = Locale.forLanguageTag(languageTag).getLanguage();
-    final int limit = 1000;
+    return em.createQuery(SELECT_MESSAGES.formatted(condition), String[].class)
+        .setParameter("lang", languageTag)
+        .setParameter("baseLang", language)
+        .setFlushMode(FlushModeType.COMMIT);
+  }
+
+  private static MessageDictionary loadMessages(String languageTag) {
+    final EntityManager em = getEntityManager();
+    if (em == null) {
+      return MessageDictionary.of(Collections.emptyMap());
+    }
+
+    // keyset pagination, rows are grouped by key
     final TypedQuery<String[]> query =
-        em.createQuery(
-                """
-                SELECT self.key, MAX(CASE WHEN self.language = :lang THEN self.message ELSE base.message END)
-                FROM MetaTranslation self
-                LEFT JOIN MetaTranslation base ON base.key = self.key AND base.language = :baseLang
-                WHERE self.message IS NOT NULL AND self.language IN (:lang, :baseLang)
-                GROUP BY self.key
-                ORDER BY self.key
-                """,
-                String[].class)
-            .setParameter("lang", languageTag)
-            .setParameter("baseLang", language)
-            .setFlushMode(FlushModeType.COMMIT)
-            .setMaxResults(limit);
-
-    int offset = 0;
-    List<String[]> results;
+        createQuery(em, languageTag, "AND self.key > :lastKey").setMaxResults(PAGE_SIZE);
+    final Map<String, String> loadedMessages = new HashMap<>();
 
-    Map<String, String> loadedMessages = new HashMap<>();
+    String lastKey = "";
+    List<String[]> results;
 
     do {
-      query.setFirstResult(offset);
-      results = query.getResultList();
+      results = query.setParameter("lastKey", lastKey).getResultList();
       for (final String[] result : results) {
         loadedMessages.put(result[0], result[1]);
       }
-      offset += limit;
-    } while (results.size() >= limit);
+      if (!results.isEmpty()) {
+        lastKey = results.get(results.size() - 1)[0];
+      }
+    } while (results.size() >= PAGE_SIZE);
 
-    return loadedMessages;
+    return MessageDictionary.of(loadedMessages);
   }
 
-  private static String computeHash(String languageTag) {
-    MessageDigest messageDigest;
-    try {
-      messageDigest = MessageDigest.getInstance("SHA-256");
-    } catch (NoSuchAlgorithmException e) {
-      throw new RuntimeException(e);
+  private static Map<String, String> loadMessages(
+      EntityManager em, String languageTag, Collection<String> keys) {
+    final Map<String, String> loadedMessages = new HashMap<>();
+    final TypedQuery<String[]> query = createQuery(em, languageTag, "AND self.key IN (:keys)");
+    for (final List<String> page : Lists.partition(List.copyOf(keys), PAGE_SIZE)) {
+      for (final String[] result : query.setParameter("keys", page).getResultList()) {
+        loadedMessages.put(result[0], result[1]);
+      }
     }
 
-    messages.get(languageTag).entrySet().stream()
-        .sorted(Map.Entry.comparingByKey())
-        .forEach(
-            entry -> {
-              messageDigest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
-              messageDigest.update(entry.getValue().getBytes(StandardCharsets.UTF_8));
-            });
+    return loadedMessages;
+  }
 
-    return HexFormat.of().formatHex(messageDigest.digest());
+  private static long countKeys(EntityManager em, String languageTag) {
+    final String language = Locale.forLanguageTag(languageTag).getLanguage();
+    return em.createQuery(
+            """
+            SELECT COUNT(DISTINCT self.key) FROM MetaTranslation self
+            WHERE self.message IS NOT NULL AND self.language IN (:lang, :baseLang)
+            """,
+            Long.class)
+        .setParameter("lang", languageTag)
+        .setParameter("baseLang", language)
+        .setFlushMode(FlushModeType.COMMIT)
+        .getSingleResult();
+  }
+
+  /**
+   * Reloads the given keys in the cached dictionaries of the current tenant.
+   *
+   * <p>Each dictionary is updated under its cache lock, so concurrent updates of different keys,
+   * from any node, are all applied. The keys are loaded with a new entity manager, as this is
+   * called once the transaction changing them is completed.
+   */
+  private static void refresh(Set<String> keys) {
+    final EntityManager em = JPA.em().getEntityManagerFactory().createEntityManager();
+    try {
+      for (final String languageTag : List.copyOf(messages.asMap().keySet())) {
+        final Lock lock = messages.getLock(languageTag);
+        lock.lock();
+        try {
+          final MessageDictionary current = messages.asMap().get(languageTag);
+          if (current == null) {
+            continue;
+          }
+          final MessageDictionary updated =
+              current.update(keys, loadMessages(em, languageTag, keys));
+          // keys renamed or removed by bulk updates can't be tracked, reload everything then
+          if (updated.size() == countKeys(em, languageTag)) {
+            messages.put(languageTag, updated);
+          } else {
+            messages.invalidate(languageTag);
+          }
+        } finally {
+          lock.unlock();
+        }
+      }
+    } finally {
+      em.close();
+    }
   }
 
   /**
@@ -144,12 +203,35 @@ public class I18nBundle extends ResourceBundle {
    * @return the messages hash
    */
   public static String getHash(Locale locale) {
-    return hashes.get(locale.toLanguageTag());
+    return getMessages(locale.toLanguageTag()).getHash();
   }
 
   public static void invalidate() {
     ResourceBundle.clearCache();
     messages.invalidateAll();
-    hashes.invalidateAll();
+  }
+
+  /**
+   * Invalidates the messages of the given keys.
+   *
+   * <p>Only the given keys are reloaded in the cached messages, instead of all the messages. This
+   * should be called once the changes to the translations are committed.
+   *
+   * @param keys the keys of the changed translations
+   */
+  public static void invalidate(Collection<String> keys) {
+    if (keys.isEmpty()) {
+      return;
+    }
+    if (keys.size() > MAX_CHANGED_KEYS) {
+      invalidate();
+      return;
+    }
+    try {
+      refresh(Set.copyOf(keys));
+    } catch (Exception e) {
+      log.error("Failed to reload changed translations", e);
+      invalidate();
+    }
   }
 }
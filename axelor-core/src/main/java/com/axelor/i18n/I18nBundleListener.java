@@ -0,0 +1,62 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.i18n;
+
+import com.axelor.db.JPA;
+import com.axelor.meta.db.MetaTranslation;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import org.hibernate.engine.spi.SessionImplementor;
+
+/**
+ * Entity listener to invalidate the messages cached by {@link I18nBundle} when translations are
+ * changed.
+ *
+ * <p>The keys of the changed translations are collected, and only these keys are invalidated once
+ * the transaction is completed.
+ */
+public class I18nBundleListener {
+
+  // keys changed by the sessions with a pending invalidation
+  private static final Map<SessionImplementor, Set<String>> PENDING =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  private void onChange(MetaTranslation translation) {
+    if (translation.getKey() == null) {
+      return;
+    }
+    final SessionImplementor session = JPA.em().unwrap(SessionImplementor.class);
+    final Set<String> keys;
+
+    synchronized (PENDING) {
+      final Set<String> pending = PENDING.get(session);
+      if (pending != null) {
+        pending.add(translation.getKey());
+        return;
+      }
+      keys = new HashSet<>();
+      keys.add(translation.getKey());
+      PENDING.put(session, keys);
+    }
+
+    // messages may have been loaded from uncommitted changes, so invalidate on rollback as well
+    session
+        .getActionQueue()
+        .registerProcess(
+            (success, sessionImplementor) -> {
+              PENDING.remove(session);
+              I18nBundle.invalidate(keys);
+            });
+  }
+}
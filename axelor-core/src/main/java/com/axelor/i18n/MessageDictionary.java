@@ -0,0 +1,139 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.i18n;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable dictionary of the translated messages of a language.
+ *
+ * <p>Keys are kept in sorted arrays and looked up with a binary search. Keys and messages are
+ * pooled, so that the dictionaries of the different languages, and of the locales falling back to
+ * the same base language, share the same strings.
+ */
+final class MessageDictionary implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Interner<String> POOL = Interners.newWeakInterner();
+
+  private final String[] keys;
+  private final String[] values;
+  private final String hash;
+
+  private MessageDictionary(String[] keys, String[] values) {
+    this.keys = keys;
+    this.values = values;
+    this.hash = computeHash(keys, values);
+  }
+
+  /**
+   * Creates a dictionary from the given messages.
+   *
+   * @param messages the messages by key
+   * @return the dictionary
+   */
+  static MessageDictionary of(Map<String, String> messages) {
+    final String[] keys = messages.keySet().toArray(String[]::new);
+    Arrays.sort(keys);
+
+    final String[] values = new String[keys.length];
+    for (int i = 0; i < keys.length; i++) {
+      values[i] = intern(messages.get(keys[i]));
+      keys[i] = intern(keys[i]);
+    }
+
+    return new MessageDictionary(keys, values);
+  }
+
+  private static String intern(String value) {
+    return value == null ? null : POOL.intern(value);
+  }
+
+  private static String computeHash(String[] keys, String[] values) {
+    final MessageDigest messageDigest;
+    try {
+      messageDigest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+
+    for (int i = 0; i < keys.length; i++) {
+      messageDigest.update(keys[i].getBytes(StandardCharsets.UTF_8));
+      if (values[i] != null) {
+        messageDigest.update(values[i].getBytes(StandardCharsets.UTF_8));
+      }
+    }
+
+    return HexFormat.of().formatHex(messageDigest.digest());
+  }
+
+  /**
+   * Returns a new dictionary with the given keys replaced by the given messages.
+   *
+   * @param changedKeys the keys to replace, the ones not found in messages are removed
+   * @param messages the new messages of the changed keys
+   * @return the updated dictionary
+   */
+  MessageDictionary update(Collection<String> changedKeys, Map<String, String> messages) {
+    final Map<String, String> updated = new HashMap<>(keys.length + messages.size());
+    for (int i = 0; i < keys.length; i++) {
+      updated.put(keys[i], values[i]);
+    }
+    changedKeys.forEach(updated::remove);
+    updated.putAll(messages);
+    return of(updated);
+  }
+
+  String get(String key) {
+    final int index = Arrays.binarySearch(keys, key);
+    return index < 0 ? null : values[index];
+  }
+
+  boolean containsKey(String key) {
+    return Arrays.binarySearch(keys, key) >= 0;
+  }
+
+  int size() {
+    return keys.length;
+  }
+
+  String getHash() {
+    return hash;
+  }
+
+  Set<String> keySet() {
+    return new AbstractSet<>() {
+
+      @Override
+      public Iterator<String> iterator() {
+        return Arrays.asList(keys).iterator();
+      }
+
+      @Override
+      public int size() {
+        return keys.length;
+      }
+
+      @Override
+      public boolean contains(Object o) {
+        return o instanceof String key && containsKey(key);
+      }
+    };
+  }
+}
@@ -8,7 +8,9 @@ import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
 import jakarta.mail.Session;
 import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
 import java.io.IOException;
+import java.io.InputStream;
 
 /** The {@link MailSender} provides features to send mails. */
 public final class MailSender {
@@ -44,6 +46,33 @@ public final class MailSender {
     Transport.send(message);
   }
 
+  /**
+   * Open a connection to the mail server, to send several messages with {@link
+   * Transport#sendMessage(Message, jakarta.mail.Address[])}.
+   *
+   * <p>Unlike {@link #send(Message)}, the messages are not updated before being sent, see {@link
+   * Message#saveChanges()}.
+   *
+   * @return the connected transport, to be closed once done
+   * @throws MessagingException if the connection failed
+   */
+  public Transport connect() throws MessagingException {
+    final Transport transport = session.getTransport("smtp");
+    transport.connect();
+    return transport;
+  }
+
+  /**
+   * Read a message written with {@link MimeMessage#writeTo(java.io.OutputStream)}.
+   *
+   * @param stream the message content
+   * @return the message
+   * @throws MessagingException if the message could not be parsed
+   */
+  public MimeMessage read(InputStream stream) throws MessagingException {
+    return new MimeMessage(session, stream);
+  }
+
   /**
    * Send a simple text message to the given recipients.<br>
    * <br>
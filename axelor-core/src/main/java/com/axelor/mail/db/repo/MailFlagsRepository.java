@@ -4,11 +4,18 @@
  */
 package com.axelor.mail.db.repo;
 
+import static java.util.stream.Collectors.toSet;
+
 import com.axelor.auth.db.User;
 import com.axelor.db.JpaRepository;
 import com.axelor.mail.db.MailFlags;
 import com.axelor.mail.db.MailMessage;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 public class MailFlagsRepository extends JpaRepository<MailFlags> {
 
@@ -24,6 +31,31 @@ public class MailFlagsRepository extends JpaRepository<MailFlags> {
         .fetchOne();
   }
 
+  /**
+   * Find the flags of the given user for the given messages.
+   *
+   * @param messages the messages
+   * @param user the user
+   * @return the flags by message id
+   */
+  public Map<Long, MailFlags> findBy(Collection<MailMessage> messages, User user) {
+    final Map<Long, MailFlags> found = new HashMap<>();
+    final Set<Long> ids =
+        messages.stream().map(MailMessage::getId).filter(Objects::nonNull).collect(toSet());
+    if (ids.isEmpty()) {
+      return found;
+    }
+    for (MailFlags flags :
+        all()
+            .filter("self.message.id IN (:ids) AND self.user = :user")
+            .bind("ids", ids)
+            .bind("user", user)
+            .fetch()) {
+      found.putIfAbsent(flags.getMessage().getId(), flags);
+    }
+    return found;
+  }
+
   @Override
   public MailFlags save(MailFlags entity) {
     final MailFlags flags = super.save(entity);
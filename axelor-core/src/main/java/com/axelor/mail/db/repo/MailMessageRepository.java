@@ -32,12 +32,16 @@ import jakarta.persistence.PersistenceException;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -315,17 +319,119 @@ public class MailMessageRepository extends JpaRepository<MailMessage> {
         .fetch();
   }
 
+  /**
+   * Find the attachments of the given messages, with their files.
+   *
+   * @param messages the messages
+   * @return the attachments by message id
+   */
+  public Map<Long, List<MetaAttachment>> findAttachments(Collection<MailMessage> messages) {
+    final Map<Long, List<MetaAttachment>> found = new HashMap<>();
+    final Set<Long> ids = getIds(messages);
+    if (ids.isEmpty()) {
+      return found;
+    }
+    final List<MetaAttachment> attachments =
+        JPA.em()
+            .createQuery(
+                "SELECT self FROM MetaAttachment self LEFT JOIN FETCH self.metaFile"
+                    + " WHERE self.objectId IN (:ids) AND self.objectName = :name"
+                    + " ORDER BY self.id",
+                MetaAttachment.class)
+            .setParameter("ids", ids)
+            .setParameter("name", MailMessage.class.getName())
+            .getResultList();
+    for (MetaAttachment attachment : attachments) {
+      found.computeIfAbsent(attachment.getObjectId(), id -> new ArrayList<>()).add(attachment);
+    }
+    return found;
+  }
+
+  private static Set<Long> getIds(Collection<? extends Model> entities) {
+    return entities.stream()
+        .filter(Objects::nonNull)
+        .map(Model::getId)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
+  }
+
+  // loads the uninitialized proxies of the given entities with a single query
+  private static void fetch(Class<? extends Model> klass, Collection<? extends Model> entities) {
+    final Set<Long> ids =
+        getIds(entities.stream().filter(e -> e != null && !Hibernate.isInitialized(e)).toList());
+    if (ids.isEmpty()) {
+      return;
+    }
+    JPA.em()
+        .createQuery(
+            "SELECT self FROM " + klass.getSimpleName() + " self WHERE self.id IN (:ids)", klass)
+        .setParameter("ids", ids)
+        .getResultList();
+  }
+
   public Map<String, Object> details(MailMessage message) {
+    return details(List.of(message)).getFirst();
+  }
+
+  /**
+   * Get the details of the given messages, as shown in the message streams.
+   *
+   * <p>The flags, attachments, authors and senders of the messages are loaded with a query for
+   * each kind, not for each message. The senders without author are resolved once per email
+   * address.
+   *
+   * @param messages the messages
+   * @return the details of the messages, in the same order
+   */
+  public List<Map<String, Object>> details(List<MailMessage> messages) {
+    final User authUser = AuthUtils.getUser();
+    final Map<Long, MailFlags> flags =
+        authUser != null ? flagsRepo.findBy(messages, authUser) : new HashMap<>();
+    final Map<Long, List<MetaAttachment>> attachments = findAttachments(messages);
+
+    final List<User> users = new ArrayList<>();
+    final List<MailAddress> senders = new ArrayList<>();
+    for (MailMessage message : messages) {
+      users.add(message.getAuthor());
+      users.add(message.getCreatedBy());
+      senders.add(message.getFrom());
+    }
+    fetch(User.class, users);
+    fetch(MailAddress.class, senders);
+
+    final Set<String> emails = new HashSet<>();
+    for (MailMessage message : messages) {
+      if (message.getAuthor() == null
+          && message.getFrom() != null
+          && message.getFrom().getAddress() != null) {
+        emails.add(message.getFrom().getAddress());
+      }
+    }
+    final Map<String, Model> authors = emails.isEmpty() ? Map.of() : mailService.resolve(emails);
+
+    final List<Map<String, Object>> all = new ArrayList<>(messages.size());
+    for (MailMessage message : messages) {
+      all.add(
+          details(
+              message,
+              flags.get(message.getId()),
+              attachments.getOrDefault(message.getId(), List.of()),
+              authors));
+    }
+    return all;
+  }
+
+  private Map<String, Object> details(
+      MailMessage message,
+      MailFlags flags,
+      List<MetaAttachment> attachments,
+      Map<String, Model> authors) {
     final String[] fields = {
       "id", "type", "subject", "body", "summary", "relatedId", "relatedModel", "relatedName"
     };
     final Map<String, Object> details = Resource.toMap(message, fields);
     final List<Object> files = new ArrayList<>();
 
-    final User authUser = AuthUtils.getUser();
-    final MailFlags flags = authUser != null ? flagsRepo.findBy(message, authUser) : null;
-    final List<MetaAttachment> attachments = findAttachments(message);
-
     for (MetaAttachment attachment : attachments) {
       final Map<String, Object> fileInfo = Resource.toMapCompact(attachment.getMetaFile());
       fileInfo.put("fileIcon", metaFiles.fileTypeIcon(attachment.getMetaFile()));
@@ -351,8 +457,8 @@ public class MailMessageRepository extends JpaRepository<MailMessage> {
     final User user = message.getAuthor();
 
     Model author = user;
-    if (author == null && email != null) {
-      author = mailService.resolve(email.getAddress());
+    if (author == null && email != null && email.getAddress() != null) {
+      author = authors.get(email.getAddress());
     }
 
     if (author != null) {
@@ -0,0 +1,435 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.mail.service;
+
+import com.axelor.app.AppSettings;
+import com.axelor.app.AvailableAppSettings;
+import com.axelor.concurrent.ContextAware;
+import com.axelor.db.JPA;
+import com.axelor.db.tenants.TenantResolver;
+import com.axelor.event.Observes;
+import com.axelor.events.ShutdownEvent;
+import com.axelor.events.StartupEvent;
+import com.axelor.inject.Beans;
+import com.axelor.mail.MailSender;
+import com.axelor.mail.db.MailOutboxEntry;
+import jakarta.inject.Singleton;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.hibernate.LockOptions;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The durable queue of the outgoing emails.
+ *
+ * <p>Emails are stored as {@link MailOutboxEntry} records with the transaction sending them, and
+ * delivered once it's committed by a fixed number of workers. Each worker claims the due entries
+ * by batches, skipping the entries claimed by other workers or nodes, and sends them over a single
+ * SMTP connection kept open while entries are due.
+ *
+ * <p>Failed deliveries are retried with an exponential backoff, and abandoned after {@link
+ * #MAX_ATTEMPTS} attempts. Claimed entries not completed within {@link #LEASE}, for example
+ * because the node was stopped, are delivered again: emails are delivered at least once.
+ */
+@Singleton
+public class MailOutbox {
+
+  private static final Logger log = LoggerFactory.getLogger(MailOutbox.class);
+
+  private static final int WORKERS =
+      Math.max(1, AppSettings.get().getInt(AvailableAppSettings.MAIL_OUTBOX_WORKERS, 2));
+  private static final int BATCH_SIZE =
+      Math.max(1, AppSettings.get().getInt(AvailableAppSettings.MAIL_OUTBOX_BATCH_SIZE, 50));
+  private static final int MAX_ATTEMPTS =
+      Math.max(1, AppSettings.get().getInt(AvailableAppSettings.MAIL_OUTBOX_MAX_ATTEMPTS, 8));
+  private static final long RETRY_DELAY_SECONDS =
+      Math.max(1, AppSettings.get().getInt(AvailableAppSettings.MAIL_OUTBOX_RETRY_DELAY, 60));
+
+  private static final Duration MAX_RETRY_DELAY = Duration.ofHours(1);
+  private static final Duration LEASE = Duration.ofMinutes(15);
+
+  private static final long POLL_INTERVAL_SECONDS = 30;
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 20;
+
+  // key of the tenant when multi-tenancy is disabled
+  private static final String NO_TENANT = "";
+
+  private final ExecutorService workers =
+      Executors.newFixedThreadPool(
+          WORKERS, Thread.ofPlatform().daemon().name("mail-outbox-", 0).factory());
+
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          Thread.ofPlatform().daemon().name("mail-outbox-scheduler").factory());
+
+  // the tenants with a drain waiting for a worker, and the tenants polled for retries
+  private final Set<String> scheduled = ConcurrentHashMap.newKeySet();
+  private final Set<String> tenants = ConcurrentHashMap.newKeySet();
+
+  private final LongAdder sentCounter = new LongAdder();
+  private final LongAdder retriedCounter = new LongAdder();
+  private final LongAdder failedCounter = new LongAdder();
+  private final LongAdder delayTotal = new LongAdder();
+  private final LongAdder sendTimeTotal = new LongAdder();
+
+  private volatile boolean isActive = true;
+
+  MailOutbox() {
+    scheduler.scheduleWithFixedDelay(
+        () -> tenants.forEach(this::wake),
+        POLL_INTERVAL_SECONDS,
+        POLL_INTERVAL_SECONDS,
+        TimeUnit.SECONDS);
+  }
+
+  private record Claim(
+      Long id, String recipients, byte[] content, int attempts, LocalDateTime createdOn) {}
+
+  private record Result(Claim claim, MimeMessage email, long sendTime, String error) {}
+
+  /** The connection to the mail server, opened on first use and again once lost. */
+  private static final class Connection implements AutoCloseable {
+
+    private final MailSender sender;
+    private Transport transport;
+
+    Connection(MailSender sender) {
+      this.sender = sender;
+    }
+
+    Transport get() throws MessagingException {
+      if (transport == null) {
+        transport = sender.connect();
+      }
+      return transport;
+    }
+
+    boolean isConnected() {
+      return transport != null && transport.isConnected();
+    }
+
+    @Override
+    public void close() {
+      if (transport != null) {
+        try {
+          transport.close();
+        } catch (MessagingException e) {
+          // already closed
+        }
+        transport = null;
+      }
+    }
+  }
+
+  /**
+   * Add the given email to the outbox.
+   *
+   * <p>The email is stored with the current transaction and delivered once it's committed. If
+   * there is no active transaction, the email is stored in a new one.
+   *
+   * @param email the email to send
+   * @throws MessagingException if the email could not be written
+   * @throws IOException if the content of the email could not be read
+   */
+  public void add(MimeMessage email) throws MessagingException, IOException {
+    // as done by Transport#send, the stored message is sent as is
+    email.saveChanges();
+
+    final ByteArrayOutputStream content = new ByteArrayOutputStream();
+    email.writeTo(content);
+
+    final MailOutboxEntry entry = new MailOutboxEntry();
+    entry.setMessageId(email.getMessageID());
+    entry.setRecipients(InternetAddress.toString(email.getAllRecipients()));
+    entry.setContent(content.toByteArray());
+    entry.setAttempts(0);
+    entry.setFailed(false);
+    entry.setNextAttempt(LocalDateTime.now());
+
+    final String tenant = key(TenantResolver.currentTenantIdentifier());
+    if (JPA.em().getTransaction().isActive()) {
+      persist(entry, tenant);
+    } else {
+      JPA.runInTransaction(() -> persist(entry, tenant));
+    }
+  }
+
+  private void persist(MailOutboxEntry entry, String tenant) {
+    final EntityManager em = JPA.em();
+    em.persist(entry);
+    em.unwrap(SessionImplementor.class)
+        .getActionQueue()
+        .registerProcess(
+            (AfterTransactionCompletionProcess)
+                (success, session) -> {
+                  if (success) {
+                    wake(tenant);
+                  }
+                });
+  }
+
+  private static String key(String tenant) {
+    return Objects.requireNonNullElse(tenant, NO_TENANT);
+  }
+
+  private void wake(String tenant) {
+    tenants.add(tenant);
+    if (!isActive || !scheduled.add(tenant)) {
+      return;
+    }
+    try {
+      workers.execute(() -> drain(tenant));
+    } catch (RejectedExecutionException e) {
+      scheduled.remove(tenant);
+    }
+  }
+
+  private void drain(String tenant) {
+    // wakes from now on schedule another drain, run by another worker if this one is busy
+    scheduled.remove(tenant);
+    try {
+      ContextAware.of(NO_TENANT.equals(tenant) ? null : tenant, null, null, null, false)
+          .build(
+              () -> {
+                if (Beans.get(MailService.class) instanceof MailServiceImpl service) {
+                  deliver(service);
+                }
+              })
+          .run();
+    } catch (Exception e) {
+      log.error("Error delivering outgoing emails", e);
+    }
+  }
+
+  /**
+   * Deliver the due emails of the current tenant.
+   *
+   * @param service the mail service, providing the sender
+   * @return the number of emails sent
+   */
+  int deliver(MailServiceImpl service) {
+    final MailSender sender = service.getDefaultMailSender();
+    if (sender == null) {
+      return 0;
+    }
+
+    int count = 0;
+    try (Connection connection = new Connection(sender)) {
+      List<Claim> batch;
+      while (isActive && !(batch = claim()).isEmpty()) {
+        final List<Result> results = new ArrayList<>(batch.size());
+        for (Claim claim : batch) {
+          results.add(send(sender, connection, claim));
+        }
+        count += complete(service, results);
+      }
+    }
+    return count;
+  }
+
+  private List<Claim> claim() {
+    return JPA.callInTransaction(
+        () -> {
+          final LocalDateTime now = LocalDateTime.now();
+          final List<MailOutboxEntry> entries =
+              JPA.em()
+                  .createQuery(
+                      "SELECT self FROM MailOutboxEntry self"
+                          + " WHERE self.failed = false AND self.nextAttempt <= :now"
+                          + " ORDER BY self.nextAttempt, self.id",
+                      MailOutboxEntry.class)
+                  .setParameter("now", now)
+                  .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                  .setHint("jakarta.persistence.lock.timeout", LockOptions.SKIP_LOCKED)
+                  .setMaxResults(BATCH_SIZE)
+                  .getResultList();
+
+          final List<Claim> claims = new ArrayList<>(entries.size());
+          for (MailOutboxEntry entry : entries) {
+            final int attempts = Objects.requireNonNullElse(entry.getAttempts(), 0) + 1;
+            entry.setAttempts(attempts);
+            entry.setNextAttempt(now.plus(LEASE));
+            claims.add(
+                new Claim(
+                    entry.getId(),
+                    entry.getRecipients(),
+                    entry.getContent(),
+                    attempts,
+                    entry.getCreatedOn()));
+          }
+          return claims;
+        });
+  }
+
+  private Result send(MailSender sender, Connection connection, Claim claim) {
+    final long start = System.nanoTime();
+    try {
+      final MimeMessage email = sender.read(new ByteArrayInputStream(claim.content()));
+      final Address[] recipients = InternetAddress.parse(claim.recipients());
+      try {
+        connection.get().sendMessage(email, recipients);
+      } catch (MessagingException e) {
+        if (e instanceof SendFailedException || connection.isConnected()) {
+          throw e;
+        }
+        // the connection was closed by the server, try again with a new one
+        connection.close();
+        connection.get().sendMessage(email, recipients);
+      }
+      return new Result(claim, email, System.nanoTime() - start, null);
+    } catch (MessagingException e) {
+      if (!(e instanceof SendFailedException)) {
+        connection.close();
+      }
+      return new Result(claim, null, 0, Objects.toString(e.getMessage(), e.toString()));
+    }
+  }
+
+  private int complete(MailServiceImpl service, List<Result> results) {
+    final List<Long> sent =
+        results.stream().filter(r -> r.email() != null).map(r -> r.claim().id()).toList();
+
+    JPA.runInTransaction(
+        () -> {
+          final EntityManager em = JPA.em();
+          final LocalDateTime now = LocalDateTime.now();
+          if (!sent.isEmpty()) {
+            em.createQuery("DELETE FROM MailOutboxEntry self WHERE self.id IN (:ids)")
+                .setParameter("ids", sent)
+                .executeUpdate();
+          }
+          for (Result result : results) {
+            if (result.email() != null) {
+              try {
+                service.messageSent(result.email());
+              } catch (Exception e) {
+                log.error("Error processing sent email", e);
+              }
+              continue;
+            }
+            final Claim claim = result.claim();
+            final boolean failed = claim.attempts() >= MAX_ATTEMPTS;
+            em.createQuery(
+                    "UPDATE MailOutboxEntry self SET self.failed = :failed,"
+                        + " self.nextAttempt = :next, self.lastError = :error"
+                        + " WHERE self.id = :id")
+                .setParameter("failed", failed)
+                .setParameter("next", now.plus(retryDelay(claim.attempts())))
+                .setParameter("error", result.error())
+                .setParameter("id", claim.id())
+                .executeUpdate();
+            if (failed) {
+              failedCounter.increment();
+              log.error(
+                  "Email abandoned after {} attempts: {}", claim.attempts(), result.error());
+            } else {
+              retriedCounter.increment();
+              log.warn("Email not sent, attempt {}: {}", claim.attempts(), result.error());
+            }
+          }
+        });
+
+    final LocalDateTime now = LocalDateTime.now();
+    for (Result result : results) {
+      if (result.email() != null) {
+        sentCounter.increment();
+        sendTimeTotal.add(result.sendTime());
+        if (result.claim().createdOn() != null) {
+          delayTotal.add(Duration.between(result.claim().createdOn(), now).toNanos());
+        }
+      }
+    }
+    return sent.size();
+  }
+
+  private static Duration retryDelay(int attempts) {
+    final long seconds = RETRY_DELAY_SECONDS << Math.min(attempts - 1, 20);
+    return Duration.ofSeconds(Math.min(seconds, MAX_RETRY_DELAY.toSeconds()));
+  }
+
+  /**
+   * Get the statistics of the outbox.
+   *
+   * <p>The numbers of pending and failed emails are counted in the outbox of the current tenant,
+   * the other statistics are the ones of the current node.
+   *
+   * @return the outbox statistics
+   */
+  public MailOutboxStats getStats() {
+    final long sent = sentCounter.sum();
+    return new MailOutboxStats(
+        count(false),
+        count(true),
+        sent,
+        retriedCounter.sum(),
+        failedCounter.sum(),
+        sent == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(delayTotal.sum() / sent),
+        sent == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(sendTimeTotal.sum() / sent));
+  }
+
+  private long count(boolean failed) {
+    return JPA.em()
+        .createQuery(
+            "SELECT COUNT(self) FROM MailOutboxEntry self WHERE self.failed = :failed", Long.class)
+        .setParameter("failed", failed)
+        .getSingleResult();
+  }
+
+  /**
+   * Deliver the emails left in the outboxes when the application starts.
+   *
+   * @param event the application startup event
+   */
+  public void onAppStartup(@Observes StartupEvent event) {
+    TenantResolver.forEachTenant(() -> wake(key(TenantResolver.currentTenantIdentifier())));
+  }
+
+  /**
+   * Stop the workers when the application stops.
+   *
+   * <p>The workers finish the batch being sent, waiting up to {@value #SHUTDOWN_TIMEOUT_SECONDS}
+   * seconds. Pending emails are left in the outbox.
+   *
+   * @param event the application shutdown event
+   */
+  public void onAppShutdown(@Observes ShutdownEvent event) {
+    isActive = false;
+    scheduler.shutdownNow();
+    workers.shutdown();
+    try {
+      if (!workers.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        workers.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      workers.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,25 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.mail.service;
+
+/**
+ * Statistics of the {@link MailOutbox}.
+ *
+ * @param pending the number of emails waiting to be delivered
+ * @param failed the number of emails abandoned after too many attempts
+ * @param sent the number of emails sent by the current node
+ * @param retried the number of failed attempts to be retried
+ * @param abandoned the number of emails abandoned by the current node
+ * @param averageDelay the average time from adding to sending the emails, in milliseconds
+ * @param averageSendTime the average time to send an email to the mail server, in milliseconds
+ */
+public record MailOutboxStats(
+    long pending,
+    long failed,
+    long sent,
+    long retried,
+    long abandoned,
+    long averageDelay,
+    long averageSendTime) {}
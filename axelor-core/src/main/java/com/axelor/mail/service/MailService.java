@@ -10,7 +10,11 @@ import com.axelor.mail.MailException;
 import com.axelor.mail.db.MailMessage;
 import com.google.inject.ImplementedBy;
 import jakarta.mail.internet.InternetAddress;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 /** The mail service defines interface for sending/reading mails. */
 @ImplementedBy(MailServiceImpl.class)
@@ -44,6 +48,26 @@ public interface MailService {
    */
   Model resolve(String email);
 
+  /**
+   * Resolve the given email addresses to their associated entities.
+   *
+   * <p>The default implementation calls {@link #resolve(String)} for each address, implementations
+   * resolving the addresses differently should override both methods.
+   *
+   * @param emails the email addresses to resolve
+   * @return associated entities by email address, without the addresses that can't be resolved
+   */
+  default Map<String, Model> resolve(Collection<String> emails) {
+    final Map<String, Model> resolved = new HashMap<>();
+    for (String email : new HashSet<>(emails)) {
+      final Model entity = resolve(email);
+      if (entity != null) {
+        resolved.put(email, entity);
+      }
+    }
+    return resolved;
+  }
+
   /**
    * Search for email addresses matching the given text.
    *
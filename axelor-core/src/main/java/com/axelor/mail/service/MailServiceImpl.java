@@ -29,6 +29,7 @@ import com.axelor.mail.MailReader;
 import com.axelor.mail.MailSender;
 import com.axelor.mail.SmtpAccount;
 import com.axelor.mail.db.MailAddress;
+import com.axelor.mail.db.MailFetchState;
 import com.axelor.mail.db.MailFollower;
 import com.axelor.mail.db.MailMessage;
 import com.axelor.mail.db.repo.MailAddressRepository;
@@ -49,6 +50,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Joiner;
 import com.google.common.base.Predicates;
 import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.inject.persist.Transactional;
 import jakarta.activation.DataSource;
@@ -59,15 +61,19 @@ import jakarta.mail.Folder;
 import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
 import jakarta.mail.Store;
+import jakarta.mail.UIDFolder;
 import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
 import jakarta.mail.search.AndTerm;
 import jakarta.mail.search.FlagTerm;
 import jakarta.mail.search.SearchTerm;
+import jakarta.persistence.EntityTransaction;
 import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -77,6 +83,7 @@ import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import org.slf4j.Logger;
@@ -95,11 +102,18 @@ public class MailServiceImpl implements MailService, MailConstants {
   private boolean senderConfigured;
   private boolean readerConfigured;
 
-  private ExecutorService executor = Executors.newCachedThreadPool();
+  private final ExecutorService executor =
+      Executors.newFixedThreadPool(
+          Math.max(1, AppSettings.get().getInt(AvailableAppSettings.MAIL_OUTBOX_WORKERS, 2)),
+          Thread.ofPlatform().daemon().name("mail-sender-", 0).factory());
 
   private Logger log = LoggerFactory.getLogger(MailService.class);
 
-  private static final Object FETCH_LOCK = new Object();
+  // the locks of the accounts being fetched, by store url
+  private static final Map<String, Object> FETCH_LOCKS = new ConcurrentHashMap<>();
+
+  private static final int FETCH_BATCH_SIZE =
+      Math.max(1, AppSettings.get().getInt(AvailableAppSettings.MAIL_IMAP_BATCH_SIZE, 100));
 
   public MailServiceImpl() {}
 
@@ -114,6 +128,17 @@ public class MailServiceImpl implements MailService, MailConstants {
    * @return a {@link MailSender}, null if not configured
    */
   protected MailSender getMailSender(final MailMessage message, Model entity) {
+    return getDefaultMailSender();
+  }
+
+  /**
+   * Get the default {@link MailSender}, configured from application configuration settings.
+   *
+   * <p>Emails sent with the default sender are delivered through the {@link MailOutbox}.
+   *
+   * @return the default {@link MailSender}, null if not configured
+   */
+  protected MailSender getDefaultMailSender() {
     if (senderConfigured) {
       return sender;
     }
@@ -473,6 +498,16 @@ public class MailServiceImpl implements MailService, MailConstants {
       throw new MailException(e);
     }
 
+    // emails of the default sender are stored and sent once the transaction is committed
+    if (sender == getDefaultMailSender()) {
+      try {
+        Beans.get(MailOutbox.class).add(email);
+      } catch (MessagingException | IOException e) {
+        throw new MailException(e);
+      }
+      return;
+    }
+
     // send email using a separate process to void thread blocking
     executor.submit(
         ContextAware.of()
@@ -494,7 +529,8 @@ public class MailServiceImpl implements MailService, MailConstants {
    * This method is called when email is sent successfully.
    *
    * <p>This method is called by {@link #send(MailSender, MimeMessage)} which is running under a
-   * transaction with super user access.
+   * transaction with super user access, or by the {@link MailOutbox} under the transaction removing
+   * the email from the outbox.
    *
    * @param email the email message sent
    */
@@ -606,73 +642,176 @@ public class MailServiceImpl implements MailService, MailConstants {
   /**
    * Fetch email messages from the given mail store.
    *
+   * <p>The messages are processed by batches, each one with its own transaction, or with the
+   * transaction of the caller if one is active. If the folder supports UIDs, the UID of the last
+   * message processed is saved with each batch, and only the newer messages are fetched the next
+   * time. Accounts are fetched concurrently, but the same account is fetched by one thread at a
+   * time.
+   *
    * @param reader the mail reader to fetch message from
    * @throws MessagingException if unable to parse message
    * @throws IOException if unable to load message content
    */
-  @Transactional(rollbackOn = Exception.class)
   protected void fetch(final MailReader reader) throws MessagingException, IOException {
 
     final Store store = reader.getStore();
-    final Folder inbox = store.getFolder("INBOX");
-    final MailMessageRepository repo = Beans.get(MailMessageRepository.class);
 
-    log.debug("Fetching new emails from: {}", store.getURLName());
+    // the same account is never fetched concurrently, even with different readers
+    synchronized (FETCH_LOCKS.computeIfAbsent(store.getURLName().toString(), k -> new Object())) {
+      final Folder inbox = store.getFolder("INBOX");
+
+      log.debug("Fetching new emails from: {}", store.getURLName());
 
-    // open as READ_WRITE to mark messages as seen
-    inbox.open(Folder.READ_WRITE);
+      // open as READ_WRITE to mark messages as seen
+      inbox.open(Folder.READ_WRITE);
+
+      try {
+        final int count =
+            inbox instanceof UIDFolder folder ? fetchNew(inbox, folder) : fetchUnseen(inbox);
+        log.debug("Fetched {} emails from: {}", count, store.getURLName());
+      } finally {
+        inbox.close(false);
+      }
+    }
+  }
+
+  private int fetchNew(final Folder inbox, final UIDFolder folder)
+      throws MessagingException, IOException {
+
+    // the folder url doesn't include the password
+    final String key = inbox.getURLName().toString();
+    final long uidValidity = folder.getUIDValidity();
+
+    final MailFetchState state = findFetchState(key);
+    final long lastUid =
+        state != null && Objects.equals(state.getUidValidity(), uidValidity)
+            ? Objects.requireNonNullElse(state.getLastUid(), 0L)
+            : 0L;
+
+    if (state != null && lastUid == 0) {
+      log.info("Folder {} changed, checking all messages", key);
+    }
+
+    // the last message is always returned, even if older
+    final List<Message> messages = new ArrayList<>();
+    for (Message message : folder.getMessagesByUID(lastUid + 1, UIDFolder.LASTUID)) {
+      if (message != null && folder.getUID(message) > lastUid) {
+        messages.add(message);
+      }
+    }
+
+    int count = 0;
+    for (List<Message> batch : Lists.partition(messages, FETCH_BATCH_SIZE)) {
+      final long uid = folder.getUID(batch.getLast());
+      count += fetch(inbox, batch, () -> saveFetchState(key, uidValidity, uid));
+    }
+    return count;
+  }
 
+  private int fetchUnseen(final Folder inbox) throws MessagingException, IOException {
     // find all unseen messages
     final FlagTerm unseen = new FlagTerm(new Flags(Flags.Flag.SEEN), false);
     final FlagTerm flagged = new FlagTerm(new Flags("fetched"), false);
     final SearchTerm term = new AndTerm(unseen, flagged);
-
-    final FetchProfile profile = new FetchProfile();
     final Message[] messages = inbox.search(term);
 
+    int count = 0;
+    for (List<Message> batch : Lists.partition(Arrays.asList(messages), FETCH_BATCH_SIZE)) {
+      count += fetch(inbox, batch, () -> {});
+    }
+    return count;
+  }
+
+  private int fetch(final Folder inbox, final List<Message> messages, final Runnable checkpoint)
+      throws MessagingException, IOException {
+
+    final FetchProfile profile = new FetchProfile();
     profile.add(FetchProfile.Item.ENVELOPE);
+    profile.add(FetchProfile.Item.FLAGS);
 
     // actually fetch the messages
-    inbox.fetch(messages, profile);
+    inbox.fetch(messages.toArray(Message[]::new), profile);
+
+    final MailMessageRepository repo = Beans.get(MailMessageRepository.class);
+    final EntityTransaction txn = JPA.em().getTransaction();
+
+    // join the transaction of the caller if any, committed by the caller
+    final boolean txnStarted = !txn.isActive();
 
     int count = 0;
-    for (Message message : messages) {
-      if (message instanceof MimeMessage mimeMessage) {
-        final MailMessage entity = messageReceived(mimeMessage);
-        if (entity != null) {
-          repo.save(entity);
-          count += 1;
-        } else {
-          message.setFlag(Flags.Flag.SEEN, false);
-          message.setFlags(new Flags("fetched"), true);
+    if (txnStarted) {
+      txn.begin();
+    }
+    try {
+      for (Message message : messages) {
+        if (message instanceof MimeMessage mimeMessage && !isFetched(message)) {
+          final MailMessage entity = messageReceived(mimeMessage);
+          if (entity != null) {
+            repo.save(entity);
+            count += 1;
+          } else {
+            message.setFlag(Flags.Flag.SEEN, false);
+            message.setFlags(new Flags("fetched"), true);
+          }
+        }
+      }
+      checkpoint.run();
+      if (txnStarted) {
+        txn.commit();
+      }
+    } finally {
+      if (txnStarted) {
+        if (txn.isActive()) {
+          txn.rollback();
         }
+        // release the messages of the batch
+        JPA.clear();
       }
     }
+    return count;
+  }
+
+  private boolean isFetched(Message message) throws MessagingException {
+    final Flags flags = message.getFlags();
+    return flags.contains(Flags.Flag.SEEN) || flags.contains("fetched");
+  }
+
+  private MailFetchState findFetchState(String folder) {
+    return JPA.all(MailFetchState.class)
+        .filter("self.folder = :folder")
+        .bind("folder", folder)
+        .fetchOne();
+  }
 
-    log.debug("Fetched {} emails from: {}", count, store.getURLName());
-    inbox.close(false);
+  private void saveFetchState(String folder, long uidValidity, long lastUid) {
+    MailFetchState state = findFetchState(folder);
+    if (state == null) {
+      state = new MailFetchState();
+      state.setFolder(folder);
+    }
+    state.setUidValidity(uidValidity);
+    state.setLastUid(lastUid);
+    JPA.save(state);
   }
 
   @Override
   public void fetch() throws MailException {
-    synchronized (FETCH_LOCK) {
-      final MailReader reader = getMailReader();
-      if (reader == null) {
-        return;
-      }
-      ContextAware.of()
-          .withTransaction(false)
-          .withUser(AuthUtils.getUser("admin"))
-          .build(
-              () -> {
-                try {
-                  fetch(reader);
-                } catch (Exception e) {
-                  log.error("Unable to fetch messages", e);
-                }
-              })
-          .run();
+    final MailReader reader = getMailReader();
+    if (reader == null) {
+      return;
     }
+    ContextAware.of()
+        .withTransaction(false)
+        .withUser(AuthUtils.getUser("admin"))
+        .build(
+            () -> {
+              try {
+                fetch(reader);
+              } catch (Exception e) {
+                log.error("Unable to fetch messages", e);
+              }
+            })
+        .run();
   }
 
   @Override
@@ -681,6 +820,20 @@ public class MailServiceImpl implements MailService, MailConstants {
     return users.all().filter("self.email is not null and self.email = ?", email).fetchOne();
   }
 
+  @Override
+  public Map<String, Model> resolve(Collection<String> emails) {
+    final Map<String, Model> resolved = new HashMap<>();
+    if (emails.isEmpty()) {
+      return resolved;
+    }
+    final UserRepository users = Beans.get(UserRepository.class);
+    for (User user :
+        users.all().filter("self.email in (:emails)").bind("emails", Set.copyOf(emails)).fetch()) {
+      resolved.putIfAbsent(user.getEmail(), user);
+    }
+    return resolved;
+  }
+
   @Override
   public List<InternetAddress> findEmails(String matching, List<String> selected, int maxResult) {
 
@@ -27,6 +27,7 @@ import jakarta.persistence.TypedQuery;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -164,12 +165,7 @@ public class MailController extends JpaSupport {
 
     final Long count = messages.countBy(type, related);
 
-    final List<Object> data = new ArrayList<>();
-    for (MailMessage message : all) {
-      data.add(messages.details(message));
-    }
-
-    response.setData(data);
+    response.setData(messages.details(all));
     response.setOffset(request.getOffset());
     response.setTotal(count);
     response.setStatus(Response.STATUS_SUCCESS);
@@ -196,12 +192,10 @@ public class MailController extends JpaSupport {
     }
 
     final List<MailMessage> found = findChildren(parent);
-    final List<Object> all = new ArrayList<>();
+    final List<Map<String, Object>> all = messages.details(found);
 
-    for (MailMessage message : found) {
-      Map<String, Object> details = messages.details(message);
+    for (Map<String, Object> details : all) {
       details.put("$thread", true);
-      all.add(details);
     }
 
     response.setData(all);
@@ -324,16 +318,54 @@ public class MailController extends JpaSupport {
     final List<MailMessage> found = query.getResultList();
     final List<Object> all = new ArrayList<>();
 
-    for (MailMessage message : found) {
-      final Map<String, Object> details = messages.details(message);
-      final List<MailMessage> replies =
-          messages.all().filter("self.root.id = ?", message.getId()).order("-createdOn").fetch();
+    if (found.isEmpty()) {
+      return all;
+    }
+
+    // the replies of all the messages, and their flags, with a query each
+    final Map<Long, List<MailMessage>> repliesByRoot = new HashMap<>();
+    for (MailMessage reply :
+        messages
+            .all()
+            .filter("self.root.id IN (:ids)")
+            .bind("ids", found.stream().map(MailMessage::getId).toList())
+            .order("-createdOn")
+            .fetch()) {
+      repliesByRoot.computeIfAbsent(reply.getRoot().getId(), id -> new ArrayList<>()).add(reply);
+    }
+
+    final List<MailMessage> allReplies =
+        repliesByRoot.values().stream().flatMap(List::stream).toList();
+    final Map<Long, MailFlags> replyFlags = flagsRepo.findBy(allReplies, user);
+
+    final List<MailMessage> unreadReplies = new ArrayList<>();
+    for (MailMessage reply : allReplies) {
+      final MailFlags flags = replyFlags.get(reply.getId());
+      if (flags == null || flags.getIsRead() == Boolean.FALSE) {
+        unreadReplies.add(reply);
+      }
+    }
+
+    // the details of the messages and their unread replies, at once
+    final List<MailMessage> detailed = new ArrayList<>(found);
+    detailed.addAll(unreadReplies);
+
+    final List<Map<String, Object>> allDetails = messages.details(detailed);
+    final Map<MailMessage, Map<String, Object>> unreadDetails = new IdentityHashMap<>();
+    for (int i = 0; i < unreadReplies.size(); i++) {
+      unreadDetails.put(unreadReplies.get(i), allDetails.get(found.size() + i));
+    }
+
+    for (int i = 0; i < found.size(); i++) {
+      final MailMessage message = found.get(i);
+      final Map<String, Object> details = allDetails.get(i);
+      final List<MailMessage> replies = repliesByRoot.getOrDefault(message.getId(), List.of());
       final List<Object> unread = new ArrayList<>();
 
       for (MailMessage reply : replies) {
-        final MailFlags flags = flagsRepo.findBy(reply, AuthUtils.getUser());
-        if (flags == null || flags.getIsRead() == Boolean.FALSE) {
-          unread.add(messages.details(reply));
+        final Map<String, Object> replyDetails = unreadDetails.get(reply);
+        if (replyDetails != null) {
+          unread.add(replyDetails);
         }
       }
 
@@ -4,6 +4,8 @@
  */
 package com.axelor.meta;
 
+import com.axelor.cache.AxelorCache;
+import com.axelor.cache.CacheBuilder;
 import com.axelor.common.ObjectUtils;
 import com.axelor.common.StringUtils;
 import com.axelor.db.JPA;
@@ -26,6 +28,7 @@ import com.axelor.rpc.Context;
 import com.axelor.rpc.ContextEntity;
 import com.axelor.rpc.Resource;
 import com.axelor.script.CompositeScriptHelper;
+import com.axelor.script.GroovyScriptSupport;
 import com.axelor.script.ScriptHelper;
 import com.axelor.text.Templates;
 import com.google.common.base.Preconditions;
@@ -74,9 +77,20 @@ public class ActionHandler {
 
   private final ScriptHelper scriptHelper;
 
-  private final Pattern pattern =
+  private static final Pattern EXPRESSION_PATTERN =
       Pattern.compile("^\\s*(select\\[\\]|select|action|call|eval):\\s*(.*)");
 
+  private static final Pattern METHOD_CALL_PATTERN = Pattern.compile("(\\w+)\\((.*?)\\)");
+
+  private static final String KIND_SCRIPT = "script";
+
+  // expressions come from the cached actions, so they are parsed only once
+  private static final AxelorCache<String, ParsedExpression> EXPRESSIONS =
+      CacheBuilder.newInMemoryBuilder()
+          .nonTenantAware()
+          .maximumSize(10_000)
+          .build(ActionHandler::parse);
+
   private static final Set<Class<? extends Model>> ALWAYS_PERMITTED_MODELS =
       Set.of(MetaAction.class, MetaFilter.class);
 
@@ -183,44 +197,62 @@ public class ActionHandler {
       return null;
     }
 
-    String expr = expression.trim();
-    if (expr.startsWith("#{") && expr.endsWith("}")) {
-      return handleScript(expr);
-    }
-
-    String kind = null;
-    Matcher matcher = pattern.matcher(expression);
+    final ParsedExpression parsed = EXPRESSIONS.get(expression);
+    final String expr = parsed.body();
 
-    if (matcher.matches()) {
-      kind = matcher.group(1);
-      expr = matcher.group(2);
-    } else {
+    if (parsed.kind() == null) {
       return expr;
     }
 
-    if ("eval".equals(kind)) {
-      return handleScript(expr);
-    }
+    return switch (parsed.kind()) {
+      case KIND_SCRIPT, "eval", "select", "select[]" -> handleScript(expr);
+      case "action" -> handleAction(expr);
+      case "call" -> handleCall(expr);
+      default -> expr;
+    };
+  }
 
-    if ("action".equals(kind)) {
-      return handleAction(expr);
+  private static ParsedExpression parse(String expression) {
+    final String expr = expression.trim();
+    if (expr.startsWith("#{") && expr.endsWith("}")) {
+      return new ParsedExpression(KIND_SCRIPT, expr);
     }
 
-    if ("call".equals(kind)) {
-      return handleCall(expr);
+    final Matcher matcher = EXPRESSION_PATTERN.matcher(expression);
+    if (!matcher.matches()) {
+      return new ParsedExpression(null, expr);
     }
 
-    if ("select".equals(kind)) {
-      return handleSelectOne(expr);
-    }
+    final String kind = matcher.group(1);
+    final String body = matcher.group(2);
 
-    if ("select[]".equals(kind)) {
-      return handleSelectAll(expr);
-    }
+    return switch (kind) {
+      case "eval" -> {
+        // resolve groovy scripts up front, errors are reported on evaluation
+        if (StringUtils.notBlank(body) && !isEL(body)) {
+          GroovyScriptSupport.compile(body);
+        }
+        yield new ParsedExpression(kind, body);
+      }
+      case "select" -> new ParsedExpression(kind, makeMethodCall("__me__.selectOne", body));
+      case "select[]" -> new ParsedExpression(kind, makeMethodCall("__me__.selectAll", body));
+      default -> new ParsedExpression(kind, body);
+    };
+  }
 
-    return expr;
+  private static boolean isEL(String expr) {
+    final String str = expr.trim();
+    return str.startsWith("#{") && str.endsWith("}");
   }
 
+  /**
+   * An expression parsed once by {@link #evaluate(String)}.
+   *
+   * @param kind the kind of expression, {@code null} for plain values
+   * @param body the expression to evaluate, or the plain value
+   */
+  private record ParsedExpression(String kind, String body) {}
+
   public Object call(String className, String method) {
     ActionResponse response = new ActionResponse();
     try {
@@ -237,8 +269,7 @@ public class ActionHandler {
 
   public Object rpc(String className, String methodCall) {
 
-    Pattern pattern = Pattern.compile("(\\w+)\\((.*?)\\)");
-    Matcher matcher = pattern.matcher(methodCall);
+    Matcher matcher = METHOD_CALL_PATTERN.matcher(methodCall);
 
     if (!matcher.matches()) {
       return null;
@@ -353,7 +384,7 @@ public class ActionHandler {
 
   private static final Escaper STRING_ESCAPER = Escapers.builder().addEscape('"', "\\\"").build();
 
-  private String makeMethodCall(String method, String expression) {
+  private static String makeMethodCall(String method, String expression) {
     expression = expression.trim();
     // check if expression is parameterized
     if (!expression.startsWith("(")) {
@@ -365,16 +396,6 @@ public class ActionHandler {
     return "#{" + method + expression + "}";
   }
 
-  private Object handleSelectOne(String expression) {
-    expression = makeMethodCall("__me__.selectOne", expression);
-    return handleScript(expression);
-  }
-
-  private Object handleSelectAll(String expression) {
-    expression = makeMethodCall("__me__.selectAll", expression);
-    return handleScript(expression);
-  }
-
   private Object handleScript(String expression) {
     return scriptHelper.eval(expression);
   }
@@ -13,6 +13,7 @@ import com.axelor.common.FileUtils;
 import com.axelor.common.MimeTypesUtils;
 import com.axelor.common.StringUtils;
 import com.axelor.db.EntityHelper;
+import com.axelor.db.JPA;
 import com.axelor.db.Model;
 import com.axelor.dms.db.DMSFile;
 import com.axelor.dms.db.repo.DMSFileRepository;
@@ -26,18 +27,29 @@ import com.axelor.meta.db.MetaAttachment;
 import com.axelor.meta.db.MetaFile;
 import com.axelor.meta.db.repo.MetaAttachmentRepository;
 import com.axelor.meta.db.repo.MetaFileRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.hash.Hashing;
 import com.google.inject.persist.Transactional;
 import jakarta.activation.MimeType;
 import jakarta.activation.MimeTypeParseException;
 import jakarta.inject.Inject;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.PersistenceException;
 import jakarta.ws.rs.core.MediaType;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -66,11 +78,35 @@ public class MetaFiles {
   private static final List<MimeType> BLACKLIST_TYPES =
       getMimeTypes(AvailableAppSettings.FILE_UPLOAD_BLACKLIST_TYPES);
 
+  // directory of the content addressed files, by digest
+  private static final String CONTENT_DIR = ".content";
+
+  // digests of the chunked uploads in progress, by temporary file
+  private static final Cache<Path, UploadDigest> UPLOAD_DIGESTS =
+      Caffeine.newBuilder().expireAfterAccess(Duration.ofHours(1)).build();
+
+  private record UploadDigest(MessageDigest digest, long length) {}
+
   private MetaFileRepository filesRepo;
 
+  private final boolean contentAddressed;
+
   @Inject
   public MetaFiles(MetaFileRepository filesRepo) {
+    this(
+        filesRepo,
+        AppSettings.get().getBoolean(AvailableAppSettings.FILE_UPLOAD_CONTENT_ADDRESSED, false));
+  }
+
+  /**
+   * Create an instance with the given storage mode.
+   *
+   * @param filesRepo the {@link MetaFile} repository
+   * @param contentAddressed whether files are stored once per content digest
+   */
+  MetaFiles(MetaFileRepository filesRepo, boolean contentAddressed) {
     this.filesRepo = filesRepo;
+    this.contentAddressed = contentAddressed;
   }
 
   private static List<MimeType> getMimeTypes(String key) {
@@ -110,6 +146,28 @@ public class MetaFiles {
     return store.getPath(filePath);
   }
 
+  /**
+   * Get a strong entity tag of the content of the file represented by the given {@link MetaFile}.
+   *
+   * <p>The tag is the SHA-256 digest of the content. For files uploaded without digest, it's
+   * derived from the file path, size and version of the {@link MetaFile}, which change whenever
+   * the file content is replaced.
+   *
+   * @param file the given {@link MetaFile} instance
+   * @return the entity tag value, without quotes
+   */
+  public static String getETag(MetaFile file) {
+    Objects.requireNonNull(file, "file instance can't be null");
+    if (notBlank(file.getChecksum())) {
+      return file.getChecksum();
+    }
+    return Hashing.sha256()
+        .hashString(
+            "%s:%s:%s".formatted(file.getFilePath(), file.getFileSize(), file.getVersion()),
+            StandardCharsets.UTF_8)
+        .toString();
+  }
+
   /**
    * Check whether the given filePath is valid.
    *
@@ -256,6 +314,9 @@ public class MetaFiles {
    * MetaFile)} or should be deleted using {@link TempFiles#clean(String)} method if something went
    * wrong.
    *
+   * <p>The SHA-256 digest of the file is computed while the chunks are written, so it's not read
+   * again when uploaded.
+   *
    * @param chunk the input stream
    * @param startOffset the start offset byte position
    * @param fileSize the actual file size
@@ -280,11 +341,98 @@ public class MetaFiles {
       // ignore
     }
 
-    FileUtils.write(tmp, chunk, startOffset > 0);
+    final MessageDigest digest = getUploadDigest(tmp, startOffset);
+    try {
+      FileUtils.write(tmp, new DigestInputStream(chunk, digest), startOffset > 0);
+    } catch (IOException | RuntimeException e) {
+      // the digest may not match the written bytes, hash the file again on the next chunk
+      UPLOAD_DIGESTS.invalidate(getDigestKey(tmp));
+      throw e;
+    }
+    UPLOAD_DIGESTS.put(getDigestKey(tmp), new UploadDigest(digest, Files.size(tmp)));
 
     return tmp.toFile();
   }
 
+  private static Path getDigestKey(Path file) {
+    return file.toAbsolutePath().normalize();
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static MessageDigest getUploadDigest(Path tmp, long startOffset) throws IOException {
+    final MessageDigest digest = newDigest();
+    if (startOffset == 0) {
+      return digest;
+    }
+    final UploadDigest upload = UPLOAD_DIGESTS.getIfPresent(getDigestKey(tmp));
+    if (upload != null && upload.length() == startOffset) {
+      // updated on a copy, the cached digest is only replaced once the chunk is written
+      try {
+        return (MessageDigest) upload.digest().clone();
+      } catch (CloneNotSupportedException e) {
+        // hash the uploaded chunks
+      }
+    }
+    // uploaded on another node or before a restart, hash the uploaded chunks
+    try (InputStream in = new DigestInputStream(Files.newInputStream(tmp), digest)) {
+      in.transferTo(OutputStream.nullOutputStream());
+    }
+    return digest;
+  }
+
+  /**
+   * Get the SHA-256 digest of the given file, computed during the upload of its chunks if any.
+   *
+   * @param file the file
+   * @return the hex encoded digest
+   * @throws IOException if unable to read the file
+   */
+  private static String getChecksum(File file) throws IOException {
+    final UploadDigest upload = UPLOAD_DIGESTS.asMap().remove(getDigestKey(file.toPath()));
+    if (upload != null && upload.length() == file.length()) {
+      return HexFormat.of().formatHex(upload.digest().digest());
+    }
+    return com.google.common.io.Files.asByteSource(file).hash(Hashing.sha256()).toString();
+  }
+
+  private static String getContentPath(String checksum) {
+    return String.join("/", CONTENT_DIR, checksum.substring(0, 2), checksum);
+  }
+
+  private static boolean isContentPath(String filePath) {
+    return filePath != null && filePath.startsWith(CONTENT_DIR + "/");
+  }
+
+  /**
+   * Lock the files referencing the given file path, so the referenced content isn't deleted or
+   * shared concurrently.
+   */
+  private static List<MetaFile> lockReferences(String filePath) {
+    return JPA.em()
+        .createQuery(
+            "SELECT self FROM MetaFile self WHERE self.filePath = :filePath", MetaFile.class)
+        .setParameter("filePath", filePath)
+        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+        .getResultList();
+  }
+
+  /** Delete the given stored file if it's no longer referenced. */
+  private static void release(String filePath, Store store) {
+    if (isBlank(filePath) || !lockReferences(filePath).isEmpty()) {
+      return;
+    }
+    if (store.hasFile(filePath)) {
+      store.deleteFile(filePath);
+    }
+  }
+
   /**
    * Upload the given file to the file upload directory and create an instance of {@link MetaFile}
    * for the given file.
@@ -304,7 +452,10 @@ public class MetaFiles {
    * MetaFile}.
    *
    * <p>Any existing file linked to the given {@link MetaFile} will be removed from the upload
-   * directory.
+   * directory, unless it's still referenced by other {@link MetaFile} instances.
+   *
+   * <p>In content addressed mode ({@code data.upload.content-addressed}), files are stored once per
+   * SHA-256 digest of their content: the content is not uploaded again if it's already stored.
    *
    * @param file the file to upload
    * @param metaFile the target {@link MetaFile} instance
@@ -317,9 +468,16 @@ public class MetaFiles {
     Objects.requireNonNull(metaFile);
     Objects.requireNonNull(file);
 
+    final String checksum = getChecksum(file);
+    if (contentAddressed) {
+      return uploadContent(file, metaFile, checksum);
+    }
+
     final Store store = FileStoreFactory.getStore();
     final String originalFilePath = metaFile.getFilePath();
-    final boolean isExist = notBlank(originalFilePath) && store.hasFile(originalFilePath);
+    final boolean isShared = isContentPath(originalFilePath);
+    final boolean isExist =
+        !isShared && notBlank(originalFilePath) && store.hasFile(originalFilePath);
 
     // Create a tmp copy of the file in case of recovery
     File tmpCopy = null;
@@ -346,9 +504,11 @@ public class MetaFiles {
       metaFile.setFileSize(uploadedFile.getSize());
       metaFile.setFilePath(uploadedFile.getPath());
       metaFile.setStoreType(uploadedFile.getStoreType().getValue());
+      metaFile.setChecksum(checksum);
 
+      final MetaFile saved;
       try {
-        return filesRepo.save(metaFile);
+        saved = filesRepo.save(metaFile);
       } catch (Exception e) {
         log.error("Error saving MetaFile, attempting recovery. fileName={}, filePath={}", metaFile.getFileName(), filePath, e);
         // delete the uploaded file
@@ -358,9 +518,17 @@ public class MetaFiles {
           // ignore, file may not completely uploaded
         }
         // restore original file
-        store.addFile(tmpCopy, originalFilePath);
+        if (tmpCopy != null) {
+          store.addFile(tmpCopy, originalFilePath);
+        }
         throw new PersistenceException(e);
       }
+
+      if (isShared) {
+        release(originalFilePath, store);
+      }
+
+      return saved;
     } finally {
       if (tmpCopy != null) {
         Files.deleteIfExists(tmpCopy.toPath());
@@ -368,6 +536,49 @@ public class MetaFiles {
     }
   }
 
+  private MetaFile uploadContent(File file, MetaFile metaFile, String checksum)
+      throws IOException {
+    final Store store = FileStoreFactory.getStore();
+    final String originalFilePath = metaFile.getFilePath();
+    final String fileName =
+        isBlank(metaFile.getFileName()) ? file.getName() : metaFile.getFileName();
+    final String filePath = getContentPath(checksum);
+
+    metaFile.setFileType(MimeTypesUtils.getContentType(file, fileName));
+    metaFile.setFileSize(file.length());
+
+    // the content is only uploaded if not already stored, the lock prevents concurrent deletion
+    final boolean isStored = !lockReferences(filePath).isEmpty() && store.hasFile(filePath);
+    if (isStored) {
+      // uploaded temporary files are moved to the store otherwise
+      if (TempFiles.getTempPath().equals(file.toPath().getParent())) {
+        Files.deleteIfExists(file.toPath());
+      }
+    } else {
+      store.addFile(file, filePath);
+    }
+
+    metaFile.setFileName(fileName);
+    metaFile.setFilePath(filePath);
+    metaFile.setStoreType(store.getStoreType().getValue());
+    metaFile.setChecksum(checksum);
+
+    final MetaFile saved;
+    try {
+      saved = filesRepo.save(metaFile);
+    } catch (Exception e) {
+      // the content is kept, it may be shared by a concurrent upload of the same content
+      log.error("Error saving MetaFile. fileName={}, filePath={}", fileName, filePath, e);
+      throw new PersistenceException(e);
+    }
+
+    if (!filePath.equals(originalFilePath)) {
+      release(originalFilePath, store);
+    }
+
+    return saved;
+  }
+
   /**
    * Upload the given stream to the upload directory and link it to the given {@link MetaFile}.
    *
@@ -529,6 +740,9 @@ public class MetaFiles {
   /**
    * Delete the given {@link MetaFile} instance along with the file content if it exists.
    *
+   * <p>The file content is kept as long as it's referenced by other {@link MetaFile} instances,
+   * like the files sharing the same content in content addressed mode.
+   *
    * @param metaFile the file to delete
    * @throws IOException if unable to delete file
    */
@@ -540,9 +754,7 @@ public class MetaFiles {
 
     Store store = FileStoreFactory.getStore();
     try {
-      if (store.hasFile(metaFile.getFilePath())) {
-        store.deleteFile(metaFile.getFilePath());
-      }
+      release(metaFile.getFilePath(), store);
     } catch (Exception e) {
       throw new IOException(e);
     }
@@ -11,6 +11,7 @@ import com.axelor.auth.db.Role;
 import com.axelor.auth.db.User;
 import com.axelor.cache.AxelorCache;
 import com.axelor.cache.CacheBuilder;
+import com.axelor.cache.CacheGeneration;
 import com.axelor.common.Inflector;
 import com.axelor.common.ObjectUtils;
 import com.axelor.common.StringUtils;
@@ -40,6 +41,7 @@ import com.axelor.script.ScriptHelper;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Splitter;
+import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -62,7 +64,32 @@ public final class MetaStore {
   private static final Logger log = LoggerFactory.getLogger(MetaStore.class);
 
   private static final AxelorCache<String, Action> ACTIONS =
-      CacheBuilder.newBuilder("actions").maximumSize(1000).weakValues().build(XMLViews::findAction);
+      CacheBuilder.newBuilder("actions")
+          .maximumSize(1000)
+          .weakValues()
+          .nearCache(1000)
+          .build(XMLViews::findAction);
+
+  private static final AxelorCache<String, Map<String, Selection.Option>> SELECTIONS =
+      CacheBuilder.newBuilder("selections")
+          .maximumSize(10_000)
+          .build();
+
+  // keyed by model name and json field name
+  private static final AxelorCache<String, List<JsonFieldInfo>> JSON_FIELDS =
+      CacheBuilder.newBuilder("jsonFields")
+          .maximumSize(10_000)
+          .build();
+
+  // keyed by custom model name
+  private static final AxelorCache<String, List<JsonFieldInfo>> JSON_MODEL_FIELDS =
+      CacheBuilder.newBuilder("jsonModelFields")
+          .maximumSize(10_000)
+          .build();
+
+  // keep loads racing with a committed change out of the caches
+  private static final CacheGeneration SELECTIONS_GENERATION = new CacheGeneration("selections");
+  private static final CacheGeneration JSON_FIELDS_GENERATION = new CacheGeneration("jsonFields");
 
   private MetaStore() {}
 
@@ -310,75 +337,146 @@ public final class MetaStore {
     } catch (Exception e) {
       return null;
     }
+    final List<JsonFieldInfo> fields =
+        JSON_FIELDS_GENERATION.get(
+            JSON_FIELDS, modelName + ":" + fieldName, MetaStore::loadJsonFields);
+    final Map<String, Object> result =
+        updateJsonFields(fields == null ? List.of() : fields, fieldName);
+    return checkPermissions(result, modelName, fieldName);
+  }
+
+  public static Map<String, Object> findJsonFields(String jsonModel) {
+    if (StringUtils.isBlank(jsonModel)) return null;
+    final List<JsonFieldInfo> fields =
+        JSON_FIELDS_GENERATION.get(JSON_MODEL_FIELDS, jsonModel, MetaStore::loadJsonModelFields);
+    if (fields == null) return null;
+    final Map<String, Object> result = updateJsonFields(fields, "attrs");
+    return checkPermissions(result, jsonModel, null);
+  }
+
+  private static List<JsonFieldInfo> loadJsonFields(String key) {
+    final int index = key.lastIndexOf(':');
     final List<MetaJsonField> fields =
         Query.of(MetaJsonField.class)
             .filter("self.model = :model AND self.modelField = :field")
-            .bind("model", modelName)
-            .bind("field", fieldName)
+            .bind("model", key.substring(0, index))
+            .bind("field", key.substring(index + 1))
             .order("sequence")
             .order("id")
             .fetch();
-
-    final Map<String, Object> result = updateJsonFields(fields, fieldName);
-    return checkPermissions(result, modelName, fieldName);
+    return toJsonFieldInfos(fields);
   }
 
-  public static Map<String, Object> findJsonFields(String jsonModel) {
+  private static List<JsonFieldInfo> loadJsonModelFields(String jsonModel) {
     final MetaJsonModelRepository forms = Beans.get(MetaJsonModelRepository.class);
     final MetaJsonModel found = forms.findByName(jsonModel);
     if (found == null) return null;
-    final Map<String, Object> result = updateJsonFields(found.getFields(), "attrs");
-    return checkPermissions(result, jsonModel, null);
+    return toJsonFieldInfos(found.getFields());
   }
 
+  /**
+   * Applies the user and locale dependent attributes on top of the cached json fields.
+   *
+   * <p>The cached attributes are never modified, each field gets its own copy.
+   */
   private static Map<String, Object> updateJsonFields(
-      List<MetaJsonField> records, String fieldName) {
-    final java.lang.reflect.Field[] declaredFields = MetaJsonField.class.getDeclaredFields();
-    final Mapper mapper = Mapper.of(MetaJsonField.class);
+      List<JsonFieldInfo> records, String fieldName) {
     final Map<String, Object> fields = new LinkedHashMap<>();
-    final List<MetaJsonField> jsonFields = new ArrayList<>(records);
     final User user = AuthUtils.getUser();
 
+    Set<Long> roles = null;
     ScriptHelper scriptHelper = null;
 
-    jsonFields.sort(
-        (a, b) -> {
-          int x = a.getSequence() == null ? 0 : a.getSequence();
-          int y = b.getSequence() == null ? 0 : b.getSequence();
-          return Integer.compare(x, y);
-        });
-
-    for (MetaJsonField record : jsonFields) {
-      final Map<String, Object> attrs = new HashMap<>();
-      final String name = record.getName();
+    for (JsonFieldInfo record : records) {
+      final Map<String, Object> attrs = new HashMap<>(record.attrs());
+      final String name = record.name();
       boolean hasAccess = true;
 
       // check permissions
-      if ((user != null && !AuthUtils.isAdmin(user))
-          && record.getRoles() != null
-          && !record.getRoles().isEmpty()) {
-        final Set<Role> roles = new HashSet<>();
-        if (user.getRoles() != null) {
-          roles.addAll(user.getRoles());
-        }
-        if (user.getGroup() != null && user.getGroup().getRoles() != null) {
-          roles.addAll(user.getGroup().getRoles());
+      if ((user != null && !AuthUtils.isAdmin(user)) && !record.roles().isEmpty()) {
+        if (roles == null) {
+          roles = new HashSet<>();
+          if (user.getRoles() != null) {
+            for (Role role : user.getRoles()) {
+              roles.add(role.getId());
+            }
+          }
+          if (user.getGroup() != null && user.getGroup().getRoles() != null) {
+            for (Role role : user.getGroup().getRoles()) {
+              roles.add(role.getId());
+            }
+          }
         }
-        if (Collections.disjoint(roles, record.getRoles())) {
+        if (Collections.disjoint(roles, record.roles())) {
           hasAccess = false;
         }
       }
 
       // check server condition
-      if (hasAccess && StringUtils.notBlank(record.getIncludeIf())) {
+      if (hasAccess && StringUtils.notBlank(record.includeIf())) {
         if (scriptHelper == null) {
           scriptHelper = new CompositeScriptHelper(null);
         }
-        if (!scriptHelper.test(record.getIncludeIf())) {
+        if (!scriptHelper.test(record.includeIf())) {
           hasAccess = false;
         }
       }
 
+      String title = record.title();
+
+      // localized title
+      attrs.put("title", I18n.get(title));
+
+      // auto title
+      if (StringUtils.isBlank(title)) {
+        String last = name.substring(name.lastIndexOf('.') + 1);
+        title = I18n.get(Inflector.getInstance().humanize(last));
+        attrs.put("autoTitle", title);
+      }
+
+      if (StringUtils.notBlank(record.selection())) {
+        attrs.put("selectionList", getSelectionList(record.selection()));
+      }
+
+      if (StringUtils.notBlank(record.enumType())) {
+        try {
+          attrs.put("selectionList", getSelectionList(Class.forName(record.enumType())));
+        } catch (ClassNotFoundException e) {
+          log.error("No such enum type found: {}", record.enumType());
+        }
+      }
+
+      attrs.put("jsonField", fieldName);
+
+      if (!hasAccess) {
+        attrs.put("hidden", true);
+        attrs.put("hideIf", "true");
+        attrs.remove("showIf");
+        attrs.put("forceHidden", true);
+      }
+
+      fields.put(name, attrs);
+    }
+    return fields;
+  }
+
+  /** Computes the static attributes of the given json fields, to be cached. */
+  private static List<JsonFieldInfo> toJsonFieldInfos(List<MetaJsonField> records) {
+    final java.lang.reflect.Field[] declaredFields = MetaJsonField.class.getDeclaredFields();
+    final Mapper mapper = Mapper.of(MetaJsonField.class);
+    final List<MetaJsonField> jsonFields = new ArrayList<>(records);
+    final List<JsonFieldInfo> result = new ArrayList<>(jsonFields.size());
+
+    jsonFields.sort(
+        (a, b) -> {
+          int x = a.getSequence() == null ? 0 : a.getSequence();
+          int y = b.getSequence() == null ? 0 : b.getSequence();
+          return Integer.compare(x, y);
+        });
+
+    for (MetaJsonField record : jsonFields) {
+      final Map<String, Object> attrs = new HashMap<>();
+
       for (java.lang.reflect.Field field : declaredFields) {
         final Property prop = mapper.getProperty(field.getName());
         if (prop == null || prop.isPrimary() || prop.isReference() || prop.isCollection()) {
@@ -395,18 +493,6 @@ public final class MetaStore {
         attrs.put(prop.getName(), value);
       }
 
-      String title = record.getTitle();
-
-      // localized title
-      attrs.put("title", I18n.get(title));
-
-      // auto title
-      if (StringUtils.isBlank(title)) {
-        String last = name.substring(name.lastIndexOf('.') + 1);
-        title = I18n.get(Inflector.getInstance().humanize(last));
-        attrs.put("autoTitle", title);
-      }
-
       String type = record.getType() == null ? "" : record.getType();
       Integer min = record.getMinSize();
       Integer max = record.getMaxSize();
@@ -460,34 +546,27 @@ public final class MetaStore {
         }
       }
 
-      if (StringUtils.notBlank(record.getSelection())) {
-        attrs.put("selectionList", getSelectionList(record.getSelection()));
-      }
-
-      if (StringUtils.notBlank(record.getEnumType())) {
-        try {
-          attrs.put("selectionList", getSelectionList(Class.forName(record.getEnumType())));
-        } catch (ClassNotFoundException e) {
-          log.error("No such enum type found: {}", record.getEnumType());
-        }
-      }
-
-      attrs.put("jsonField", fieldName);
       attrs.put("jsonPath", record.getName());
       if (type.matches("integer|decimal|boolean")) {
         attrs.put("jsonType", type);
       }
 
-      if (!hasAccess) {
-        attrs.put("hidden", true);
-        attrs.put("hideIf", "true");
-        attrs.remove("showIf");
-        attrs.put("forceHidden", true);
+      final Set<Long> roles = new HashSet<>();
+      if (record.getRoles() != null) {
+        record.getRoles().forEach(role -> roles.add(role.getId()));
       }
 
-      fields.put(record.getName(), attrs);
+      result.add(
+          new JsonFieldInfo(
+              record.getName(),
+              record.getTitle(),
+              record.getSelection(),
+              record.getEnumType(),
+              record.getIncludeIf(),
+              roles,
+              attrs));
     }
-    return fields;
+    return result;
   }
 
   public static List<Selection.Option> getSelectionList(Class<?> enumType) {
@@ -624,6 +703,12 @@ public final class MetaStore {
   }
 
   private static Map<String, Selection.Option> buildSelectionMap(String selection) {
+    final Map<String, Selection.Option> all =
+        SELECTIONS_GENERATION.get(SELECTIONS, selection, MetaStore::loadSelectionMap);
+    return all == null || all.isEmpty() ? null : all;
+  }
+
+  private static Map<String, Selection.Option> loadSelectionMap(String selection) {
     final List<MetaSelectItem> items =
         Query.of(MetaSelectItem.class)
             .filter("self.select.name = ?", selection)
@@ -631,10 +716,7 @@ public final class MetaStore {
             .order("order")
             .fetch();
 
-    if (items.isEmpty()) {
-      return null;
-    }
-
+    // unknown selections are cached as empty maps
     final Map<String, Selection.Option> all = new LinkedHashMap<>();
 
     for (MetaSelectItem item : items) {
@@ -668,9 +750,41 @@ public final class MetaStore {
 
   public static void clear() {
     ACTIONS.invalidateAll();
+    SELECTIONS_GENERATION.invalidate(SELECTIONS::invalidateAll);
+    invalidateJsonFields();
+    XMLViews.invalidateViews();
   }
 
   public static void invalidate(String name) {
     ACTIONS.invalidate(name);
   }
+
+  /**
+   * Invalidates the cached options of the given selection.
+   *
+   * @param name the selection name
+   */
+  public static void invalidateSelection(String name) {
+    SELECTIONS_GENERATION.invalidate(() -> SELECTIONS.invalidate(name));
+  }
+
+  /** Invalidates all the cached json fields. */
+  public static void invalidateJsonFields() {
+    JSON_FIELDS_GENERATION.invalidate(
+        () -> {
+          JSON_FIELDS.invalidateAll();
+          JSON_MODEL_FIELDS.invalidateAll();
+        });
+  }
+
+  /** The cached, user independent, attributes of a json field. */
+  private record JsonFieldInfo(
+      String name,
+      String title,
+      String selection,
+      String enumType,
+      String includeIf,
+      Set<Long> roles,
+      Map<String, Object> attrs)
+      implements Serializable {}
 }
@@ -0,0 +1,50 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.meta;
+
+import com.axelor.db.JPA;
+import com.axelor.db.Model;
+import com.axelor.meta.db.MetaSelect;
+import com.axelor.meta.db.MetaSelectItem;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.engine.spi.SessionImplementor;
+
+/**
+ * Entity listener to invalidate the selections and json fields cached by {@link MetaStore} when
+ * they are changed.
+ */
+public class MetaStoreListener {
+
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  private void onChange(Model entity) {
+    final Runnable invalidate;
+    if (entity instanceof MetaSelect select) {
+      final String name = select.getName();
+      invalidate = () -> MetaStore.invalidateSelection(name);
+    } else if (entity instanceof MetaSelectItem item) {
+      final String name = item.getSelect() == null ? null : item.getSelect().getName();
+      if (name == null) {
+        return;
+      }
+      invalidate = () -> MetaStore.invalidateSelection(name);
+    } else {
+      invalidate = MetaStore::invalidateJsonFields;
+    }
+
+    SessionImplementor session = JPA.em().unwrap(SessionImplementor.class);
+    session
+        .getActionQueue()
+        .registerProcess(
+            (success, sessionImplementor) -> {
+              if (success) {
+                invalidate.run();
+              }
+            });
+  }
+}
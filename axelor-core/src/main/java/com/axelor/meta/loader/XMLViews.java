@@ -8,6 +8,9 @@ import com.axelor.app.AppSettings;
 import com.axelor.app.AvailableAppSettings;
 import com.axelor.auth.AuthUtils;
 import com.axelor.auth.db.User;
+import com.axelor.cache.AxelorCache;
+import com.axelor.cache.CacheBuilder;
+import com.axelor.cache.CacheGeneration;
 import com.axelor.common.StringUtils;
 import com.axelor.common.XMLUtils;
 import com.axelor.inject.Beans;
@@ -36,6 +39,7 @@ import jakarta.xml.bind.Unmarshaller;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.io.Serializable;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
@@ -47,6 +51,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.function.Supplier;
 import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
@@ -77,8 +83,21 @@ public class XMLViews {
     "com.sun.xml.bind.indentString"
   };
 
+  private static JAXBContext context;
+  private static Schema schema;
   private static Marshaller marshaller;
-  private static Unmarshaller unmarshaller;
+
+  // unmarshallers are not thread-safe, keep a small pool of them instead of sharing one
+  private static final BlockingQueue<Unmarshaller> UNMARSHALLERS =
+      new ArrayBlockingQueue<>(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+
+  private static final AxelorCache<ViewKey, ResolvedView> VIEWS =
+      CacheBuilder.newBuilder("views")
+          .maximumSize(10_000)
+          .nearCache(1000)
+          .build();
+
+  private static final CacheGeneration VIEWS_GENERATION = new CacheGeneration("views");
 
   private static final Object DOCUMENT_BUILDER_FACTORY_MONITOR = new Object();
   private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY =
@@ -99,12 +118,11 @@ public class XMLViews {
   private XMLViews() {}
 
   private static void init() throws JAXBException, SAXException {
-    if (unmarshaller != null) {
+    if (context != null) {
       return;
     }
 
-    JAXBContext context = JAXBContext.newInstance(ObjectViews.class);
-    unmarshaller = context.createUnmarshaller();
+    context = JAXBContext.newInstance(ObjectViews.class);
     marshaller = context.createMarshaller();
     marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
     marshaller.setProperty(
@@ -121,9 +139,8 @@ public class XMLViews {
     }
 
     SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-    Schema schema = schemaFactory.newSchema(Resources.getResource(LOCAL_SCHEMA));
+    schema = schemaFactory.newSchema(Resources.getResource(LOCAL_SCHEMA));
 
-    unmarshaller.setSchema(schema);
     marshaller.setSchema(schema);
 
     // find supported views
@@ -136,27 +153,36 @@ public class XMLViews {
     }
   }
 
-  public static ObjectViews unmarshal(InputStream stream) throws JAXBException {
-    synchronized (unmarshaller) {
-      return (ObjectViews) unmarshaller.unmarshal(stream);
+  @FunctionalInterface
+  private interface Unmarshalling<T> {
+    T apply(Unmarshaller unmarshaller) throws JAXBException;
+  }
+
+  private static <T> T unmarshal(Unmarshalling<T> unmarshalling) throws JAXBException {
+    Unmarshaller unmarshaller = UNMARSHALLERS.poll();
+    if (unmarshaller == null) {
+      unmarshaller = context.createUnmarshaller();
+      unmarshaller.setSchema(schema);
+    }
+    try {
+      return unmarshalling.apply(unmarshaller);
+    } finally {
+      UNMARSHALLERS.offer(unmarshaller);
     }
   }
 
+  public static ObjectViews unmarshal(InputStream stream) throws JAXBException {
+    return unmarshal(unmarshaller -> (ObjectViews) unmarshaller.unmarshal(stream));
+  }
+
   public static ObjectViews unmarshal(String xml) throws JAXBException {
     Reader reader = new StringReader(prepareXML(xml));
-
-    synchronized (unmarshaller) {
-      return (ObjectViews) unmarshaller.unmarshal(reader);
-    }
+    return unmarshal(unmarshaller -> (ObjectViews) unmarshaller.unmarshal(reader));
   }
 
   public static ObjectViews unmarshal(Node node) throws JAXBException {
-    JAXBElement<ObjectViews> element;
-
-    synchronized (unmarshaller) {
-      element = unmarshaller.unmarshal(node, ObjectViews.class);
-    }
-
+    JAXBElement<ObjectViews> element =
+        unmarshal(unmarshaller -> unmarshaller.unmarshal(node, ObjectViews.class));
     return element.getValue();
   }
 
@@ -240,7 +266,7 @@ public class XMLViews {
     if (!xml.trim().startsWith("<?xml")) xml = prepareXML(xml);
 
     StringReader reader = new StringReader(xml);
-    return (ObjectViews) unmarshaller.unmarshal(reader);
+    return unmarshal(unmarshaller -> (ObjectViews) unmarshaller.unmarshal(reader));
   }
 
   public static Map<String, Object> findViews(String model, Map<String, String> views) {
@@ -262,8 +288,7 @@ public class XMLViews {
   }
 
   private static MetaViewCustom findCustomView(
-      MetaViewCustomRepository views, String name, String type, String model) {
-    User user = AuthUtils.getUser();
+      MetaViewCustomRepository views, String name, String type, String model, Long user) {
     List<String> conditions = new ArrayList<>();
 
     if (StringUtils.notBlank(name)) conditions.add("self.name = :name");
@@ -271,7 +296,7 @@ public class XMLViews {
     if (StringUtils.notBlank(model)) conditions.add("self.model = :model");
 
     // find personal
-    String filter = String.join(" AND ", conditions) + " AND self.user = :user";
+    String filter = String.join(" AND ", conditions) + " AND self.user.id = :user";
 
     MetaViewCustom custom =
         views
@@ -390,18 +415,67 @@ public class XMLViews {
    */
   public static AbstractView findView(String name, String type, String model, String module) {
 
+    final User user = AuthUtils.getUser();
+    final Long group = user != null && user.getGroup() != null ? user.getGroup().getId() : null;
+
+    // custom views are per user, so only key by user when they can be used
+    final Long userId =
+        Boolean.TRUE.equals(isCustomizationEnabled()) && module == null && user != null
+            ? user.getId()
+            : null;
+
+    final ResolvedView resolved =
+        VIEWS_GENERATION.get(
+            VIEWS, new ViewKey(name, type, model, module, group, userId), XMLViews::resolveView);
+    if (resolved == null) {
+      return null;
+    }
+
+    final AbstractView xmlView;
+    try {
+      final ObjectViews objectViews = unmarshal(resolved.xml());
+      xmlView = objectViews.getViews().getFirst();
+    } catch (Exception e) {
+      log.error(e.getMessage(), e);
+      return null;
+    }
+    if (resolved.viewId() != null) {
+      xmlView.setViewId(resolved.viewId());
+      xmlView.setHelpLink(resolved.helpLink());
+      if (resolved.modelId() != null) {
+        xmlView.setModelId(resolved.modelId());
+      }
+    }
+    if (resolved.customViewId() != null) {
+      xmlView.setCustomViewId(resolved.customViewId());
+      xmlView.setCustomViewShared(resolved.customViewShared());
+    }
+
+    if (type != null && !Objects.equals(type, xmlView.getType())) {
+      log.error("Requested view \"{}\" ({}), but found type: {}", name, type, xmlView.getType());
+      return null;
+    }
+
+    return xmlView;
+  }
+
+  private static ResolvedView resolveView(ViewKey key) {
+
     final MetaViewRepository views = Beans.get(MetaViewRepository.class);
     final MetaViewCustomRepository customViews = Beans.get(MetaViewCustomRepository.class);
 
-    final User user = AuthUtils.getUser();
-    final Long group = user != null && user.getGroup() != null ? user.getGroup().getId() : null;
+    final String name = key.name();
+    final String type = key.type();
+    final String model = key.model();
+    final String module = key.module();
+    final Long group = key.group();
 
     MetaView view = null;
     MetaViewCustom custom = null;
 
     // find personalized view
-    if (Boolean.TRUE.equals(isCustomizationEnabled()) && module == null && user != null) {
-      custom = findCustomView(customViews, name, type, model);
+    if (key.user() != null) {
+      custom = findCustomView(customViews, name, type, model, key.user());
     }
 
     // first find by name
@@ -425,57 +499,53 @@ public class XMLViews {
       view = view == null ? findMetaView(views, null, type, model, module, null) : view;
     }
 
-    final AbstractView xmlView;
-    final MetaModel metaModel;
-    try {
-      final String xml;
-
-      if (custom == null) {
-        if (view == null) {
-          return null;
-        }
-
-        xml = view.getXml();
-      } else {
-        xml = custom.getXml();
-      }
-
-      final ObjectViews objectViews = unmarshal(xml);
-      xmlView = objectViews.getViews().getFirst();
-    } catch (Exception e) {
-      log.error(e.getMessage(), e);
+    if (custom == null && view == null) {
       return null;
     }
-    if (view != null) {
-      xmlView.setViewId(view.getId());
-      xmlView.setHelpLink(view.getHelpLink());
-      if (view.getModel() != null) {
-        metaModel =
-            Beans.get(MetaModelRepository.class)
-                .all()
-                .filter("self.fullName = :name")
-                .bind("name", view.getModel())
-                .cacheable()
-                .autoFlush(false)
-                .fetchOne();
-        if (metaModel != null) {
-          xmlView.setModelId(metaModel.getId());
-        }
+
+    Long modelId = null;
+    if (view != null && view.getModel() != null) {
+      final MetaModel metaModel =
+          Beans.get(MetaModelRepository.class)
+              .all()
+              .filter("self.fullName = :name")
+              .bind("name", view.getModel())
+              .cacheable()
+              .autoFlush(false)
+              .fetchOne();
+      if (metaModel != null) {
+        modelId = metaModel.getId();
       }
     }
-    if (custom != null) {
-      xmlView.setCustomViewId(custom.getId());
-      xmlView.setCustomViewShared(custom.getShared());
-    }
 
-    if (type != null && !Objects.equals(type, xmlView.getType())) {
-      log.error("Requested view \"{}\" ({}), but found type: {}", name, type, xmlView.getType());
-      return null;
-    }
+    return new ResolvedView(
+        view == null ? null : view.getId(),
+        view == null ? null : view.getHelpLink(),
+        modelId,
+        custom == null ? null : custom.getId(),
+        custom == null ? null : custom.getShared(),
+        custom == null ? view.getXml() : custom.getXml());
+  }
 
-    return xmlView;
+  /** Invalidates the resolved views, used when views or custom views are changed. */
+  public static void invalidateViews() {
+    VIEWS_GENERATION.invalidate(VIEWS::invalidateAll);
   }
 
+  private record ViewKey(
+      String name, String type, String model, String module, Long group, Long user)
+      implements Serializable {}
+
+  /** The view found for a {@link ViewKey}, kept as xml as the parsed views are mutable. */
+  private record ResolvedView(
+      Long viewId,
+      String helpLink,
+      Long modelId,
+      Long customViewId,
+      Boolean customViewShared,
+      String xml)
+      implements Serializable {}
+
   public static Action findAction(String name) {
     final MetaAction metaAction = Beans.get(MetaActionRepository.class).findByName(name);
     final Action action;
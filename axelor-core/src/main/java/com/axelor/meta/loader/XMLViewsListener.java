@@ -0,0 +1,55 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.meta.loader;
+
+import com.axelor.db.JPA;
+import com.axelor.db.Model;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import org.hibernate.engine.spi.SessionImplementor;
+
+/**
+ * Entity listener to invalidate the views cached by {@link XMLViews} when views or custom views
+ * are changed.
+ */
+public class XMLViewsListener {
+
+  // sessions with a pending invalidation, so that bulk imports invalidate only once per commit
+  private static final Set<SessionImplementor> PENDING =
+      Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  private void onChange(Model entity) {
+    invalidateAfterTransaction();
+  }
+
+  /**
+   * Invalidates the cached views once the current transaction is completed.
+   *
+   * <p>Views are invalidated on rollback as well, as they may have been resolved from uncommitted
+   * changes in the meantime.
+   *
+   * <p>This should be used after bulk updates of views, which don't trigger entity listeners.
+   */
+  public static void invalidateAfterTransaction() {
+    final SessionImplementor session = JPA.em().unwrap(SessionImplementor.class);
+    if (!PENDING.add(session)) {
+      return;
+    }
+    session
+        .getActionQueue()
+        .registerProcess(
+            (success, sessionImplementor) -> {
+              PENDING.remove(session);
+              XMLViews.invalidateViews();
+            });
+  }
+}
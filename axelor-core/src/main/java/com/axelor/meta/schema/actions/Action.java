@@ -26,6 +26,9 @@ public abstract class Action implements Serializable {
 
   protected transient Logger log = LoggerFactory.getLogger(getClass());
 
+  private static final Pattern EXPRESSION_PATTERN =
+      Pattern.compile("^(#\\{|(eval|select|action):)");
+
   @XmlAttribute(name = "id")
   private String xmlId;
 
@@ -129,8 +132,7 @@ public abstract class Action implements Serializable {
   }
 
   protected static String toExpression(String expression, boolean quote) {
-    Pattern pattern = Pattern.compile("^(#\\{|(eval|select|action):)");
-    if (expression != null && !pattern.matcher(expression).find()) {
+    if (expression != null && !EXPRESSION_PATTERN.matcher(expression).find()) {
       expression = "eval: " + (quote ? "\"\"\"" + expression + "\"\"\"" : expression);
     }
     return expression;
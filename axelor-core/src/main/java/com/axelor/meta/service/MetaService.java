@@ -33,6 +33,7 @@ import com.axelor.meta.db.repo.MetaThemeRepository;
 import com.axelor.meta.db.repo.MetaViewCustomRepository;
 import com.axelor.meta.db.repo.MetaViewRepository;
 import com.axelor.meta.loader.XMLViews;
+import com.axelor.meta.loader.XMLViewsListener;
 import com.axelor.meta.schema.actions.Action;
 import com.axelor.meta.schema.views.AbstractView;
 import com.axelor.meta.schema.views.ChartView;
@@ -261,6 +262,7 @@ public class MetaService {
     Query deleteQuery =
         JPA.em().createQuery("DELETE FROM MetaViewCustom self WHERE self.name = :name");
     deleteQuery.setParameter("name", view.getName());
+    XMLViewsListener.invalidateAfterTransaction();
     return deleteQuery.executeUpdate();
   }
 
@@ -291,6 +293,10 @@ public class MetaService {
               .delete();
     }
 
+    if (count > 0) {
+      XMLViewsListener.invalidateAfterTransaction();
+    }
+
     return count;
   }
 
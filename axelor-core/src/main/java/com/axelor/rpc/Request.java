@@ -10,6 +10,7 @@ import com.axelor.script.CompositeScriptHelper;
 import com.axelor.script.ScriptBindings;
 import com.axelor.script.ScriptHelper;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,10 +19,30 @@ public class Request {
 
   static final ThreadLocal<Request> CURRENT = new ThreadLocal<>();
 
+  /** The count modes of search requests. */
+  public enum CountMode {
+
+    /** Count all the matched records. */
+    @JsonProperty("exact")
+    EXACT,
+
+    /** Count the matched records up to the {@code data.search.count-limit} setting. */
+    @JsonProperty("capped")
+    CAPPED,
+
+    /** Don't count, only tell whether there are more records after the requested page. */
+    @JsonProperty("none")
+    NONE
+  }
+
   private int limit;
 
   private int offset;
 
+  private List<Object> after;
+
+  private CountMode countMode;
+
   private List<String> sortBy;
 
   private Map<String, Object> data;
@@ -102,6 +123,36 @@ public class Request {
     this.offset = offset;
   }
 
+  /**
+   * Sort key values of the last record of the previous page, used for keyset pagination.
+   *
+   * <p>If not null, the {@link #getOffset() offset} is ignored and the records are searched after
+   * the given sort keys. An empty list requests the first page.
+   *
+   * @return the sort key values or null
+   * @see com.axelor.db.Query#after(Object...)
+   */
+  public List<Object> getAfter() {
+    return after;
+  }
+
+  public void setAfter(List<Object> after) {
+    this.after = after;
+  }
+
+  /**
+   * How the total number of matched records should be computed by searches.
+   *
+   * @return the count mode, {@link CountMode#EXACT} if not set
+   */
+  public CountMode getCountMode() {
+    return countMode == null ? CountMode.EXACT : countMode;
+  }
+
+  public void setCountMode(CountMode countMode) {
+    this.countMode = countMode;
+  }
+
   public List<String> getSortBy() {
     return sortBy;
   }
@@ -43,14 +43,13 @@ import com.axelor.events.RequestEvent;
 import com.axelor.events.qualifiers.EntityTypes;
 import com.axelor.file.temp.TempFiles;
 import com.axelor.i18n.I18n;
-import com.axelor.i18n.I18nBundle;
 import com.axelor.i18n.L10n;
 import com.axelor.inject.Beans;
 import com.axelor.meta.MetaPermissions;
 import com.axelor.meta.MetaStore;
 import com.axelor.meta.db.MetaJsonRecord;
-import com.axelor.meta.db.MetaTranslation;
 import com.axelor.meta.schema.views.Selection;
+import com.axelor.rpc.Request.CountMode;
 import com.axelor.rpc.filter.Filter;
 import com.axelor.rpc.filter.JPQLFilter;
 import com.google.common.base.Joiner;
@@ -65,6 +64,8 @@ import jakarta.inject.Provider;
 import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.OptimisticLockException;
 import jakarta.validation.ValidationException;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -457,27 +458,50 @@ public class Resource<T extends Model> {
     int offset = request.getOffset();
     int limit = request.getLimit();
 
+    final List<Object> after = request.getAfter();
+    if (after != null) {
+      // keyset values are taken from the entity, so order on the raw values
+      request.setTranslate(false);
+      offset = 0;
+    }
+
     Query<?> query = getSearchQuery(request, filter).readOnly();
+    if (after != null) {
+      query.after(after.toArray());
+    }
     List<?> data = null;
     String[] dottedFields = null;
     try {
-      if (limit > 0) {
+      final CountMode countMode = request.getCountMode();
+      // fetch one more record to know whether there are more
+      final int fetchLimit = limit > 0 && countMode == CountMode.NONE ? limit + 1 : limit;
+      if (limit > 0 && countMode == CountMode.EXACT) {
         response.setTotal(query.count());
+      } else if (limit > 0 && countMode == CountMode.CAPPED) {
+        response.setTotal(query.count(SEARCH_COUNT_LIMIT));
       }
       if (request.getFields() != null) {
         Query<?>.Selector selector = query.select(request.getFields().toArray(new String[] {}));
         LOG.debug("JPQL: {}", selector);
-        data = selector.fetch(limit, offset);
+        data = selector.fetch(fetchLimit, offset);
         dottedFields =
             request.getFields().stream()
                 .filter(field -> field.contains("."))
                 .toArray(String[]::new);
       } else {
         LOG.debug("JPQL: {}", query);
-        data = query.fetch(limit, offset);
+        data = query.fetch(fetchLimit, offset);
       }
       if (limit <= 0) {
         response.setTotal(data.size());
+      } else if (countMode == CountMode.NONE) {
+        response.setHasMore(data.size() > limit);
+        if (data.size() > limit) {
+          data = data.subList(0, limit);
+        }
+      }
+      if (after != null && !data.isEmpty()) {
+        response.setAfter(getKeysetValues(data.getLast(), getSortBy(request)));
       }
     } catch (Exception e) {
       EntityTransaction txn = JPA.em().getTransaction();
@@ -494,6 +518,7 @@ public class Resource<T extends Model> {
     final List<Object> jsonData = new ArrayList<>();
 
     final JpaSecurity jpaSecurity = security.get();
+    final boolean isUser = User.class.isAssignableFrom(model);
     for (Object item : data) {
       if (item instanceof Model) {
         item = toMap(item);
@@ -501,7 +526,7 @@ public class Resource<T extends Model> {
       if (item instanceof Map) {
         Map<String, Object> map = (Map) item;
         removeNotPermitted(map, dottedFields);
-        if (User.class.isAssignableFrom(model)) {
+        if (isUser) {
           map.remove("password");
         }
         item = repo.populate(map, request.getContext());
@@ -525,6 +550,25 @@ public class Resource<T extends Model> {
     return response;
   }
 
+  @SuppressWarnings("unchecked")
+  private List<Object> getKeysetValues(Object last, List<String> sortBy) {
+    final Long id = last instanceof Model bean ? bean.getId() : findId((Map<String, Object>) last);
+    final Object entity = JPA.em().find(model, id);
+    final List<Object> values = new ArrayList<>();
+    for (String spec : sortBy) {
+      final String name = spec.startsWith("-") ? spec.substring(1) : spec;
+      Object value = entity;
+      for (String part : Splitter.on('.').split(name)) {
+        if (value == null) {
+          break;
+        }
+        value = Mapper.of(EntityHelper.getEntityClass(value)).get(value, part);
+      }
+      values.add(value);
+    }
+    return values;
+  }
+
   @SuppressWarnings("all")
   private void doChildCount(Request request, List<?> result)
       throws NullPointerException, ClassCastException {
@@ -587,6 +631,12 @@ public class Resource<T extends Model> {
     }
   }
 
+  private static final int DEFAULT_SEARCH_COUNT_LIMIT = 10000;
+
+  private static final int SEARCH_COUNT_LIMIT =
+      AppSettings.get()
+          .getInt(AvailableAppSettings.DATA_SEARCH_COUNT_LIMIT, DEFAULT_SEARCH_COUNT_LIMIT);
+
   private static final int DEFAULT_EXPORT_MAX_SIZE = -1;
   private static final int DEFAULT_EXPORT_FETCH_SIZE = 500;
   private static final boolean DEFAULT_EXPORT_COLLECTIONS_ENABLED = false;
@@ -634,7 +684,7 @@ public class Resource<T extends Model> {
           if (StandardCharsets.UTF_8.equals(charset)) {
             writer.write('\ufeff');
           }
-          data.put("exportSize", export(request, writer, locale, separator));
+          data.put("exportSize", export(request, writer, locale, separator, false));
         }
       }
       data.put("fileName", tempFile.toFile().getName());
@@ -648,11 +698,73 @@ public class Resource<T extends Model> {
     return response;
   }
 
+  /**
+   * Export the matched records as CSV directly to an output stream.
+   *
+   * <p>Unlike {@link #export(Request, Charset, Locale, char)}, the records are not staged in a
+   * temporary file. They are read from a database cursor and written in chunks of {@code
+   * data.export.fetch-size} records, clearing the persistence context between chunks, so the memory
+   * usage doesn't depend on the number of exported records.
+   *
+   * <p>The permissions are checked and the pre-request event is fired by this method, so that a
+   * denied or vetoed export fails before any response is sent. The records are only written when
+   * the returned output is written.
+   *
+   * @param request the export request
+   * @param charset the charset to use
+   * @param locale the locale used to format and translate values
+   * @param separator the CSV separator
+   * @return the output writing the records to a stream, which is not closed
+   */
+  public StreamingOutput exportStream(
+      Request request, Charset charset, Locale locale, char separator) {
+    security.get().check(JpaSecurity.CAN_READ, model);
+    security.get().check(JpaSecurity.CAN_EXPORT, model);
+
+    LOG.debug("Exporting '{}' (streaming)", model.getName());
+
+    firePreRequestEvent(RequestEvent.EXPORT, request);
+
+    return output -> export(request, output, charset, locale, separator);
+  }
+
+  private void export(
+      Request request, OutputStream output, Charset charset, Locale locale, char separator)
+      throws IOException {
+    final Response response = new Response();
+    final Writer writer =
+        new BufferedWriter(new OutputStreamWriter(output, charset), EXPORT_BUFFER_SIZE);
+
+    // jdbc drivers (e.g. postgresql) only use server side cursors inside a transaction
+    final EntityTransaction txn = JPA.em().getTransaction();
+    final boolean txnStarted = !txn.isActive();
+    if (txnStarted) {
+      txn.begin();
+    }
+    try {
+      if (StandardCharsets.UTF_8.equals(charset)) {
+        writer.write('\ufeff');
+      }
+      response.setTotal(export(request, writer, locale, separator, true));
+      response.setStatus(Response.STATUS_SUCCESS);
+      writer.flush();
+    } finally {
+      if (txnStarted && txn.isActive()) {
+        txn.rollback();
+      }
+    }
+
+    firePostRequestEvent(RequestEvent.EXPORT, request, response);
+  }
+
+  private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
   private static final Set<String> EXCLUDED_EXPORT_TYPES =
       Set.of("panel", "button", "label", "spacer", "separator");
 
   @SuppressWarnings("all")
-  private int export(Request request, Writer writer, Locale locale, char separator)
+  private int export(
+      Request request, Writer writer, Locale locale, char separator, boolean streaming)
       throws IOException {
 
     List<String> fields = request.getFields();
@@ -825,6 +937,11 @@ public class Resource<T extends Model> {
 
     writer.write(Joiner.on(separator).join(header));
 
+    // same limit on both paths: negative means unlimited, zero exports no records
+    if (EXPORT_MAX_SIZE == 0) {
+      return 0;
+    }
+
     int limit =
         EXPORT_MAX_SIZE > 0 ? Math.min(EXPORT_FETCH_SIZE, EXPORT_MAX_SIZE) : EXPORT_FETCH_SIZE;
     int offset = 0;
@@ -834,56 +951,54 @@ public class Resource<T extends Model> {
     Query<?> query = getQuery(request);
     Query<?>.Selector selector = query.select(names.toArray(new String[0]));
 
-    List<Map> data = selector.fetch(limit, offset);
-
     final L10n formatter = L10n.getInstance(locale);
 
-    while (!data.isEmpty()) {
-      for (Map item : data) {
-        Map<String, Object> row = (Map<String, Object>) item;
-        List<String> line = new ArrayList<>();
-        int index = 0;
-        for (String field : names) {
-          Object rowValue = row.get(field);
-          Object objValue = rowValue == null ? "" : rowValue;
-
-          String strValue = null;
-          if (objValue instanceof List) {
-            List<String> parts = new ArrayList<>();
-            String nameField = getMapper(mapper, field).getNameField().getName();
-            for (Map<String, Object> itemVal : (List<Map<String, Object>>) objValue) {
-              parts.add(
-                  format(
-                      itemVal.get(nameField),
-                      translatableNames,
-                      formatter,
-                      names,
-                      index,
-                      bundle,
-                      selection));
-            }
-            strValue = Joiner.on(EXPORT_COLLECTION_SEPARATOR).join(parts);
-          } else {
-            if (objValue instanceof Map) {
-              objValue =
-                  ((Map<String, Object>) objValue)
-                      .get(getMapper(mapper, field).getNameField().getName());
-            }
-            strValue =
-                format(objValue, translatableNames, formatter, names, index, bundle, selection);
+    if (streaming) {
+      query.readOnly();
+      try (Stream<Map> rows =
+          selector.fetchStream(EXPORT_MAX_SIZE > 0 ? EXPORT_MAX_SIZE : 0, 0, EXPORT_FETCH_SIZE)) {
+        final Iterator<Map> iter = rows.iterator();
+        while (iter.hasNext()) {
+          writeRow(
+              writer,
+              (Map<String, Object>) iter.next(),
+              mapper,
+              names,
+              translatableNames,
+              formatter,
+              bundle,
+              selection,
+              separator);
+          // push the chunk to the client and keep the persistence context small
+          if (++count % EXPORT_FETCH_SIZE == 0) {
+            writer.flush();
+            JPA.clear();
           }
-
-          line.add(escapeCsv(strValue.toString()));
-          ++index;
         }
-        writer.write("\n");
-        writer.write(Joiner.on(separator).join(line));
+      }
+      return count;
+    }
+
+    List<Map> data = selector.fetch(limit, offset);
+
+    while (!data.isEmpty()) {
+      for (Map item : data) {
+        writeRow(
+            writer,
+            (Map<String, Object>) item,
+            mapper,
+            names,
+            translatableNames,
+            formatter,
+            bundle,
+            selection,
+            separator);
       }
 
       count += data.size();
 
       int nextLimit = limit;
-      if (EXPORT_MAX_SIZE > -1) {
+      if (EXPORT_MAX_SIZE > 0) {
         if (count >= EXPORT_MAX_SIZE) {
           break;
         }
@@ -900,6 +1015,56 @@ public class Resource<T extends Model> {
     return count;
   }
 
+  @SuppressWarnings("all")
+  private void writeRow(
+      Writer writer,
+      Map<String, Object> row,
+      Mapper mapper,
+      List<String> names,
+      Set<String> translatableNames,
+      L10n formatter,
+      ResourceBundle bundle,
+      Map<Integer, Map<String, String>> selection,
+      char separator)
+      throws IOException {
+    List<String> line = new ArrayList<>();
+    int index = 0;
+    for (String field : names) {
+      Object rowValue = row.get(field);
+      Object objValue = rowValue == null ? "" : rowValue;
+
+      String strValue = null;
+      if (objValue instanceof List) {
+        List<String> parts = new ArrayList<>();
+        String nameField = getMapper(mapper, field).getNameField().getName();
+        for (Map<String, Object> itemVal : (List<Map<String, Object>>) objValue) {
+          parts.add(
+              format(
+                  itemVal.get(nameField),
+                  translatableNames,
+                  formatter,
+                  names,
+                  index,
+                  bundle,
+                  selection));
+        }
+        strValue = Joiner.on(EXPORT_COLLECTION_SEPARATOR).join(parts);
+      } else {
+        if (objValue instanceof Map) {
+          objValue =
+              ((Map<String, Object>) objValue)
+                  .get(getMapper(mapper, field).getNameField().getName());
+        }
+        strValue = format(objValue, translatableNames, formatter, names, index, bundle, selection);
+      }
+
+      line.add(escapeCsv(strValue.toString()));
+      ++index;
+    }
+    writer.write("\n");
+    writer.write(Joiner.on(separator).join(line));
+  }
+
   private String format(
       Object objValue,
       Set<String> translatableNames,
@@ -1322,11 +1487,6 @@ public class Resource<T extends Model> {
                 // check permission rules again
                 security.get().check(accessType, model, bean.getId());
 
-                // if it's a translation object, invalidate cache
-                if (bean instanceof MetaTranslation) {
-                  I18nBundle.invalidate();
-                }
-
                 Map<String, Object> jsonMapResponse = repository.populate(toMap(bean, request), request.getContext());
                 data.add(jsonMapResponse);
               }
@@ -1673,6 +1833,10 @@ public class Resource<T extends Model> {
    * @param names field names
    */
   protected void removeNotPermitted(Map<String, Object> map, String... names) {
+    // only related fields are checked, avoid building the bean otherwise
+    if (ObjectUtils.isEmpty(names) || Arrays.stream(names).noneMatch(name -> name.contains("."))) {
+      return;
+    }
     filterPermitted(name -> {}, map::remove, Mapper.toBean(model, map), names);
   }
 
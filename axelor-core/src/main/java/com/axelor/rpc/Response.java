@@ -62,6 +62,10 @@ public class Response {
   @JsonSerialize(using = TotalSerializer.class)
   private long total = -1;
 
+  private List<Object> after;
+
+  private Boolean hasMore;
+
   private Object data;
 
   private Map<String, String> errors;
@@ -90,6 +94,35 @@ public class Response {
     this.total = count;
   }
 
+  /**
+   * Sort key values of the last returned record, to be used as {@link Request#getAfter()} to fetch
+   * the next page with keyset pagination.
+   *
+   * @return the sort key values or null
+   */
+  public List<Object> getAfter() {
+    return after;
+  }
+
+  public void setAfter(List<Object> after) {
+    this.after = after;
+  }
+
+  /**
+   * Whether there are more records after the returned page.
+   *
+   * <p>Only set by searches not counting the records, see {@link Request.CountMode}.
+   *
+   * @return true if there are more records, null if unknown
+   */
+  public Boolean getHasMore() {
+    return hasMore;
+  }
+
+  public void setHasMore(Boolean hasMore) {
+    this.hasMore = hasMore;
+  }
+
   public Object getData() {
     return data;
   }
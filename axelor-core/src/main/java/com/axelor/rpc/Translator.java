@@ -9,15 +9,20 @@ import com.axelor.db.mapper.Mapper;
 import com.axelor.db.mapper.Property;
 import com.axelor.i18n.I18n;
 import jakarta.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 final class Translator {
 
+  // resolved properties by model and field name, unknown names are not cached
+  private static final Map<Class<?>, Map<String, Property>> PROPERTIES =
+      new ConcurrentHashMap<>();
+
   private Translator() {}
 
   private static String getTranslation(String value) {
@@ -70,25 +75,42 @@ final class Translator {
   }
 
   static void applyTranslatables(Map<String, Object> values, Class<?> model) {
-    final Mapper mapper = Mapper.of(model);
-    final Collection<String> names = values.keySet().stream().collect(Collectors.toList());
+    final Map<String, Property> properties =
+        PROPERTIES.computeIfAbsent(model, k -> new ConcurrentHashMap<>());
+
+    List<String> translatables = null;
 
-    names.forEach(
-        name -> {
-          final Object value = values.get(name);
-          if (value instanceof String) {
-            final Property property = getProperty(mapper, name);
-            if (property != null && property.isTranslatable()) {
-              translate(values, name);
-            }
-          } else if (value instanceof Map) {
-            final Property property = getProperty(mapper, name);
-            if (property != null && property.getTarget() != null) {
-              @SuppressWarnings("unchecked")
-              final Map<String, Object> map = (Map<String, Object>) value;
-              applyTranslatables(map, property.getTarget());
-            }
+    for (Map.Entry<String, Object> entry : values.entrySet()) {
+      final Object value = entry.getValue();
+      if (!(value instanceof String) && !(value instanceof Map)) {
+        continue;
+      }
+      final String name = entry.getKey();
+      Property property = properties.get(name);
+      if (property == null) {
+        property = getProperty(Mapper.of(model), name);
+        if (property == null) {
+          continue;
+        }
+        properties.put(name, property);
+      }
+      if (value instanceof String) {
+        if (property.isTranslatable()) {
+          if (translatables == null) {
+            translatables = new ArrayList<>();
           }
-        });
+          translatables.add(name);
+        }
+      } else if (property.getTarget() != null) {
+        @SuppressWarnings("unchecked")
+        final Map<String, Object> map = (Map<String, Object>) value;
+        applyTranslatables(map, property.getTarget());
+      }
+    }
+
+    // translation keys are added once done with iterating the values
+    if (translatables != null) {
+      translatables.forEach(name -> translate(values, name));
+    }
   }
 }
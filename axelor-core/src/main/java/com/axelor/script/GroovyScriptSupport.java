@@ -18,6 +18,7 @@ import groovy.lang.GroovyClassLoader;
 import groovy.lang.Script;
 import groovy.text.GStringTemplateEngine;
 import groovy.text.StreamingTemplateEngine;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
 import java.util.concurrent.TimeUnit;
 import org.codehaus.groovy.control.CompilerConfiguration;
@@ -35,7 +36,7 @@ public class GroovyScriptSupport {
   private static int cacheExpireTime;
 
   private static final GroovyClassLoader GCL;
-  private static final LoadingCache<String, Class<?>> SCRIPT_CACHE;
+  private static final LoadingCache<String, Constructor<? extends Script>> SCRIPT_CACHE;
 
   private static final ScriptPolicy SCRIPT_POLICY;
 
@@ -152,7 +153,7 @@ public class GroovyScriptSupport {
             .build(
                 code -> {
                   try {
-                    return GCL.parseClass(code);
+                    return GCL.parseClass(code).asSubclass(Script.class).getDeclaredConstructor();
                   } finally {
                     GCL.clearCache();
                   }
@@ -161,13 +162,28 @@ public class GroovyScriptSupport {
 
   public static Script createScript(String script) {
     try {
-      Class<?> klass = SCRIPT_CACHE.get(script);
-      return (Script) klass.getDeclaredConstructor().newInstance();
+      return SCRIPT_CACHE.get(script).newInstance();
     } catch (Exception e) {
       throw new IllegalArgumentException(e);
     }
   }
 
+  /**
+   * Compiles the given script ahead of its evaluation, so that the script class is already cached
+   * when evaluated.
+   *
+   * <p>Compilation errors are ignored here, they are reported when the script is evaluated.
+   *
+   * @param script the script to compile
+   */
+  public static void compile(String script) {
+    try {
+      SCRIPT_CACHE.get(script);
+    } catch (Exception e) {
+      // reported on evaluation
+    }
+  }
+
   public static GStringTemplateEngine createStringTemplateEngine() {
     return new AxelorGStringTemplateEngine(JpaScanner.getClassLoader(), config);
   }
@@ -15,6 +15,9 @@ import com.axelor.db.mapper.Mapper;
 import com.axelor.script.GroovyScriptSupport;
 import com.axelor.script.GroovyScriptSupport.PolicyChecker;
 import com.axelor.script.ScriptBindings;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.hash.Hashing;
 import com.google.common.io.CharStreams;
 import groovy.text.TemplateEngine;
 import java.io.File;
@@ -24,8 +27,13 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -43,6 +51,38 @@ public class GroovyTemplates implements Templates {
       AppSettings.get().getPath(AvailableAppSettings.TEMPLATE_SEARCH_DIR, DEFAULT_TEMPLATE_DIR);
   private static final Pattern INCLUDE_PAT = Pattern.compile("\\{\\{\\<\\s*(.*?)\\s*\\>\\}\\}");
 
+  private static final int DEFAULT_CACHE_SIZE = 500;
+  private static final int DEFAULT_CACHE_EXPIRE_TIME = 60;
+
+  // compiled templates, by digest of their text
+  private static final Cache<String, CompiledTemplate> TEMPLATE_CACHE =
+      Caffeine.newBuilder()
+          .maximumSize(
+              AppSettings.get()
+                  .getInt(AvailableAppSettings.APPLICATION_SCRIPT_CACHE_SIZE, DEFAULT_CACHE_SIZE))
+          .expireAfterAccess(
+              AppSettings.get()
+                  .getInt(
+                      AvailableAppSettings.APPLICATION_SCRIPT_CACHE_EXPIRE_TIME,
+                      DEFAULT_CACHE_EXPIRE_TIME),
+              TimeUnit.MINUTES)
+          .build();
+
+  /** An included file of the template directory, missing files have no modification time. */
+  private record Include(File file, long lastModified) {
+
+    boolean isModified() {
+      return file.lastModified() != lastModified;
+    }
+  }
+
+  private record CompiledTemplate(groovy.text.Template template, List<Include> includes) {
+
+    boolean isModified() {
+      return includes.stream().anyMatch(Include::isModified);
+    }
+  }
+
   class GroovyTemplate implements Template {
 
     private String text;
@@ -56,10 +96,11 @@ public class GroovyTemplates implements Templates {
       return text.indexOf("<?mso-application") > -1;
     }
 
-    private String read(String included) throws IOException {
+    private String read(String included, List<Include> includes) throws IOException {
 
       Reader reader = null;
       File file = FileUtils.getFile(TEMPLATE_DIR, included);
+      includes.add(new Include(file, file.lastModified()));
       if (file.isFile()) {
         reader = new FileReader(file);
       } else {
@@ -80,7 +121,7 @@ public class GroovyTemplates implements Templates {
       }
     }
 
-    private String process(String text) {
+    private String process(String text, List<Include> includes) {
       if (StringUtils.isBlank(text)) {
         return "";
       }
@@ -103,8 +144,8 @@ public class GroovyTemplates implements Templates {
         builder.append(text.substring(position, matcher.start()));
         position = matcher.end();
         try {
-          String include = read(matcher.group(1));
-          builder.append(process(include));
+          String include = read(matcher.group(1), includes);
+          builder.append(process(include, includes));
         } catch (IOException e) {
         }
       }
@@ -112,27 +153,47 @@ public class GroovyTemplates implements Templates {
       return builder.toString();
     }
 
+    /**
+     * Get the compiled template, compiled again only if the text of the included files changed.
+     */
+    private groovy.text.Template compile() {
+      final String key =
+          Hashing.sha256()
+              .hashString(Objects.toString(text, ""), StandardCharsets.UTF_8)
+              .toString();
+      final CompiledTemplate cached = TEMPLATE_CACHE.getIfPresent(key);
+      if (cached != null && !cached.isModified()) {
+        return cached.template();
+      }
+
+      final List<Include> includes = new ArrayList<>();
+      final String text = process(this.text, includes);
+      final TemplateEngine engine = isWordTemplate(text) ? STREAMING_ENGINE : GSTRING_ENGINE;
+
+      try {
+        final groovy.text.Template template = engine.createTemplate(text);
+        TEMPLATE_CACHE.put(key, new CompiledTemplate(template, List.copyOf(includes)));
+        return template;
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    }
+
     @Override
     public Renderer make(final Map<String, Object> context) {
       final ScriptBindings bindings = new ScriptBindings(context);
-      final String text = process(this.text);
-      final TemplateEngine engine = isWordTemplate(text) ? STREAMING_ENGINE : GSTRING_ENGINE;
+      final groovy.text.Template template = compile();
 
       bindings.put("__fmt__", new FormatHelper());
       bindings.put(PolicyChecker.NAME, new PolicyChecker());
 
-      try {
-        final groovy.text.Template template = engine.createTemplate(text);
-        return new Renderer() {
+      return new Renderer() {
 
-          @Override
-          public void render(Writer out) throws IOException {
-            template.make(bindings).writeTo(out);
-          }
-        };
-      } catch (Exception e) {
-        throw new RuntimeException(e);
-      }
+        @Override
+        public void render(Writer out) throws IOException {
+          template.make(bindings).writeTo(out);
+        }
+      };
     }
 
     @Override
@@ -19,6 +19,8 @@ import com.axelor.meta.db.repo.MetaJsonRecordRepository;
 import com.axelor.rpc.Context;
 import com.axelor.rpc.JsonContext;
 import com.axelor.script.ScriptBindings;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.io.CharStreams;
 import com.google.common.xml.XmlEscapers;
 import java.io.File;
@@ -26,6 +28,11 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.InaccessibleObjectException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -33,20 +40,24 @@ import java.time.format.DateTimeFormatter;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import org.stringtemplate.v4.AttributeRenderer;
 import org.stringtemplate.v4.AutoIndentWriter;
 import org.stringtemplate.v4.DateRenderer;
 import org.stringtemplate.v4.Interpreter;
+import org.stringtemplate.v4.ModelAdaptor;
 import org.stringtemplate.v4.NumberRenderer;
 import org.stringtemplate.v4.ST;
 import org.stringtemplate.v4.STGroup;
 import org.stringtemplate.v4.StringRenderer;
 import org.stringtemplate.v4.compiler.Bytecode;
 import org.stringtemplate.v4.misc.MapModelAdaptor;
-import org.stringtemplate.v4.misc.ObjectModelAdaptor;
 import org.stringtemplate.v4.misc.STNoSuchPropertyException;
 
 /** The implementation of {@link Templates} for the StringTemplate (ST4) support. */
@@ -99,14 +110,19 @@ public class StringTemplates implements Templates {
     }
   }
 
-  class DataAdapter extends ObjectModelAdaptor<Object> {
+  /**
+   * The model adaptor of the templates.
+   *
+   * <p>Unlike the {@link org.stringtemplate.v4.misc.ObjectModelAdaptor}, properties are resolved
+   * without locking: entity properties with their {@link Mapper}, other properties with accessors
+   * resolved once per class.
+   */
+  class DataAdapter implements ModelAdaptor<Object> {
 
     private final MapModelAdaptor mapModelAdaptor;
-    private final MetaJsonRecordRepository jsonRecords;
 
     public DataAdapter() {
       this.mapModelAdaptor = new MapModelAdaptor();
-      this.jsonRecords = Beans.get(MetaJsonRecordRepository.class);
     }
 
     private Object format(Property field, Object value) {
@@ -118,11 +134,14 @@ public class StringTemplates implements Templates {
 
       if (field.isEnum()) {
         try {
-          return MetaStore.getSelectionList(field.getEnumType()).stream()
-              .filter(x -> x.getValue().equals(value.toString()))
-              .findFirst()
-              .map(x -> translate(x.getTitle()))
-              .orElseGet(() -> (String) value);
+          return titles.computeIfAbsent(
+              new TitleKey(field.getEnumType(), value.toString()),
+              key ->
+                  MetaStore.getSelectionList(field.getEnumType()).stream()
+                      .filter(x -> x.getValue().equals(key.value()))
+                      .findFirst()
+                      .map(x -> translate(x.getTitle()))
+                      .orElse(key.value()));
         } catch (NullPointerException e) {
           return value;
         }
@@ -139,22 +158,36 @@ public class StringTemplates implements Templates {
     }
 
     private MetaJsonField findCustomField(Class<?> entityClass, String name, String modelField) {
-      return Beans.get(MetaJsonFieldRepository.class)
-          .all()
-          .filter("self.model = :model and self.name = :name and self.modelField = :modelField")
-          .bind("model", entityClass.getName())
-          .bind("name", name)
-          .bind("modelField", modelField)
-          .fetchOne();
+      return customFields
+          .computeIfAbsent(
+              new FieldKey(entityClass.getName(), name, modelField),
+              key ->
+                  Optional.ofNullable(
+                      Beans.get(MetaJsonFieldRepository.class)
+                          .all()
+                          .filter(
+                              "self.model = :model and self.name = :name"
+                                  + " and self.modelField = :modelField")
+                          .bind("model", key.model())
+                          .bind("name", key.name())
+                          .bind("modelField", key.modelField())
+                          .fetchOne()))
+          .orElse(null);
     }
 
     private MetaJsonField findCustomField(String jsonModel, String name) {
-      return Beans.get(MetaJsonFieldRepository.class)
-          .all()
-          .filter("self.jsonModel.name = :model and self.name = :name")
-          .bind("model", jsonModel)
-          .bind("name", name)
-          .fetchOne();
+      return customFields
+          .computeIfAbsent(
+              new FieldKey(jsonModel, name, null),
+              key ->
+                  Optional.ofNullable(
+                      Beans.get(MetaJsonFieldRepository.class)
+                          .all()
+                          .filter("self.jsonModel.name = :model and self.name = :name")
+                          .bind("model", key.model())
+                          .bind("name", key.name())
+                          .fetchOne()))
+          .orElse(null);
     }
 
     private Object handle(Model entity, String name) {
@@ -211,7 +244,7 @@ public class StringTemplates implements Templates {
     }
 
     private Object handle(MetaJsonRecord record, String name) {
-      Context context = jsonRecords.create(record);
+      Context context = Beans.get(MetaJsonRecordRepository.class).create(record);
       context.put("attrs", record.getAttrs());
       return handle(context, name);
     }
@@ -222,8 +255,25 @@ public class StringTemplates implements Templates {
       return format(customField, jsonContext.get(name));
     }
 
+    private Object handle(Object o, Object property, String propertyName)
+        throws STNoSuchPropertyException {
+      if (property == null) {
+        throw new STNoSuchPropertyException(null, o, propertyName);
+      }
+      final Function<Object, Object> accessor =
+          ACCESSORS.get(o.getClass()).computeIfAbsent(propertyName, name -> findAccessor(o, name));
+      if (accessor == NO_ACCESSOR) {
+        throw new STNoSuchPropertyException(null, o, propertyName);
+      }
+      try {
+        return accessor.apply(o);
+      } catch (Exception e) {
+        throw new STNoSuchPropertyException(e, o, propertyName);
+      }
+    }
+
     @Override
-    public synchronized Object getProperty(
+    public Object getProperty(
         Interpreter interp, ST self, Object o, Object property, String propertyName)
         throws STNoSuchPropertyException {
       if (o instanceof Context context) return handle(context, propertyName);
@@ -233,7 +283,7 @@ public class StringTemplates implements Templates {
       if (o instanceof Map<?, ?> map) {
         return mapModelAdaptor.getProperty(interp, self, map, property, propertyName);
       }
-      return super.getProperty(interp, self, o, property, propertyName);
+      return handle(o, property, propertyName);
     }
 
     private Object getSelection(String selection, Object value) {
@@ -306,6 +356,8 @@ public class StringTemplates implements Templates {
       return new Renderer() {
         @Override
         public void render(Writer out) throws IOException {
+          // attributes are added to a copy, the compiled template is shared
+          final ST template = new ST(StringTemplate.this.template);
           final ScriptBindings vars = new ScriptBindings(context);
           for (String name : names) {
             try {
@@ -351,6 +403,68 @@ public class StringTemplates implements Templates {
     return new JsonContext(context, property, (String) context.get(propertyName));
   }
 
+  private static final Function<Object, Object> NO_ACCESSOR = o -> null;
+
+  // the property accessors of the other objects, by class and property name
+  private static final LoadingCache<Class<?>, Map<String, Function<Object, Object>>> ACCESSORS =
+      Caffeine.newBuilder().maximumSize(1000).weakKeys().build(klass -> new ConcurrentHashMap<>());
+
+  /**
+   * Find the accessor of the given property, looked up like {@link
+   * org.stringtemplate.v4.misc.ObjectModelAdaptor}: getter, {@code is} and {@code has} methods,
+   * method of the same name, then public field.
+   */
+  private static Function<Object, Object> findAccessor(Object o, String name) {
+    final Class<?> klass = o.getClass();
+    final Mapper mapper = Mapper.of(klass);
+    if (mapper.getGetter(name) != null) {
+      return bean -> mapper.get(bean, name);
+    }
+
+    final String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    for (String method : List.of("get" + suffix, "is" + suffix, "has" + suffix, name)) {
+      try {
+        final Method found = klass.getMethod(method);
+        trySetAccessible(found);
+        return bean -> invoke(found, bean);
+      } catch (NoSuchMethodException e) {
+        // try next
+      }
+    }
+
+    try {
+      final Field field = klass.getField(name);
+      trySetAccessible(field);
+      return bean -> {
+        try {
+          return field.get(bean);
+        } catch (IllegalAccessException e) {
+          throw new IllegalStateException(e);
+        }
+      };
+    } catch (NoSuchFieldException e) {
+      return NO_ACCESSOR;
+    }
+  }
+
+  private static void trySetAccessible(AccessibleObject member) {
+    try {
+      member.setAccessible(true);
+    } catch (SecurityException | InaccessibleObjectException e) {
+      // public members are accessible anyway
+    }
+  }
+
+  private static Object invoke(Method method, Object bean) {
+    try {
+      return method.invoke(bean);
+    } catch (InvocationTargetException e) {
+      throw new IllegalStateException(e.getCause());
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   private static final char DEFAULT_START_DELIMITER = '<';
   private static final char DEFAULT_STOP_DELIMITER = '>';
 
@@ -358,6 +472,14 @@ public class StringTemplates implements Templates {
 
   private Locale locale;
 
+  private record FieldKey(String model, String name, String modelField) {}
+
+  private record TitleKey(Object selection, String value) {}
+
+  // metadata looked up once per instance, selection titles depend on the locale
+  private final Map<FieldKey, Optional<MetaJsonField>> customFields = new ConcurrentHashMap<>();
+  private final Map<TitleKey, String> titles = new ConcurrentHashMap<>();
+
   public StringTemplates() {
     this(DEFAULT_START_DELIMITER, DEFAULT_STOP_DELIMITER);
   }
@@ -384,6 +506,7 @@ public class StringTemplates implements Templates {
 
   public StringTemplates withLocale(Locale locale) {
     this.locale = locale;
+    this.titles.clear();
     return this;
   }
 
@@ -418,10 +541,14 @@ public class StringTemplates implements Templates {
   private String getSelectionTitle(String selection, Object value) {
     final String val = valueOf(value);
     if (StringUtils.isBlank(val)) return val;
-    try {
-      return translate(MetaStore.getSelectionItem(selection, val).getTitle());
-    } catch (Exception e) {
-      return val;
-    }
+    return titles.computeIfAbsent(
+        new TitleKey(selection, val),
+        key -> {
+          try {
+            return translate(MetaStore.getSelectionItem(selection, val).getTitle());
+          } catch (Exception e) {
+            return val;
+          }
+        });
   }
 }
@@ -15,7 +15,9 @@ import com.axelor.auth.db.Permission;
 import com.axelor.auth.db.Role;
 import com.axelor.auth.db.User;
 import com.axelor.auth.db.repo.UserRepository;
+import com.axelor.db.JPA;
 import com.axelor.db.JpaSecurity.AccessType;
+import com.axelor.db.Model;
 import com.google.inject.persist.Transactional;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
@@ -208,6 +210,68 @@ public class AuthTest extends JpaTest {
         authSecurity.isPermitted(AccessType.WRITE, User.class, users.findByCode("demo").getId()));
   }
 
+  @Test
+  public void testPermissionChange() {
+    login("guest", "guest");
+    assertFalse(isPermitted(AccessType.READ, Group.class));
+
+    setGroupReadPermission(true);
+    assertTrue(isPermitted(AccessType.READ, Group.class));
+
+    setGroupReadPermission(false);
+    assertFalse(isPermitted(AccessType.READ, Group.class));
+  }
+
+  @Transactional
+  public boolean isPermitted(AccessType type, Class<? extends Model> model) {
+    return authSecurity.isPermitted(type, model);
+  }
+
+  @Transactional
+  public void setGroupReadPermission(boolean grant) {
+    final User guest = users.findByCode("guest");
+    final Role role = guest.getRoles().iterator().next();
+    if (grant) {
+      Permission permission = new Permission("grant.read.group");
+      permission.setObject(Group.class.getName());
+      permission.setCanRead(true);
+      role.addPermission(permission);
+    } else {
+      role.getPermissions().stream()
+          .filter(p -> "grant.read.group".equals(p.getName()))
+          .findFirst()
+          .ifPresent(
+              permission -> {
+                role.removePermission(permission);
+                JPA.remove(permission);
+              });
+    }
+  }
+
+  @Test
+  public void testUserChange() {
+    login("guest", "guest");
+    assertFalse(isPermitted(AccessType.READ, Group.class));
+
+    // only the permissions of the changed user are invalidated
+    setSuperUserRole(true);
+    assertTrue(isPermitted(AccessType.READ, Group.class));
+
+    setSuperUserRole(false);
+    assertFalse(isPermitted(AccessType.READ, Group.class));
+  }
+
+  @Transactional
+  public void setSuperUserRole(boolean grant) {
+    final User guest = users.findByCode("guest");
+    final Role role = users.findByCode("admin").getGroup().getRoles().iterator().next();
+    if (grant) {
+      guest.addRole(role);
+    } else {
+      guest.removeRole(role);
+    }
+  }
+
   @Test
   public void testEncrypt() {
     login("demo", "demo");
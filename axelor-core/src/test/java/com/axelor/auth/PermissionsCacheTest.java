@@ -0,0 +1,93 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.auth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.axelor.app.AppSettings;
+import com.axelor.app.AvailableAppSettings;
+import com.axelor.auth.PermissionsCache.Invalidation;
+import com.axelor.cache.caffeine.LocalTopic;
+import com.axelor.db.tenants.TenantResolver;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class PermissionsCacheTest {
+
+  /** Delivers the messages in another thread, without tenant, as on another node. */
+  private static class RemoteTopic<M> extends LocalTopic<M> {
+
+    @Override
+    public void publish(M message) {
+      final Thread thread = new Thread(() -> super.publish(message));
+      thread.start();
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static String multiTenancy;
+
+  @BeforeAll
+  static void enableTenants() {
+    multiTenancy =
+        AppSettings.get()
+            .getInternalProperties()
+            .put(AvailableAppSettings.CONFIG_MULTI_TENANCY, "true");
+    new TenantResolver();
+  }
+
+  @AfterAll
+  static void disableTenants() {
+    TenantResolver.setCurrentTenant(null, null);
+    if (multiTenancy == null) {
+      AppSettings.get().getInternalProperties().remove(AvailableAppSettings.CONFIG_MULTI_TENANCY);
+    } else {
+      AppSettings.get()
+          .getInternalProperties()
+          .put(AvailableAppSettings.CONFIG_MULTI_TENANCY, multiTenancy);
+    }
+    new TenantResolver();
+  }
+
+  private static void runAs(String tenantId, Runnable task) {
+    TenantResolver.setCurrentTenant(tenantId, null);
+    try {
+      task.run();
+    } finally {
+      TenantResolver.setCurrentTenant(null, null);
+    }
+  }
+
+  private static String get(PermissionsCache<String> cache, String tenantId, String value) {
+    final String[] result = new String[1];
+    runAs(tenantId, () -> result[0] = cache.get(1L, () -> value));
+    return result[0];
+  }
+
+  @Test
+  void testRemoteInvalidation() {
+    final RemoteTopic<Invalidation> topic = new RemoteTopic<>();
+    final PermissionsCache<String> node1 = new PermissionsCache<>(topic);
+    final PermissionsCache<String> node2 = new PermissionsCache<>(topic);
+
+    assertEquals("first", get(node2, "tenant1", "first"));
+    assertEquals("first", get(node2, "tenant2", "first"));
+
+    // the user is only invalidated in the tenant of the change
+    runAs("tenant1", () -> node1.invalidate(1L));
+    assertEquals("second", get(node2, "tenant1", "second"));
+    assertEquals("first", get(node2, "tenant2", "second"));
+
+    // and so are all the users
+    runAs("tenant2", () -> node1.invalidate(null));
+    assertEquals("second", get(node2, "tenant1", "third"));
+    assertEquals("third", get(node2, "tenant2", "third"));
+  }
+}
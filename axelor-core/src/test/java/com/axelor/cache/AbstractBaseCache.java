@@ -4,6 +4,7 @@
  */
 package com.axelor.cache;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -15,7 +16,9 @@ import com.axelor.JpaTestModule;
 import com.axelor.TestingHelpers;
 import com.axelor.app.AppSettings;
 import com.axelor.app.AvailableAppSettings;
+import com.axelor.auth.db.User;
 import com.axelor.common.ObjectUtils;
+import com.axelor.db.BinaryContent;
 import com.axelor.db.JPA;
 import com.axelor.inject.Beans;
 import com.axelor.test.db.Contact;
@@ -27,6 +30,10 @@ import com.google.inject.persist.UnitOfWork;
 import jakarta.persistence.PersistenceException;
 import jakarta.persistence.SharedCacheMode;
 import jakarta.validation.ValidationException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicLong;
 import org.hibernate.Session;
@@ -358,6 +365,56 @@ public abstract class AbstractBaseCache extends JpaTest {
                 }));
   }
 
+  @Test
+  public void testWriteBinary() {
+    final AtomicLong userId = new AtomicLong();
+    final byte[] oldImage = "old image".getBytes(StandardCharsets.UTF_8);
+    final byte[] newImage = "new image".getBytes(StandardCharsets.UTF_8);
+
+    doInSession(
+        () ->
+            JPA.runInTransaction(
+                () -> {
+                  User user = new User("binary-cache", "Binary Cache");
+                  user.setPassword("binary-cache");
+                  user.setImage(oldImage);
+                  JPA.save(user);
+                  userId.set(user.getId());
+                }));
+
+    // load the user in the second-level cache
+    doInSession(
+        () -> {
+          assertArrayEquals(oldImage, JPA.find(User.class, userId.get()).getImage());
+          SessionFactory factory = JPA.em().unwrap(Session.class).getSessionFactory();
+          assertTrue(factory.getCache().contains(User.class, userId.get()));
+        });
+
+    doInSession(
+        () -> {
+          JPA.runInTransaction(
+              () -> {
+                try {
+                  JPA.writeBinary(
+                      JPA.find(User.class, userId.get()),
+                      "image",
+                      BinaryContent.of(new ByteArrayInputStream(newImage)));
+                } catch (IOException e) {
+                  throw new UncheckedIOException(e);
+                }
+              });
+          // read again in the same session
+          assertArrayEquals(newImage, JPA.find(User.class, userId.get()).getImage());
+        });
+
+    // read again in a new session
+    doInSession(
+        () -> assertArrayEquals(newImage, JPA.find(User.class, userId.get()).getImage()));
+
+    doInSession(
+        () -> JPA.runInTransaction(() -> JPA.remove(JPA.find(User.class, userId.get()))));
+  }
+
   static void doInSession(Runnable task) {
     UnitOfWork unitOfWork = Beans.get(UnitOfWork.class);
     unitOfWork.begin();
@@ -0,0 +1,51 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class CacheGenerationTest {
+
+  @Test
+  void testLoad() {
+    AxelorCache<String, String> cache = CacheBuilder.newInMemoryBuilder().build();
+    CacheGeneration generation = new CacheGeneration("testLoad");
+    AtomicInteger loads = new AtomicInteger();
+
+    assertEquals("a1", generation.get(cache, "a", key -> key + loads.incrementAndGet()));
+    assertEquals("a1", generation.get(cache, "a", key -> key + loads.incrementAndGet()));
+    assertEquals(1, loads.get());
+
+    generation.invalidate(cache::invalidateAll);
+
+    assertNull(cache.get("a"));
+    assertEquals("a2", generation.get(cache, "a", key -> key + loads.incrementAndGet()));
+  }
+
+  @Test
+  void testInvalidatedWhileLoading() {
+    AxelorCache<String, String> cache = CacheBuilder.newInMemoryBuilder().build();
+    CacheGeneration generation = new CacheGeneration("testInvalidatedWhileLoading");
+
+    // the change is committed and invalidated after the loader has read the old value
+    String value =
+        generation.get(
+            cache,
+            "a",
+            key -> {
+              generation.invalidate(cache::invalidateAll);
+              return "stale";
+            });
+
+    assertEquals("stale", value);
+    assertNull(cache.get("a"));
+    assertEquals("fresh", generation.get(cache, "a", key -> "fresh"));
+    assertEquals("fresh", cache.get("a"));
+  }
+}
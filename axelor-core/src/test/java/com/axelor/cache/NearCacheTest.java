@@ -0,0 +1,97 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.cache;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.axelor.cache.redisson.RedissonCacheBuilder;
+import com.axelor.cache.redisson.RedissonNearCache;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class NearCacheTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  @BeforeAll
+  static void setUp() {
+    RedisTest.startRedis();
+  }
+
+  @AfterAll
+  static void tearDown() {
+    RedisTest.stopRedis();
+  }
+
+  private static AxelorCache<String, Object> newCache(String name) {
+    return new RedissonCacheBuilder<String, Object>(name).nearCache(100).build();
+  }
+
+  @Test
+  void testLocalReads() {
+    var node1 = newCache("test-near-cache-reads");
+    node1.invalidateAll();
+    node1.put("key1", "value1");
+
+    // another instance of the same cache, as on another node
+    var node2 = newCache("test-near-cache-reads");
+    try {
+      assertInstanceOf(RedissonNearCache.class, node2);
+
+      for (int i = 0; i < 10; i++) {
+        assertEquals("value1", node2.get("key1"));
+      }
+      assertNull(node2.get("missing"));
+
+      var stats = ((RedissonNearCache<String, Object>) node2).getStats();
+      assertEquals(11, stats.localHits() + stats.localMisses());
+      assertTrue(stats.localHits() >= 8, "Should read from the near-cache");
+      assertEquals(stats.localMisses(), stats.remoteHits() + stats.remoteMisses());
+      assertEquals(1, stats.remoteMisses());
+    } finally {
+      node1.invalidateAll();
+      node1.close();
+      node2.close();
+    }
+  }
+
+  @Test
+  void testInvalidation() {
+    var node1 = newCache("test-near-cache-invalidation");
+    var node2 = newCache("test-near-cache-invalidation");
+    try {
+      node1.invalidateAll();
+
+      node1.put("key1", "value1");
+      node1.put("key2", "value2");
+      assertEquals("value1", node2.get("key1"));
+      assertEquals("value2", node2.get("key2"));
+
+      // updates are propagated to the other node
+      node1.put("key1", "updated1");
+      await().atMost(TIMEOUT).until(() -> "updated1".equals(node2.get("key1")));
+
+      node1.invalidate("key2");
+      await().atMost(TIMEOUT).until(() -> node2.get("key2") == null);
+
+      assertEquals("updated1", node2.get("key1"));
+      node1.invalidateAll();
+      await().atMost(TIMEOUT).until(() -> node2.get("key1") == null);
+
+      var stats = ((RedissonNearCache<String, Object>) node2).getStats();
+      assertTrue(stats.invalidations() >= 3, "Should receive invalidations");
+    } finally {
+      node1.invalidateAll();
+      node1.close();
+      node2.close();
+    }
+  }
+}
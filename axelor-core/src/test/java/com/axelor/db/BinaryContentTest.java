@@ -0,0 +1,95 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.db;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.axelor.JpaTest;
+import com.axelor.db.mapper.Mapper;
+import com.axelor.test.db.Contact;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class BinaryContentTest extends JpaTest {
+
+  private static byte[] randomBytes(int size) {
+    final byte[] bytes = new byte[size];
+    new Random(42).nextBytes(bytes);
+    return bytes;
+  }
+
+  @Test
+  public void testEdit() throws IOException {
+    final byte[] bytes = randomBytes(256 * 1024);
+    final BinaryContent content = BinaryContent.of(new ByteArrayInputStream(bytes));
+    assertEquals(bytes.length, content.getLength());
+
+    final Map<String, Object> values = new HashMap<>();
+    values.put("firstName", "Binary");
+    values.put("lastName", "Content");
+    values.put("email", "binary.content@gmail.com");
+    values.put("image", content);
+
+    final Long id =
+        JPA.callInTransaction(() -> JPA.manage(JPA.edit(Contact.class, values)).getId());
+
+    JPA.clear();
+    assertArrayEquals(bytes, JPA.find(Contact.class, id).getImage());
+
+    final byte[] changed = randomBytes(1024);
+    final Integer version = JPA.find(Contact.class, id).getVersion();
+
+    JPA.runInTransaction(
+        () -> {
+          try {
+            JPA.writeBinary(
+                JPA.find(Contact.class, id),
+                "image",
+                BinaryContent.of(new ByteArrayInputStream(changed)));
+          } catch (IOException e) {
+            throw new RuntimeException(e);
+          }
+        });
+
+    JPA.clear();
+    final Contact contact = JPA.find(Contact.class, id);
+    assertArrayEquals(changed, contact.getImage());
+    assertNotEquals(version, contact.getVersion());
+
+    JPA.runInTransaction(() -> JPA.remove(JPA.find(Contact.class, id)));
+  }
+
+  @Test
+  public void testFile() throws IOException {
+    final Path file = Files.createTempFile("binary", ".bin");
+    try {
+      Files.write(file, randomBytes(64));
+
+      // given files aren't deleted
+      BinaryContent.of(file).close();
+      assertEquals(64, Files.size(file));
+
+      // read in memory when not written by JPA
+      final Contact contact = new Contact();
+      Mapper.of(Contact.class).set(contact, "image", BinaryContent.of(file));
+      assertArrayEquals(Files.readAllBytes(file), contact.getImage());
+
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> JPA.writeBinary(contact, "firstName", BinaryContent.of(file)));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
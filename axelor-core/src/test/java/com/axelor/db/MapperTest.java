@@ -8,7 +8,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.axelor.JpaTest;
 import com.axelor.db.mapper.Mapper;
@@ -145,4 +148,21 @@ public class MapperTest extends JpaTest {
     assertEquals(2011, bean.getDateTime1().getYear());
     assertEquals(1111, bean.getLocalDate1().getYear());
   }
+
+  @Test
+  @Order(5)
+  public void testAccessors() {
+    Contact contact = new Contact("Some", "Name");
+
+    assertNull(mapper.get(contact, "unknown"));
+    assertThrows(IllegalArgumentException.class, () -> mapper.set(contact, "unknown", "value"));
+
+    assertEquals("Some", mapper.set(contact, "firstName", "Other"));
+    assertEquals("Other", contact.getFirstName());
+
+    Map<String, Object> values = Mapper.toMap(contact);
+    assertEquals("Other", values.get("firstName"));
+    assertEquals("Name", values.get("lastName"));
+    assertTrue(values.containsKey("email"));
+  }
 }
@@ -0,0 +1,90 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.axelor.JpaTest;
+import com.axelor.test.db.Title;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class ParallelTransactionExecutorTest extends JpaTest {
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  public void testPriorities(boolean virtualThreads) {
+    final int count = 200;
+    final AtomicInteger first = new AtomicInteger();
+    final AtomicInteger second = new AtomicInteger();
+    final AtomicInteger early = new AtomicInteger();
+    final List<ParallelTransactionExecutor.Progress> done = new CopyOnWriteArrayList<>();
+
+    final ParallelTransactionExecutor executor =
+        new ParallelTransactionExecutor(null, 4, virtualThreads)
+            .batchSize(10)
+            .onProgress(
+                progress -> {
+                  if (progress.done()) {
+                    done.add(progress);
+                  }
+                });
+
+    for (int i = 0; i < count; i++) {
+      executor.add(first::incrementAndGet, 0);
+      executor.add(
+          () -> {
+            if (first.get() < count) {
+              early.incrementAndGet();
+            }
+            second.incrementAndGet();
+          },
+          1);
+    }
+
+    executor.run();
+
+    assertEquals(count, first.get());
+    assertEquals(count, second.get());
+    assertEquals(0, early.get());
+
+    assertEquals(2, done.size());
+    assertEquals(0, done.get(0).priority());
+    assertEquals(1, done.get(1).priority());
+    assertTrue(done.stream().allMatch(p -> p.completed() == count && p.total() == count));
+  }
+
+  @Test
+  public void testRollback() {
+    final ParallelTransactionExecutor executor = new ParallelTransactionExecutor(null, 4);
+    final String code = "parallel-rollback";
+
+    for (int i = 0; i < 20; i++) {
+      final int n = i;
+      executor.add(
+          () -> {
+            Title title = new Title();
+            title.setCode(code + n);
+            title.setName(code + n);
+            JPA.save(title);
+          });
+    }
+    executor.add(
+        () -> {
+          throw new IllegalStateException();
+        },
+        1);
+
+    assertThrows(IllegalStateException.class, executor::run);
+    assertEquals(
+        0, Query.of(Title.class).filter("self.code LIKE :code").bind("code", code + "%").count());
+  }
+}
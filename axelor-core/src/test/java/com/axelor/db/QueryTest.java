@@ -47,6 +47,17 @@ public class QueryTest extends ScriptTest {
     assertTrue(all(Contact.class).count() > 0);
   }
 
+  @Test
+  public void testCappedCount() {
+    final long count = all(Contact.class).count();
+    assertTrue(count > 1);
+    assertEquals(count, all(Contact.class).count((int) count + 1));
+    assertEquals(1, all(Contact.class).count(1));
+    assertEquals(
+        all(Contact.class).filter("self.addresses.country.code IS NOT NULL").count(),
+        all(Contact.class).filter("self.addresses.country.code IS NOT NULL").count(1000));
+  }
+
   @Test
   public void testQueryPathComparison() {
     // comparing an entity path against a literal
@@ -152,6 +163,42 @@ public class QueryTest extends ScriptTest {
     assertEquals(first.size(), second.size());
   }
 
+  @Test
+  @Transactional
+  @SuppressWarnings("rawtypes")
+  public void testSelectStream() {
+    final Query<Contact>.Selector selector =
+        all(Contact.class).order("id").select("fullName", "title");
+    final List<Map> first = selector.fetch(0, 0);
+    final List<Map> second;
+    try (final Stream<Map> stream = selector.fetchStream(0, 0, 2)) {
+      second = stream.collect(Collectors.toList());
+    }
+    assertEquals(first, second);
+  }
+
+  @Test
+  public void testKeyset() {
+    final List<Contact> all = all(Contact.class).order("-lastName").order("id").fetch();
+    final List<Contact> paged = new ArrayList<>();
+
+    List<Contact> page = all(Contact.class).order("-lastName").order("id").after().fetch(2);
+    while (!page.isEmpty()) {
+      paged.addAll(page);
+      final Contact last = page.getLast();
+      page =
+          all(Contact.class)
+              .order("-lastName")
+              .order("id")
+              .after(last.getLastName(), last.getId())
+              .fetch(2);
+    }
+
+    assertEquals(all, paged);
+    assertThrows(
+        IllegalArgumentException.class, () -> all(Contact.class).order("id").after(1L, 2L));
+  }
+
   @Test
   @Transactional
   public void testBulkRemove() {
@@ -171,6 +218,29 @@ public class QueryTest extends ScriptTest {
     assertEquals(count, removed);
   }
 
+  @Test
+  @Transactional
+  public void testBatchedRemove() {
+    final List<String> names = new ArrayList<>();
+    for (int i = 0; i < 25; i++) {
+      final String name = "Batched Remove " + i;
+      Contact c = new Contact();
+      c.setFirstName(name);
+      c.setLastName(name);
+      JPA.em().persist(c);
+      names.add(name);
+    }
+    final Query<Contact> q =
+        all(Contact.class)
+            .filter("self.firstName in (:names) OR self.lastName = :other")
+            .bind("names", names)
+            .bind("other", "Batched Remove Other");
+    assertEquals(25, q.count());
+    assertEquals(25, q.remove(10));
+    assertEquals(0, q.count());
+    assertEquals(0, JPA.em().unwrap(org.hibernate.Session.class).getStatistics().getEntityCount());
+  }
+
   @Test
   @Transactional
   public void testBulkUpdate() {
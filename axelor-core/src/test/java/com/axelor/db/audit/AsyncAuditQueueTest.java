@@ -0,0 +1,149 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.db.audit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class AsyncAuditQueueTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+  private final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+  private final List<Integer> batches = Collections.synchronizedList(new ArrayList<>());
+
+  // transactions waiting for the gate to be opened before being processed
+  private final Set<String> gated = ConcurrentHashMap.newKeySet();
+  private final CountDownLatch gate = new CountDownLatch(1);
+
+  private AsyncAuditQueue queue;
+
+  private class TestQueue extends AsyncAuditQueue {
+
+    TestQueue(int workerCount, int queueSize) {
+      super(workerCount, queueSize, 20);
+    }
+
+    @Override
+    void process(Context context, Set<String> txIds) {
+      batches.add(txIds.size());
+      for (String txId : txIds) {
+        if (gated.contains(txId)) {
+          try {
+            gate.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+        processed.add(txId);
+      }
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    gate.countDown();
+    if (queue != null) {
+      queue.onAppShutdown(null);
+    }
+  }
+
+  private static BitSet records(int... buckets) {
+    var records = new BitSet();
+    for (int bucket : buckets) {
+      records.set(bucket);
+    }
+    return records;
+  }
+
+  @Test
+  void testRecordOrdering() {
+    queue = new TestQueue(3, 10);
+    gated.addAll(Set.of("tx1", "tx2"));
+
+    queue.process("tx1", records(1)); // worker 0, blocked
+    queue.process("tx2", records(2)); // worker 1, blocked
+    queue.process("tx3", records(1)); // worker 0, after tx1
+    queue.process("tx4", records(1, 2)); // pending on both workers, parked
+    queue.process("tx5", records(1)); // parked after tx4
+    queue.process("tx6", records(3)); // worker 2
+
+    // independent transactions are not held up by the parked ones
+    await().atMost(TIMEOUT).until(() -> processed.contains("tx6"));
+    assertEquals(List.of("tx6"), processed);
+
+    gate.countDown();
+    await().atMost(TIMEOUT).until(() -> processed.size() == 6);
+
+    // changes of the same record are processed in commit order
+    assertTrue(processed.indexOf("tx1") < processed.indexOf("tx3"));
+    assertTrue(processed.indexOf("tx3") < processed.indexOf("tx4"));
+    assertTrue(processed.indexOf("tx2") < processed.indexOf("tx4"));
+    assertTrue(processed.indexOf("tx4") < processed.indexOf("tx5"));
+
+    await().atMost(TIMEOUT).until(() -> queue.getStatistics().pending() == 0);
+    assertEquals(6, queue.getStatistics().completed());
+  }
+
+  @Test
+  void testBackpressure() throws InterruptedException {
+    queue = new TestQueue(1, 1);
+    gated.add("tx1");
+
+    // room for one transaction processed, one queued, one parked and one in the inbox
+    var committer =
+        new Thread(
+            () -> {
+              for (int i = 1; i <= 5; i++) {
+                queue.process("tx" + i, records(i));
+              }
+            });
+    committer.start();
+
+    // the last transaction waits for room instead of being dropped
+    committer.join(1000);
+    assertTrue(committer.isAlive());
+    assertTrue(queue.getStatistics().blocked() > 0);
+    assertTrue(processed.isEmpty());
+
+    gate.countDown();
+    committer.join(TIMEOUT.toMillis());
+    assertFalse(committer.isAlive());
+
+    await().atMost(TIMEOUT).until(() -> processed.size() == 5);
+    assertEquals(Set.of("tx1", "tx2", "tx3", "tx4", "tx5"), Set.copyOf(processed));
+  }
+
+  @Test
+  void testCoalescing() {
+    queue = new TestQueue(1, 10);
+    gated.add("tx1");
+
+    for (int i = 1; i <= 5; i++) {
+      queue.process("tx" + i, records(1));
+    }
+    await().atMost(TIMEOUT).until(() -> queue.getStatistics().pending() == 4);
+
+    gate.countDown();
+    await().atMost(TIMEOUT).until(() -> processed.size() == 5);
+    assertEquals(List.of("tx1", "tx2", "tx3", "tx4", "tx5"), processed);
+
+    // the transactions queued meanwhile are processed at once
+    assertEquals(List.of(1, 4), batches);
+  }
+}
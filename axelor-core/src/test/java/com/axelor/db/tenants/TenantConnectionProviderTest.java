@@ -0,0 +1,57 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.db.tenants;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class TenantConnectionProviderTest {
+
+  @Test
+  void testShareEqually() {
+    assertArrayEquals(new int[] {5, 5}, TenantConnectionProvider.share(10, new int[] {20, 20}));
+    assertArrayEquals(
+        new int[] {2, 2, 3}, TenantConnectionProvider.share(7, new int[] {20, 20, 20}));
+  }
+
+  @Test
+  void testShareUnused() {
+    // the unused part of the share of a small pool goes to the others, whatever the order
+    assertArrayEquals(
+        new int[] {4, 2, 4}, TenantConnectionProvider.share(10, new int[] {20, 2, 20}));
+    assertArrayEquals(new int[] {3, 3}, TenantConnectionProvider.share(10, new int[] {3, 3}));
+  }
+
+  @Test
+  void testShareOverBudget() {
+    // each pool keeps one connection when there are more pools than connections
+    assertArrayEquals(
+        new int[] {1, 1, 1}, TenantConnectionProvider.share(2, new int[] {20, 20, 20}));
+    assertArrayEquals(new int[] {1, 1}, TenantConnectionProvider.share(0, new int[] {5, 5}));
+  }
+
+  @Test
+  void testShareWithinBudget() {
+    final int[] maxSizes = {1, 3, 10, 20, 20, 50};
+    for (int pools = 1; pools <= maxSizes.length; pools++) {
+      final int[] sizes = Arrays.copyOf(maxSizes, pools);
+      for (int budget = pools; budget <= 120; budget++) {
+        final int[] shares = TenantConnectionProvider.share(budget, sizes);
+        assertTrue(Arrays.stream(shares).sum() <= budget);
+        for (int i = 0; i < pools; i++) {
+          assertTrue(shares[i] >= 1 && shares[i] <= sizes[i]);
+        }
+        // the whole budget is used unless all the pools are full
+        if (Arrays.stream(sizes).sum() >= budget) {
+          assertEquals(budget, Arrays.stream(shares).sum());
+        }
+      }
+    }
+  }
+}
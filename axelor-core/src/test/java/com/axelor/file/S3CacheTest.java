@@ -4,6 +4,7 @@
  */
 package com.axelor.file;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -18,16 +19,27 @@ import com.axelor.app.AvailableAppSettings;
 import com.axelor.common.FileUtils;
 import com.axelor.common.ResourceUtils;
 import com.axelor.file.store.s3.S3Cache;
+import com.axelor.file.store.s3.S3CacheStats;
 import com.axelor.file.temp.TempFiles;
 import com.axelor.test.GuiceModules;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -41,8 +53,7 @@ public class S3CacheTest extends JpaTest {
       resetAllSettings();
       Map<String, String> props = AppSettings.get().getInternalProperties();
       props.put(AvailableAppSettings.DATA_OBJECT_STORAGE_CACHE_ENABLED, "true");
-      props.put(AvailableAppSettings.DATA_OBJECT_STORAGE_CACHE_MAX_ENTRIES, "2");
-      props.put(AvailableAppSettings.DATA_OBJECT_STORAGE_CACHE_CLEAN_FREQUENCY, "5");
+      props.put(AvailableAppSettings.DATA_OBJECT_STORAGE_CACHE_MAX_SIZE, "1");
       props.put(AvailableAppSettings.DATA_OBJECT_STORAGE_CACHE_TIME_TO_LIVE, "5");
       super.configure();
     }
@@ -71,6 +82,7 @@ public class S3CacheTest extends JpaTest {
   @BeforeEach
   public void beforeEach() {
     resetS3Cache();
+    S3Cache.getInstance().clear();
   }
 
   protected File getTestFile(String name) throws IOException {
@@ -80,45 +92,54 @@ public class S3CacheTest extends JpaTest {
     return file;
   }
 
-  protected Path getCacheFile(String name) {
-    return Path.of(TempFiles.getRootTempPath().toString(), "s3_cache").resolve(name);
+  protected File getRandomFile(int size) throws IOException {
+    byte[] bytes = new byte[size];
+    new Random().nextBytes(bytes);
+    Path file = TempFiles.createTempFile();
+    Files.write(file, bytes);
+    return file.toFile();
   }
 
   @Test
   public void addFileTest() throws IOException {
     S3Cache cache = S3Cache.getInstance();
     File file = getTestFile("Logo_Axelor.png");
-    cache.put(file, "LogoAxelor.png");
-    cache.put(file, "LogoAxelor2.png");
+    File cached1 = cache.put(file, "LogoAxelor.png");
+    File cached2 = cache.put(file, "LogoAxelor2.png");
 
     assertEquals(2, cache.size());
 
-    assertNotNull(cache.get("LogoAxelor.png"));
-    assertTrue(Files.exists(getCacheFile("LogoAxelor.png")));
-    assertNotNull(cache.get("LogoAxelor2.png"));
-    assertTrue(Files.exists(getCacheFile("LogoAxelor2.png")));
+    assertEquals(cached1.toPath(), cache.get("LogoAxelor.png"));
+    assertTrue(cached1.exists());
+    assertEquals(cached2.toPath(), cache.get("LogoAxelor2.png"));
+    assertTrue(cached2.exists());
+    assertArrayEquals(Files.readAllBytes(file.toPath()), Files.readAllBytes(cached1.toPath()));
+
+    S3CacheStats stats = cache.getStats();
+    assertEquals(2, stats.hits());
+    assertEquals(2 * file.length(), stats.size());
   }
 
   @Test
-  public void checkMaxEntriesTest() throws IOException {
+  public void checkMaxSizeTest() throws IOException {
     S3Cache cache = S3Cache.getInstance();
-    File file = getTestFile("Logo_Axelor.png");
-    cache.put(file, "LogoAxelor.png");
-    cache.put(file, "LogoAxelor2.png");
-    cache.put(file, "LogoAxelor3.png");
+    List<File> cached = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      cached.add(cache.put(getRandomFile(400 * 1024), "Random" + i + ".bin"));
+    }
 
+    // bounded by 1 MB, evicted files are deleted
     assertEquals(2, cache.size());
-
-    // last used should be evicted and file deleted
-    assertNull(cache.get("LogoAxelor.png"));
-    assertFalse(Files.exists(getCacheFile("LogoAxelor.png")));
+    assertTrue(cache.getStats().size() <= 1024 * 1024);
+    assertEquals(1, cache.getStats().evictions());
+    assertEquals(2, cached.stream().filter(File::exists).count());
   }
 
   @Test
   public void checkTTLTest() throws IOException, InterruptedException {
     S3Cache cache = S3Cache.getInstance();
     File file = getTestFile("Logo_Axelor.png");
-    cache.put(file, "LogoAxelor.png");
+    File cached = cache.put(file, "LogoAxelor.png");
 
     assertEquals(1, cache.size());
 
@@ -127,27 +148,76 @@ public class S3CacheTest extends JpaTest {
     // file should be expired
     assertNull(cache.get("LogoAxelor.png"));
     assertTrue(cache.isEmpty());
-    assertFalse(Files.exists(getCacheFile("LogoAxelor.png")));
+    assertFalse(cached.exists());
   }
 
   @Test
-  public void checkCacheCleanupTest() throws IOException, InterruptedException {
+  public void checkAccessTest() throws IOException, InterruptedException {
     S3Cache cache = S3Cache.getInstance();
     File file = getTestFile("Logo_Axelor.png");
     cache.put(file, "LogoAxelor.png");
 
-    for (int i = 0; i < 5; i++) {
-      cache.get("LogoAxelor.png");
-    }
+    // entries expire after their last access
+    Thread.sleep(TimeUnit.SECONDS.toMillis(3));
+    assertNotNull(cache.get("LogoAxelor.png"));
+    Thread.sleep(TimeUnit.SECONDS.toMillis(3));
+    assertNotNull(cache.get("LogoAxelor.png"));
+  }
 
-    assertEquals(1, cache.size());
+  @Test
+  public void checkRestoreTest() throws IOException {
+    S3Cache cache = S3Cache.getInstance();
+    File file = getTestFile("Logo_Axelor.png");
+    cache.put(file, "tenant/LogoAxelor.png");
 
-    Thread.sleep(TimeUnit.SECONDS.toMillis(6));
+    // restored from the cache directory
+    resetS3Cache();
+    cache = S3Cache.getInstance();
 
-    // file should be expired
-    assertNull(cache.get("LogoAxelor.png"));
-    assertTrue(cache.isEmpty());
-    assertFalse(Files.exists(getCacheFile("LogoAxelor.png")));
+    assertEquals(1, cache.size());
+    Path cached = cache.get("tenant/LogoAxelor.png");
+    assertNotNull(cached);
+    assertArrayEquals(Files.readAllBytes(file.toPath()), Files.readAllBytes(cached));
+  }
+
+  @Test
+  public void checkSingleDownloadTest() throws Exception {
+    S3Cache cache = S3Cache.getInstance();
+    byte[] bytes = Files.readAllBytes(getTestFile("Logo_Axelor.png").toPath());
+    AtomicInteger downloads = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    Callable<byte[]> read =
+        () -> {
+          try (InputStream stream =
+              cache.open(
+                  "LogoAxelor.png",
+                  () -> {
+                    downloads.incrementAndGet();
+                    started.countDown();
+                    release.await();
+                    return new ByteArrayInputStream(bytes);
+                  })) {
+            return stream.readAllBytes();
+          }
+        };
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<byte[]> first = executor.submit(read);
+      started.await();
+      Future<byte[]> second = executor.submit(read);
+      Thread.sleep(100);
+      release.countDown();
+
+      assertArrayEquals(bytes, first.get());
+      assertArrayEquals(bytes, second.get());
+      assertEquals(1, downloads.get());
+      assertEquals(1, cache.getStats().downloads());
+    } finally {
+      executor.shutdown();
+    }
   }
 
   @Test
@@ -156,21 +226,22 @@ public class S3CacheTest extends JpaTest {
     File file = getTestFile("Logo_Axelor.png");
     cache.put(file, "LogoAxelor.png");
     cache.put(file, "LogoAxelor2.png");
-    cache.put(file, "LogoAxelor3.png");
 
     assertEquals(2, cache.size());
     cache.clear();
     assertTrue(cache.isEmpty());
+    assertEquals(0, cache.getStats().size());
   }
 
   @Test
   public void checkRemoveTest() throws IOException {
     S3Cache cache = S3Cache.getInstance();
     File file = getTestFile("Logo_Axelor.png");
-    cache.put(file, "LogoAxelor.png");
+    File cached = cache.put(file, "LogoAxelor.png");
     cache.get("LogoAxelor.png");
     assertEquals(1, cache.size());
     cache.remove("LogoAxelor.png");
     assertEquals(0, cache.size());
+    assertFalse(cached.exists());
   }
 }
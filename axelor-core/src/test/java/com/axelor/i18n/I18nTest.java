@@ -5,12 +5,16 @@
 package com.axelor.i18n;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 import com.axelor.JpaTest;
+import com.axelor.app.internal.AppFilter;
+import com.axelor.db.JPA;
 import com.axelor.meta.db.MetaTranslation;
 import com.axelor.meta.db.repo.MetaTranslationRepository;
 import com.google.inject.persist.Transactional;
 import jakarta.inject.Inject;
+import java.util.Locale;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -59,4 +63,37 @@ public class I18nTest extends JpaTest {
     assertEquals(
         "5 records selected.", I18n.get("{0} record selected.", "{0} records selected.", 5));
   }
+
+  @Test
+  public void testIncrementalReload() {
+    final Locale locale = AppFilter.getLocale();
+    final String hash = I18nBundle.getHash(locale);
+
+    assertEquals("Hello...", I18n.get("Hello World!!!"));
+    assertEquals("Good morning", I18n.get("Good morning"));
+
+    JPA.runInTransaction(
+        () -> {
+          MetaTranslation obj = new MetaTranslation();
+          obj.setKey("Good morning");
+          obj.setMessage("Morning...");
+          obj.setLanguage("en");
+          translations.save(obj);
+          translations.findByKey("Hello World!!!", "en").setMessage("Hello!!!");
+        });
+
+    assertEquals("Morning...", I18n.get("Good morning"));
+    assertEquals("Hello!!!", I18n.get("Hello World!!!"));
+    assertNotEquals(hash, I18nBundle.getHash(locale));
+
+    JPA.runInTransaction(
+        () -> {
+          translations.remove(translations.findByKey("Good morning", "en"));
+          translations.findByKey("Hello World!!!", "en").setMessage("Hello...");
+        });
+
+    assertEquals("Good morning", I18n.get("Good morning"));
+    assertEquals("Hello...", I18n.get("Hello World!!!"));
+    assertEquals(hash, I18nBundle.getHash(locale));
+  }
 }
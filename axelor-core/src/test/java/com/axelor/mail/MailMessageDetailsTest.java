@@ -0,0 +1,99 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.mail;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.axelor.JpaTest;
+import com.axelor.auth.db.User;
+import com.axelor.db.JPA;
+import com.axelor.inject.Beans;
+import com.axelor.mail.db.MailAddress;
+import com.axelor.mail.db.MailMessage;
+import com.axelor.mail.db.repo.MailAddressRepository;
+import com.axelor.mail.db.repo.MailMessageRepository;
+import com.axelor.meta.db.MetaAttachment;
+import com.axelor.meta.db.MetaFile;
+import com.axelor.test.db.Contact;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class MailMessageDetailsTest extends JpaTest {
+
+  private MailMessage message(Contact related, MailAddress from, User author) {
+    final MailMessage message = new MailMessage();
+    message.setType(MailConstants.MESSAGE_TYPE_COMMENT);
+    message.setSubject("Details");
+    message.setBody("Details of " + from.getAddress());
+    message.setRelatedModel(Contact.class.getName());
+    message.setRelatedId(related.getId());
+    message.setFrom(from);
+    message.setAuthor(author);
+    return Beans.get(MailMessageRepository.class).save(message);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testDetails() {
+    final List<Long> ids =
+        JPA.callInTransaction(
+            () -> {
+              final User user = new User("mail-details", "Mail Details");
+              user.setPassword("mail-details");
+              user.setEmail("mail.details@example.com");
+              JPA.save(user);
+
+              final MailAddressRepository addresses = Beans.get(MailAddressRepository.class);
+              final MailAddress known = addresses.findOrCreate(user.getEmail(), "Known");
+              final MailAddress unknown = addresses.findOrCreate("unknown@example.com", "Unknown");
+              final Contact related = all(Contact.class).fetchOne();
+
+              final MailMessage first = message(related, known, null);
+              final MailMessage second = message(related, unknown, null);
+              final MailMessage third = message(related, unknown, user);
+
+              final MetaFile file = new MetaFile();
+              file.setFileName("details.txt");
+              file.setFilePath("details.txt");
+              JPA.save(file);
+
+              final MetaAttachment attachment = new MetaAttachment();
+              attachment.setObjectId(second.getId());
+              attachment.setObjectName(MailMessage.class.getName());
+              attachment.setMetaFile(file);
+              JPA.save(attachment);
+
+              return List.of(first.getId(), second.getId(), third.getId(), user.getId());
+            });
+
+    JPA.clear();
+
+    final List<Map<String, Object>> details =
+        JPA.callInTransaction(
+            () ->
+                Beans.get(MailMessageRepository.class)
+                    .details(
+                        List.of(
+                            JPA.find(MailMessage.class, ids.get(0)),
+                            JPA.find(MailMessage.class, ids.get(1)),
+                            JPA.find(MailMessage.class, ids.get(2)))));
+
+    assertEquals(3, details.size());
+    for (int i = 0; i < 3; i++) {
+      assertEquals(ids.get(i), details.get(i).get("id"));
+    }
+
+    // senders resolved to users, or authors
+    assertEquals(ids.get(3), ((Map<String, Object>) details.get(0).get("$author")).get("id"));
+    assertNull(details.get(1).get("$author"));
+    assertEquals(ids.get(3), ((Map<String, Object>) details.get(2).get("$author")).get("id"));
+
+    assertEquals(0, ((List<Object>) details.get(0).get("$files")).size());
+    assertEquals(1, ((List<Object>) details.get(1).get("$files")).size());
+    assertEquals(0, ((List<Object>) details.get(2).get("$files")).size());
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.mail.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.axelor.JpaTest;
+import com.axelor.db.JPA;
+import com.axelor.inject.Beans;
+import com.axelor.mail.ImapAccount;
+import com.axelor.mail.MailConstants;
+import com.axelor.mail.MailReader;
+import com.axelor.mail.MailSender;
+import com.axelor.mail.SmtpAccount;
+import com.axelor.mail.db.MailFetchState;
+import com.axelor.mail.db.MailMessage;
+import com.axelor.mail.db.repo.MailMessageRepository;
+import com.axelor.test.db.Contact;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+public class MailFetchTest extends JpaTest {
+
+  @RegisterExtension
+  GreenMailExtension greenMail =
+      new GreenMailExtension(ServerSetupTest.SMTP_IMAP)
+          .withConfiguration(GreenMailConfiguration.aConfig().withUser("test", "test"));
+
+  private final MailSender sender =
+      new MailSender(
+          new SmtpAccount(
+              ServerSetup.getLocalHostAddress(),
+              String.valueOf(ServerSetupTest.SMTP.getPort()),
+              "test",
+              "test"));
+
+  private final MailReader reader =
+      new MailReader(
+          new ImapAccount(
+              ServerSetup.getLocalHostAddress(),
+              String.valueOf(ServerSetupTest.IMAP.getPort()),
+              "test",
+              "test"));
+
+  private final MailServiceImpl service = new MailServiceImpl();
+
+  private void deliver(String messageId, String parentId) throws Exception {
+    final MimeMessage email =
+        sender
+            .compose()
+            .from("you@localhost")
+            .to("test@localhost")
+            .subject("Re: Fetch")
+            .header("In-Reply-To", parentId)
+            .text("Reply " + messageId)
+            .build(messageId);
+    email.saveChanges();
+    greenMail.getUserManager().getUser("test").deliver(email);
+  }
+
+  private long count(String messageId) {
+    return JPA.all(MailMessage.class).filter("self.messageId = ?", messageId).count();
+  }
+
+  @AfterEach
+  public void cleanUp() {
+    JPA.runInTransaction(
+        () -> JPA.em().createQuery("DELETE FROM MailFetchState self").executeUpdate());
+  }
+
+  private String createParent() {
+    return JPA.callInTransaction(
+        () -> {
+          final MailMessage parent = new MailMessage();
+          parent.setType(MailConstants.MESSAGE_TYPE_COMMENT);
+          parent.setSubject("Fetch");
+          parent.setRelatedModel(Contact.class.getName());
+          parent.setRelatedId(all(Contact.class).fetchOne().getId());
+          return Beans.get(MailMessageRepository.class).save(parent).getMessageId();
+        });
+  }
+
+  @Test
+  public void testIncrementalFetch() throws Exception {
+    final String parentId = createParent();
+
+    deliver("<reply-1@localhost>", parentId);
+    deliver("<unrelated@localhost>", "<unknown@localhost>");
+
+    service.fetch(reader);
+    assertEquals(1, count("<reply-1@localhost>"));
+
+    final MailFetchState state = JPA.all(MailFetchState.class).fetchOne();
+    assertNotNull(state);
+    assertEquals(2L, state.getLastUid());
+
+    // only the new messages are fetched
+    deliver("<reply-2@localhost>", parentId);
+    service.fetch(reader);
+
+    assertEquals(1, count("<reply-1@localhost>"));
+    assertEquals(1, count("<reply-2@localhost>"));
+
+    JPA.clear();
+    assertEquals(3L, JPA.all(MailFetchState.class).fetchOne().getLastUid());
+  }
+
+  @Test
+  public void testFetchInTransaction() throws Exception {
+    final String parentId = createParent();
+    deliver("<reply-tx@localhost>", parentId);
+
+    // the transaction of the caller is used
+    JPA.runInTransaction(
+        () -> {
+          try {
+            service.fetch(reader);
+          } catch (Exception e) {
+            throw new RuntimeException(e);
+          }
+          assertEquals(1, count("<reply-tx@localhost>"));
+        });
+
+    assertEquals(1, count("<reply-tx@localhost>"));
+  }
+}
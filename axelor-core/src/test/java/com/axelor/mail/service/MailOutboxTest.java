@@ -0,0 +1,127 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.mail.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.axelor.JpaTest;
+import com.axelor.db.JPA;
+import com.axelor.mail.MailSender;
+import com.axelor.mail.SmtpAccount;
+import com.axelor.mail.db.MailOutboxEntry;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+public class MailOutboxTest extends JpaTest {
+
+  @RegisterExtension
+  GreenMailExtension greenMail =
+      new GreenMailExtension(ServerSetupTest.SMTP)
+          .withConfiguration(GreenMailConfiguration.aConfig().withUser("test", "test"));
+
+  private static class TestMailService extends MailServiceImpl {
+
+    private final MailSender sender;
+    private final AtomicInteger sent = new AtomicInteger();
+
+    TestMailService(int port) {
+      this.sender =
+          new MailSender(
+              new SmtpAccount(
+                  ServerSetup.getLocalHostAddress(), String.valueOf(port), "test", "test"));
+    }
+
+    @Override
+    protected MailSender getDefaultMailSender() {
+      return sender;
+    }
+
+    @Override
+    protected void messageSent(MimeMessage email) {
+      sent.incrementAndGet();
+    }
+  }
+
+  private static MimeMessage email(MailSender sender, String subject) throws Exception {
+    return sender
+        .compose()
+        .from("me@localhost")
+        .to("you@localhost", "them@localhost")
+        .subject(subject)
+        .text("Hello from the outbox!")
+        .build();
+  }
+
+  @AfterEach
+  public void cleanUp() {
+    JPA.runInTransaction(
+        () -> JPA.em().createQuery("DELETE FROM MailOutboxEntry self").executeUpdate());
+  }
+
+  @Test
+  public void testDeliver() throws Exception {
+    final MailOutbox outbox = new MailOutbox();
+    final TestMailService service = new TestMailService(ServerSetupTest.SMTP.getPort());
+
+    JPA.runInTransaction(
+        () -> {
+          try {
+            outbox.add(email(service.getDefaultMailSender(), "First"));
+            outbox.add(email(service.getDefaultMailSender(), "Second"));
+          } catch (Exception e) {
+            throw new RuntimeException(e);
+          }
+        });
+
+    assertEquals(2, outbox.getStats().pending());
+    assertEquals(2, outbox.deliver(service));
+    assertEquals(2, service.sent.get());
+
+    // one message by recipient
+    assertTrue(greenMail.waitForIncomingEmail(4));
+    assertEquals(4, greenMail.getReceivedMessages().length);
+
+    final MailOutboxStats stats = outbox.getStats();
+    assertEquals(0, stats.pending());
+    assertEquals(2, stats.sent());
+    assertEquals(0, stats.retried());
+  }
+
+  @Test
+  public void testRetry() throws Exception {
+    final MailOutbox outbox = new MailOutbox();
+    final TestMailService service = new TestMailService(ServerSetupTest.SMTP.getPort() + 999);
+
+    outbox.add(email(service.getDefaultMailSender(), "Retry"));
+    assertEquals(0, outbox.deliver(service));
+    assertEquals(0, service.sent.get());
+
+    JPA.clear();
+    final MailOutboxEntry entry = JPA.all(MailOutboxEntry.class).fetchOne();
+    assertEquals(1, entry.getAttempts());
+    assertFalse(entry.getFailed());
+    assertNotNull(entry.getLastError());
+    assertTrue(entry.getNextAttempt().isAfter(LocalDateTime.now()));
+
+    // not due until the retry delay elapsed
+    assertEquals(0, outbox.deliver(service));
+
+    final MailOutboxStats stats = outbox.getStats();
+    assertEquals(1, stats.pending());
+    assertEquals(0, stats.sent());
+    assertEquals(1, stats.retried());
+  }
+}
@@ -227,6 +227,24 @@ public class TestActions extends MetaTest {
     assertEquals("My title", infoMap.get("title"));
   }
 
+  @Test
+  public void testEvaluate() {
+    Map<String, Object> context = new HashMap<>();
+    context.put("firstName", "John");
+    context.put("lastName", "Smith");
+
+    ActionHandler handler = createHandler("action-contact-greetings-rpc", context);
+
+    // parsed expressions are cached, evaluate them twice
+    for (int i = 0; i < 2; i++) {
+      assertEquals("John Smith", handler.evaluate("eval: firstName + ' ' + lastName"));
+      assertEquals("John", handler.evaluate("#{firstName}"));
+      assertEquals("Smith", handler.evaluate("eval: #{lastName}"));
+      assertEquals("plain value", handler.evaluate("  plain value "));
+      assertTrue(handler.evaluate("select: COUNT(self) FROM Title self") instanceof Long);
+    }
+  }
+
   @Test
   public void testRpc() {
 
@@ -5,18 +5,28 @@
 package com.axelor.meta;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.axelor.db.JPA;
 import com.axelor.dms.db.DMSFile;
 import com.axelor.file.temp.TempFiles;
+import com.axelor.inject.Beans;
 import com.axelor.meta.db.MetaFile;
+import com.axelor.meta.db.repo.MetaFileRepository;
 import com.axelor.test.db.Contact;
 import com.axelor.test.db.repo.ContactRepository;
+import com.google.common.hash.Hashing;
 import com.google.inject.persist.Transactional;
 import jakarta.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import org.junit.jupiter.api.Test;
@@ -40,6 +50,8 @@ public class TestFiles extends MetaTest {
     assertNotNull(metaFile);
     assertNotNull(metaFile.getId());
     assertEquals("text/plain", metaFile.getFileType());
+    assertEquals(sha256("Hello..."), metaFile.getChecksum());
+    assertEquals(metaFile.getChecksum(), MetaFiles.getETag(metaFile));
 
     // upload again
     MetaFile metaFile2 = files.upload(tmp1.toFile());
@@ -66,6 +78,112 @@ public class TestFiles extends MetaTest {
     Files.deleteIfExists(MetaFiles.getPath(metaFile2));
   }
 
+  @Test
+  public void testUploadChunks() throws IOException {
+    final String fileId = "test-chunks-" + System.nanoTime();
+
+    files.upload(new ByteArrayInputStream("Hello ".getBytes()), 0, 12, fileId);
+    File tmp = files.upload(new ByteArrayInputStream("World!".getBytes()), 6, 12, fileId);
+
+    MetaFile metaFile = new MetaFile();
+    metaFile.setFileName("chunks.txt");
+    metaFile = files.upload(tmp, metaFile);
+
+    assertEquals(12L, metaFile.getFileSize());
+    assertEquals(sha256("Hello World!"), metaFile.getChecksum());
+
+    files.delete(metaFile);
+  }
+
+  private static Path createFile(String text) throws IOException {
+    final Path tmp = Files.createTempFile("test", null);
+    Files.write(tmp, text.getBytes());
+    return tmp;
+  }
+
+  private static MetaFile upload(MetaFiles files, Path file, Long id) {
+    return JPA.callInTransaction(
+        () -> {
+          final MetaFile metaFile = id == null ? new MetaFile() : JPA.find(MetaFile.class, id);
+          try {
+            return files.upload(file.toFile(), metaFile);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+  }
+
+  private static void delete(MetaFiles files, MetaFile metaFile) {
+    JPA.runInTransaction(
+        () -> {
+          try {
+            files.delete(JPA.find(MetaFile.class, metaFile.getId()));
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+  }
+
+  @Test
+  public void testContentAddressed() throws IOException {
+    final MetaFiles contentFiles = new MetaFiles(Beans.get(MetaFileRepository.class), true);
+    final String text = "Shared " + System.nanoTime();
+    final Path tmp1 = createFile(text);
+    final Path tmp2 = createFile(text);
+
+    // same content is stored once
+    final MetaFile metaFile1 = upload(contentFiles, tmp1, null);
+    final MetaFile metaFile2 = upload(contentFiles, tmp2, null);
+
+    assertNotEquals(metaFile1.getId(), metaFile2.getId());
+    assertEquals(metaFile1.getFilePath(), metaFile2.getFilePath());
+    assertEquals(sha256(text), metaFile1.getChecksum());
+
+    final Path content = MetaFiles.getPath(metaFile1);
+    assertEquals(text, Files.readString(content));
+
+    // shared content is kept until the last reference is deleted
+    delete(contentFiles, metaFile1);
+    assertTrue(Files.exists(content));
+
+    delete(contentFiles, metaFile2);
+    assertFalse(Files.exists(content));
+
+    Files.deleteIfExists(tmp1);
+    Files.deleteIfExists(tmp2);
+  }
+
+  @Test
+  public void testContentAddressedReplace() throws IOException {
+    final MetaFiles contentFiles = new MetaFiles(Beans.get(MetaFileRepository.class), true);
+    final String oldText = "Old " + System.nanoTime();
+    final String newText = "New " + System.nanoTime();
+    final Path tmp1 = createFile(oldText);
+    final Path tmp2 = createFile(newText);
+
+    final MetaFile metaFile = upload(contentFiles, tmp1, null);
+    final Path oldContent = MetaFiles.getPath(metaFile);
+
+    // replacing the content releases the old one
+    final MetaFile replaced = upload(contentFiles, tmp2, metaFile.getId());
+    final Path newContent = MetaFiles.getPath(replaced);
+
+    assertNotEquals(oldContent, newContent);
+    assertFalse(Files.exists(oldContent));
+    assertEquals(newText, Files.readString(newContent));
+    assertEquals(sha256(newText), replaced.getChecksum());
+
+    delete(contentFiles, replaced);
+    assertFalse(Files.exists(newContent));
+
+    Files.deleteIfExists(tmp1);
+    Files.deleteIfExists(tmp2);
+  }
+
+  private static String sha256(String text) {
+    return Hashing.sha256().hashString(text, StandardCharsets.UTF_8).toString();
+  }
+
   @Test
   @Transactional
   public void testAttach() throws IOException {
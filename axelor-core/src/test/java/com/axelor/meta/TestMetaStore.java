@@ -0,0 +1,103 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.meta;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.axelor.db.JPA;
+import com.axelor.meta.db.MetaJsonField;
+import com.axelor.meta.db.MetaSelect;
+import com.axelor.meta.db.MetaSelectItem;
+import com.axelor.meta.db.repo.MetaJsonFieldRepository;
+import com.axelor.meta.db.repo.MetaSelectRepository;
+import com.axelor.test.db.Contact;
+import jakarta.inject.Inject;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class TestMetaStore extends MetaTest {
+
+  @Inject private MetaSelectRepository selects;
+
+  @Inject private MetaJsonFieldRepository jsonFields;
+
+  @Test
+  public void testSelectionCache() {
+    final String name = "test.store.selection";
+
+    assertNull(MetaStore.getSelectionList(name));
+
+    JPA.runInTransaction(
+        () -> {
+          MetaSelect select = new MetaSelect(name);
+          MetaSelectItem item = new MetaSelectItem();
+          item.setValue("one");
+          item.setTitle("One");
+          select.addItem(item);
+          selects.save(select);
+        });
+
+    // invalidated on commit
+    assertEquals(1, MetaStore.getSelectionList(name).size());
+    assertEquals("One", MetaStore.getSelectionItem(name, "one").getTitle());
+
+    JPA.runInTransaction(
+        () -> selects.findByName(name).getItems().getFirst().setTitle("First"));
+
+    assertEquals("First", MetaStore.getSelectionItem(name, "one").getTitle());
+
+    JPA.runInTransaction(() -> selects.remove(selects.findByName(name)));
+
+    assertNull(MetaStore.getSelectionList(name));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testJsonFieldsCache() {
+    Map<String, Object> fields = MetaStore.findJsonFields(Contact.class.getName(), "attrs");
+    assertNotNull(fields);
+
+    Map<String, Object> nickName = (Map<String, Object>) fields.get("nickName");
+    assertNotNull(nickName);
+    assertEquals("attrs", nickName.get("jsonField"));
+
+    // returned attributes are copies of the cached ones
+    nickName.put("title", "Changed");
+    fields = MetaStore.findJsonFields(Contact.class.getName(), "attrs");
+    assertEquals("Nick Name", ((Map<String, Object>) fields.get("nickName")).get("autoTitle"));
+    assertNotEquals("Changed", ((Map<String, Object>) fields.get("nickName")).get("title"));
+
+    JPA.runInTransaction(
+        () -> {
+          MetaJsonField field =
+              jsonFields
+                  .all()
+                  .filter("self.model = :model AND self.modelField = :field AND self.name = :name")
+                  .bind("model", Contact.class.getName())
+                  .bind("field", "attrs")
+                  .bind("name", "nickName")
+                  .fetchOne();
+          field.setTitle("Nick");
+        });
+
+    try {
+      fields = MetaStore.findJsonFields(Contact.class.getName(), "attrs");
+      assertEquals("Nick", ((Map<String, Object>) fields.get("nickName")).get("title"));
+    } finally {
+      JPA.runInTransaction(
+          () ->
+              jsonFields
+                  .all()
+                  .filter("self.model = :model AND self.name = :name")
+                  .bind("model", Contact.class.getName())
+                  .bind("name", "nickName")
+                  .fetchOne()
+                  .setTitle(null));
+    }
+  }
+}
@@ -6,11 +6,14 @@ package com.axelor.meta.loader;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.axelor.common.ResourceUtils;
+import com.axelor.db.JPA;
 import com.axelor.db.Query.Selector;
 import com.axelor.meta.MetaTest;
+import com.axelor.meta.db.MetaView;
 import com.axelor.meta.schema.ObjectViews;
 import com.axelor.meta.schema.views.AbstractView;
 import com.axelor.meta.schema.views.ChartView;
@@ -116,6 +119,40 @@ public class TestViews extends MetaTest {
     assertEquals(form1.getName(), included.getName());
   }
 
+  @Test
+  public void testViewCache() throws Exception {
+    final URL url = ResourceUtils.getResource("com/axelor/meta/Include.xml");
+    JPA.runInTransaction(
+        () -> {
+          try {
+            loader.process(url, new Module("test-cache"), false);
+          } catch (Exception e) {
+            throw new RuntimeException(e);
+          }
+        });
+
+    final FormView form1 =
+        (FormView) XMLViews.findView("contact-form1", "form", null, "test-cache");
+    assertNotNull(form1.getViewId());
+
+    // cached views are parsed for each call, so changes are not shared
+    form1.setTitle("Changed");
+    final FormView form2 =
+        (FormView) XMLViews.findView("contact-form1", "form", null, "test-cache");
+    assertNotSame(form1, form2);
+    assertEquals("Contact", form2.getTitle());
+
+    JPA.runInTransaction(
+        () -> {
+          final MetaView view = JPA.find(MetaView.class, form1.getViewId());
+          view.setXml(view.getXml().replace("title=\"Contact\"", "title=\"Person\""));
+        });
+
+    // invalidated on commit
+    assertEquals(
+        "Person", XMLViews.findView("contact-form1", "form", null, "test-cache").getTitle());
+  }
+
   @Test
   public void testChart() throws Exception {
     ObjectViews views = this.unmarshal("com/axelor/meta/Charts.xml", ObjectViews.class);
@@ -10,12 +10,17 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.axelor.app.AppSettings;
+import com.axelor.app.AvailableAppSettings;
 import com.axelor.common.ResourceUtils;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 
 public class GroovyTemplateTest extends TemplateScriptTest {
@@ -67,6 +72,42 @@ public class GroovyTemplateTest extends TemplateScriptTest {
     assertTrue(output.contains("This is nested 2"));
   }
 
+  @Test
+  public void testGroovyCache() throws Exception {
+
+    Templates templates = new GroovyTemplates();
+
+    // compiled once, rendered with other variables
+    assertEquals(OUTPUT_SIMPLE, templates.fromText(TEMPLATE_SIMPLE).make(vars).render());
+    assertEquals(
+        "Hello: Jane Doe = Hi",
+        templates
+            .fromText(TEMPLATE_SIMPLE)
+            .make(
+                Map.of("firstName", "Jane", "lastName", "Doe", "nested", Map.of("message", "Hi")))
+            .render());
+
+    // changed includes are compiled again
+    Path dir =
+        Path.of(
+            AppSettings.get()
+                .getPath(
+                    AvailableAppSettings.TEMPLATE_SEARCH_DIR, "{java.io.tmpdir}/axelor/templates"));
+    Path file = Files.createDirectories(dir).resolve(UUID.randomUUID() + ".tmpl");
+    String text = "Include: {{<" + file.getFileName() + ">}}";
+
+    try {
+      Files.writeString(file, "${firstName}");
+      assertEquals("Include: John", templates.fromText(text).make(vars).render());
+
+      Files.writeString(file, "${lastName}");
+      file.toFile().setLastModified(file.toFile().lastModified() + 1000);
+      assertEquals("Include: Smith", templates.fromText(text).make(vars).render());
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
   @Test
   void testSecurityAppSettings() {
     var templates = new GroovyTemplates();
@@ -15,8 +15,13 @@ import com.axelor.test.db.Contact;
 import com.google.inject.persist.Transactional;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
 public class STTemplateTest extends TemplateScriptTest {
@@ -34,6 +39,40 @@ public class STTemplateTest extends TemplateScriptTest {
     assertEquals(OUTPUT_SIMPLE, text);
   }
 
+  public record Person(String name, boolean active) {
+
+    public String getTitle() {
+      return "Dr.";
+    }
+  }
+
+  @Test
+  public void testStringTemplateObject() throws Exception {
+    Template template =
+        new StringTemplates().fromText("<p.title> <p.name><if(p.active)> (active)<endif>");
+
+    // templates can be rendered again, and concurrently
+    assertEquals(
+        "Dr. John (active)", template.make(Map.of("p", new Person("John", true))).render());
+    assertEquals("Dr. Jane", template.make(Map.of("p", new Person("Jane", false))).render());
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> outputs =
+          IntStream.range(0, 100)
+              .mapToObj(
+                  i ->
+                      executor.submit(
+                          () -> template.make(Map.of("p", new Person("P" + i, false))).render()))
+              .toList();
+      for (int i = 0; i < outputs.size(); i++) {
+        assertEquals("Dr. P" + i, outputs.get(i).get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   private static final String TEMPLATE_COMPLEX =
       """
       <html>
@@ -10,7 +10,13 @@ import static org.apache.shiro.subject.support.DefaultSubjectContext.PRINCIPALS_
 import com.axelor.auth.AuthSessionService;
 import com.axelor.auth.AuthUtils;
 import com.axelor.auth.db.User;
+import com.axelor.cache.CacheBuilder;
+import com.axelor.db.tenants.TenantConnectionProvider;
+import com.axelor.file.store.FileStoreFactory;
+import com.axelor.file.store.StoreType;
+import com.axelor.file.store.s3.S3Cache;
 import com.axelor.inject.Beans;
+import com.axelor.mail.service.MailOutbox;
 import com.axelor.meta.theme.AvailableTheme;
 import com.axelor.meta.theme.MetaThemeService;
 import com.google.inject.servlet.RequestScoped;
@@ -75,6 +81,14 @@ public class AboutService extends AbstractService {
       info.put("memMax", runtime.maxMemory());
       info.put("memFree", runtime.freeMemory());
 
+      info.put("nearCaches", CacheBuilder.getNearCacheStats());
+      info.put("tenantPools", TenantConnectionProvider.getPoolStats());
+      info.put("mailOutbox", Beans.get(MailOutbox.class).getStats());
+      if (S3Cache.CACHE_ENABLED
+          && FileStoreFactory.getStore().getStoreType() == StoreType.OBJECT_STORAGE) {
+        info.put("s3Cache", S3Cache.getInstance().getStats());
+      }
+
       info.put("users", users);
     }
 
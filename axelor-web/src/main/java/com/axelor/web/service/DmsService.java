@@ -34,6 +34,7 @@ import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.inject.Inject;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.HEAD;
@@ -43,6 +44,7 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.Response.Status;
@@ -82,6 +84,10 @@ public class DmsService {
 
   @Inject private DMSFileRepository repository;
 
+  @Context private jakarta.ws.rs.core.Request httpRequest;
+
+  @Context private HttpServletRequest servletRequest;
+
   private static final Map<String, String> EXTS = Map.of("html", ".html", "spreadsheet", ".csv");
 
   @GET
@@ -301,15 +307,7 @@ public class DmsService {
       return jakarta.ws.rs.core.Response.status(Status.NOT_FOUND).build();
     }
 
-    final StreamingOutput so =
-        output -> {
-          try (InputStream input =
-              FileStoreFactory.getStore().getStream(file.getMetaFile().getFilePath())) {
-            writeTo(output, input);
-          }
-        };
-
-    return stream(so, file.getFileName(), false);
+    return stream(file.getMetaFile(), file.getFileName(), false);
   }
 
   @POST
@@ -431,6 +429,11 @@ public class DmsService {
     // if file
     final DMSFile record = records.getFirst();
     if (records.size() == 1 && !record.getIsDirectory()) {
+      if (record.getMetaFile() != null) {
+        return hasFile(record)
+            ? stream(record.getMetaFile(), getFileName(record), inline)
+            : jakarta.ws.rs.core.Response.status(Status.NOT_FOUND).build();
+      }
       File file = getFile(record);
       if (file != null && hasFile(record)) {
         return stream(file, getFileName(record), inline);
@@ -613,8 +616,17 @@ public class DmsService {
 
   private jakarta.ws.rs.core.Response stream(Object content, String fileName, boolean inline) {
     final MediaType type = MediaType.valueOf(MimeTypesUtils.getContentType(fileName));
-    final ResponseBuilder builder = jakarta.ws.rs.core.Response.ok(content, type);
+    return stream(jakarta.ws.rs.core.Response.ok(content, type), type, fileName, inline);
+  }
+
+  private jakarta.ws.rs.core.Response stream(MetaFile metaFile, String fileName, boolean inline) {
+    final MediaType type = MediaType.valueOf(MimeTypesUtils.getContentType(fileName));
+    return stream(
+        FileResponses.download(httpRequest, servletRequest, metaFile, type), type, fileName, inline);
+  }
 
+  private jakarta.ws.rs.core.Response stream(
+      ResponseBuilder builder, MediaType type, String fileName, boolean inline) {
     if (inline && MetaFiles.isBrowserPreviewCompatible(type)) {
       return builder
           .header(
@@ -0,0 +1,322 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.web.service;
+
+import com.axelor.common.FileUtils;
+import com.axelor.common.StringUtils;
+import com.axelor.file.store.FileStoreFactory;
+import com.axelor.file.store.Store;
+import com.axelor.file.store.StoreType;
+import com.axelor.meta.MetaFiles;
+import com.axelor.meta.db.MetaFile;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.ResponseBuilder;
+import jakarta.ws.rs.core.Response.Status;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Builds the download responses of the stored files.
+ *
+ * <p>The responses support conditional requests ({@code If-None-Match} and {@code
+ * If-Modified-Since}) and byte ranges ({@code Range} and {@code If-Range}), so that unchanged files
+ * aren't transferred again and only the requested parts of the files are read from the store.
+ *
+ * <p>Files of the file system store are sent with sendfile when supported by the servlet container
+ * (Tomcat) and the range is large enough, which transfers them to the socket without copying them
+ * through heap buffers. Otherwise, including multipart ranges, they are copied to the response
+ * stream with {@link FileUtils#transferTo(Path, long, long, java.io.OutputStream)}, which still
+ * goes through a buffer.
+ */
+final class FileResponses {
+
+  private static final String BYTES_UNIT = "bytes";
+
+  // above this number of ranges, the whole file is sent
+  private static final int MAX_RANGES = 16;
+
+  // Tomcat sendfile request attributes, the end position is exclusive
+  private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+  private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+  private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+  private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+  // below this size, sendfile is slower than writing to the response buffer
+  private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+  private FileResponses() {}
+
+  /** A range of bytes, from start to end inclusive. */
+  record ByteRange(long start, long end) {
+
+    long length() {
+      return end - start + 1;
+    }
+
+    String toContentRange(long size) {
+      return "%s %d-%d/%d".formatted(BYTES_UNIT, start, end, size);
+    }
+  }
+
+  /**
+   * Builds the download response of the given file.
+   *
+   * @param request the request, to evaluate the preconditions
+   * @param servletRequest the servlet request, to use sendfile
+   * @param metaFile the file to download
+   * @param type the media type of the file
+   * @return the response builder, to which the content disposition can be added
+   */
+  static ResponseBuilder download(
+      Request request, HttpServletRequest servletRequest, MetaFile metaFile, MediaType type) {
+    final Store store = FileStoreFactory.getStore();
+    final String filePath = metaFile.getFilePath();
+    final Path localPath =
+        store.getStoreType() == StoreType.FILE_SYSTEM ? store.getPath(filePath) : null;
+    final EntityTag etag = new EntityTag(MetaFiles.getETag(metaFile));
+    final Date lastModified = getLastModified(metaFile);
+
+    final ResponseBuilder notModified =
+        lastModified == null
+            ? request.evaluatePreconditions(etag)
+            : request.evaluatePreconditions(lastModified, etag);
+    if (notModified != null) {
+      return withValidators(notModified, etag, lastModified);
+    }
+
+    final Long size = metaFile.getFileSize();
+    if (size == null) {
+      final StreamingOutput content =
+          output -> {
+            try (InputStream input = store.getStream(filePath)) {
+              input.transferTo(output);
+            }
+          };
+      return withValidators(Response.ok(content, type), etag, lastModified);
+    }
+
+    List<ByteRange> ranges = null;
+    if (isRangeValid(servletRequest.getHeader("If-Range"), etag, lastModified)) {
+      ranges = parseRanges(servletRequest.getHeader("Range"), size);
+    }
+
+    final ResponseBuilder builder;
+
+    if (ranges == null) {
+      builder =
+          Response.ok(
+                  content(store, filePath, localPath, servletRequest, new ByteRange(0, size - 1)),
+                  type)
+              .header(HttpHeaders.CONTENT_LENGTH, size);
+    } else if (ranges.isEmpty()) {
+      return withValidators(
+          Response.status(Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+              .header("Content-Range", "%s */%d".formatted(BYTES_UNIT, size)),
+          etag,
+          lastModified);
+    } else if (ranges.size() == 1) {
+      final ByteRange range = ranges.getFirst();
+      builder =
+          Response.status(Status.PARTIAL_CONTENT)
+              .entity(content(store, filePath, localPath, servletRequest, range))
+              .type(type)
+              .header("Content-Range", range.toContentRange(size))
+              .header(HttpHeaders.CONTENT_LENGTH, range.length());
+    } else {
+      final String boundary = UUID.randomUUID().toString();
+      builder =
+          Response.status(Status.PARTIAL_CONTENT)
+              .entity(multipart(store, filePath, localPath, ranges, size, type, boundary))
+              .type("multipart/byteranges; boundary=" + boundary);
+    }
+
+    return withValidators(builder, etag, lastModified).header("Accept-Ranges", BYTES_UNIT);
+  }
+
+  private static ResponseBuilder withValidators(
+      ResponseBuilder builder, EntityTag etag, Date lastModified) {
+    // cached copies should be revalidated, files may be changed or access revoked
+    return builder
+        .tag(etag)
+        .lastModified(lastModified)
+        .header(HttpHeaders.CACHE_CONTROL, "no-cache");
+  }
+
+  private static Date getLastModified(MetaFile metaFile) {
+    final LocalDateTime dateTime =
+        Objects.requireNonNullElse(metaFile.getUpdatedOn(), metaFile.getCreatedOn());
+    if (dateTime == null) {
+      return null;
+    }
+    // http dates have a precision of seconds
+    return Date.from(
+        dateTime.truncatedTo(ChronoUnit.SECONDS).atZone(ZoneId.systemDefault()).toInstant());
+  }
+
+  private static boolean isRangeValid(String ifRange, EntityTag etag, Date lastModified) {
+    if (StringUtils.isBlank(ifRange)) {
+      return true;
+    }
+    final String value = ifRange.trim();
+    if (value.startsWith("\"") || value.startsWith("W/")) {
+      // strong comparison, weak tags never match
+      return value.equals("\"" + etag.getValue() + "\"");
+    }
+    try {
+      final ZonedDateTime date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+      return lastModified != null && date.toInstant().equals(lastModified.toInstant());
+    } catch (Exception e) {
+      return false;
+    }
+  }
+
+  /**
+   * Parses the given {@code Range} header.
+   *
+   * <p>Overlapping and adjacent ranges are merged.
+   *
+   * @param header the header value
+   * @param size the size of the file
+   * @return the satisfiable ranges, empty if none is satisfiable, or {@code null} if the header is
+   *     missing or invalid and the whole file should be sent
+   */
+  static List<ByteRange> parseRanges(String header, long size) {
+    if (header == null || !header.startsWith(BYTES_UNIT + "=")) {
+      return null;
+    }
+
+    final List<ByteRange> ranges = new ArrayList<>();
+    final String[] specs = header.substring(BYTES_UNIT.length() + 1).split(",");
+
+    if (specs.length > MAX_RANGES) {
+      return null;
+    }
+
+    try {
+      for (String spec : specs) {
+        final String value = spec.trim();
+        final int dash = value.indexOf('-');
+        if (dash < 0) {
+          return null;
+        }
+        final String first = value.substring(0, dash).trim();
+        final String last = value.substring(dash + 1).trim();
+
+        if (first.isEmpty()) {
+          // suffix range, the last bytes of the file
+          final long suffix = Long.parseLong(last);
+          if (suffix > 0 && size > 0) {
+            ranges.add(new ByteRange(Math.max(0, size - suffix), size - 1));
+          }
+          continue;
+        }
+
+        final long start = Long.parseLong(first);
+        final long end = last.isEmpty() ? size - 1 : Long.parseLong(last);
+        if (start < 0 || end < start) {
+          return null;
+        }
+        if (start < size) {
+          ranges.add(new ByteRange(start, Math.min(end, size - 1)));
+        }
+      }
+    } catch (NumberFormatException e) {
+      return null;
+    }
+
+    ranges.sort(Comparator.comparingLong(ByteRange::start));
+
+    final List<ByteRange> merged = new ArrayList<>();
+    for (ByteRange range : ranges) {
+      final ByteRange previous = merged.isEmpty() ? null : merged.getLast();
+      if (previous != null && range.start() <= previous.end() + 1) {
+        merged.set(
+            merged.size() - 1,
+            new ByteRange(previous.start(), Math.max(previous.end(), range.end())));
+      } else {
+        merged.add(range);
+      }
+    }
+
+    return merged;
+  }
+
+  /**
+   * Returns the content of the given range, or {@code null} if it's sent with sendfile by the
+   * servlet container.
+   */
+  private static StreamingOutput content(
+      Store store,
+      String filePath,
+      Path localPath,
+      HttpServletRequest servletRequest,
+      ByteRange range) {
+    if (localPath != null
+        && range.length() >= SENDFILE_MIN_SIZE
+        && Boolean.TRUE.equals(servletRequest.getAttribute(SENDFILE_SUPPORT))) {
+      servletRequest.setAttribute(SENDFILE_FILENAME, localPath.toAbsolutePath().toString());
+      servletRequest.setAttribute(SENDFILE_START, range.start());
+      servletRequest.setAttribute(SENDFILE_END, range.end() + 1);
+      return null;
+    }
+    return output -> write(output, store, filePath, localPath, range);
+  }
+
+  private static void write(
+      OutputStream output, Store store, String filePath, Path localPath, ByteRange range)
+      throws IOException {
+    if (localPath != null) {
+      FileUtils.transferTo(localPath, range.start(), range.length(), output);
+      return;
+    }
+    try (InputStream input = store.getStream(filePath, range.start(), range.length())) {
+      input.transferTo(output);
+    }
+  }
+
+  private static StreamingOutput multipart(
+      Store store,
+      String filePath,
+      Path localPath,
+      List<ByteRange> ranges,
+      long size,
+      MediaType type,
+      String boundary) {
+    return output -> {
+      for (ByteRange range : ranges) {
+        write(
+            output,
+            "\r\n--%s\r\nContent-Type: %s\r\nContent-Range: %s\r\n\r\n"
+                .formatted(boundary, type, range.toContentRange(size)));
+        write(output, store, filePath, localPath, range);
+      }
+      write(output, "\r\n--%s--\r\n".formatted(boundary));
+    };
+  }
+
+  private static void write(OutputStream output, String text) throws IOException {
+    output.write(text.getBytes(StandardCharsets.ISO_8859_1));
+  }
+}
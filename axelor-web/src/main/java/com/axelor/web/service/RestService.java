@@ -16,6 +16,7 @@ import com.axelor.common.FileUtils;
 import com.axelor.common.MimeTypesUtils;
 import com.axelor.common.StringUtils;
 import com.axelor.common.http.ContentDisposition;
+import com.axelor.db.BinaryContent;
 import com.axelor.db.EntityHelper;
 import com.axelor.db.JPA;
 import com.axelor.db.JpaRepository;
@@ -54,6 +55,7 @@ import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.inject.Inject;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.DefaultValue;
@@ -65,11 +67,11 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response.Status;
 import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.xml.bind.DatatypeConverter;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -108,6 +110,10 @@ public class RestService extends ResourceService {
 
   @Inject private MailFollowerRepository followers;
 
+  @Context private jakarta.ws.rs.core.Request httpRequest;
+
+  @Context private HttpServletRequest servletRequest;
+
   private static final Charset CSV_CHARSET;
   private static final Locale CSV_LOCALE;
   private static final Character CSV_SEPARATOR;
@@ -410,10 +416,17 @@ public class RestService extends ResourceService {
     }
 
     if (!isAttachment) {
-      ByteArrayOutputStream out = new ByteArrayOutputStream();
-      uploadSave(fileStream, out);
-      data.put(field, out.toByteArray());
-      return getResource().save(request);
+      // spilled to a temp file and streamed to the column when the record is saved
+      final BinaryContent content;
+      try (fileStream) {
+        content = BinaryContent.of(fileStream);
+      }
+      try {
+        data.put(field, content);
+        return getResource().save(request);
+      } finally {
+        content.close();
+      }
     }
 
     data.put("fileName", safeFileName);
@@ -467,9 +480,9 @@ public class RestService extends ResourceService {
       contentDispositionBuilder=ContentDisposition.attachment();
     }
 
-    Object content=(StreamingOutput) output -> uploadSave(store.getStream(metaFile.getFilePath()), output);
     final MediaType type = MediaType.valueOf(MimeTypesUtils.getContentType(fileName));
-    final jakarta.ws.rs.core.Response.ResponseBuilder builder = jakarta.ws.rs.core.Response.ok(content, type);
+    final jakarta.ws.rs.core.Response.ResponseBuilder builder =
+        FileResponses.download(httpRequest, servletRequest, metaFile, type);
 
     return builder.header("Content-Disposition", contentDispositionBuilder.filename(fileName).build().toString()).build();
   }
@@ -813,6 +826,32 @@ public class RestService extends ResourceService {
     return getResource().export(request, CSV_CHARSET, locale, CSV_SEPARATOR);
   }
 
+  @POST
+  @Path("export/stream")
+  @Produces("text/csv")
+  @Hidden
+  public jakarta.ws.rs.core.Response exportStream(Request request) {
+    if (request == null || request.getFields() == null) {
+      return jakarta.ws.rs.core.Response.status(Status.BAD_REQUEST).build();
+    }
+
+    request.setModel(getModel());
+    updateContext(request);
+
+    final Locale locale = CSV_LOCALE != null ? CSV_LOCALE : AppFilter.getLocale();
+    final String fileName = getModel().substring(getModel().lastIndexOf('.') + 1) + ".csv";
+
+    // check permissions and fire the pre-request event before sending any response
+    final StreamingOutput content =
+        getResource().exportStream(request, CSV_CHARSET, locale, CSV_SEPARATOR);
+
+    return jakarta.ws.rs.core.Response.ok(content, "text/csv; charset=" + CSV_CHARSET.name())
+        .header(
+            "Content-Disposition",
+            ContentDisposition.attachment().filename(fileName).build().toString())
+        .build();
+  }
+
   @GET
   @Path("{id}/followers")
   @Hidden
@@ -0,0 +1,44 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.web.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.axelor.web.service.FileResponses.ByteRange;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class FileResponsesTest {
+
+  @Test
+  public void testParseRanges() {
+    assertEquals(List.of(new ByteRange(0, 499)), FileResponses.parseRanges("bytes=0-499", 1000));
+    assertEquals(List.of(new ByteRange(500, 999)), FileResponses.parseRanges("bytes=500-", 1000));
+    assertEquals(List.of(new ByteRange(900, 999)), FileResponses.parseRanges("bytes=-100", 1000));
+    assertEquals(List.of(new ByteRange(0, 999)), FileResponses.parseRanges("bytes=-2000", 1000));
+    assertEquals(
+        List.of(new ByteRange(990, 999)), FileResponses.parseRanges("bytes=990-2000", 1000));
+
+    // multiple ranges, overlapping and adjacent ones are merged
+    assertEquals(
+        List.of(new ByteRange(0, 9), new ByteRange(100, 199)),
+        FileResponses.parseRanges("bytes=100-149, 0-9, 150-199", 1000));
+    assertEquals(
+        List.of(new ByteRange(0, 99)), FileResponses.parseRanges("bytes=0-49,25-99", 1000));
+
+    // unsatisfiable
+    assertTrue(FileResponses.parseRanges("bytes=1000-", 1000).isEmpty());
+    assertTrue(FileResponses.parseRanges("bytes=-0", 1000).isEmpty());
+
+    // invalid, the whole file is sent
+    assertNull(FileResponses.parseRanges(null, 1000));
+    assertNull(FileResponses.parseRanges("items=0-1", 1000));
+    assertNull(FileResponses.parseRanges("bytes=10-5", 1000));
+    assertNull(FileResponses.parseRanges("bytes=a-b", 1000));
+    assertNull(FileResponses.parseRanges("bytes=0-0" + ",1-1".repeat(20), 1000));
+  }
+}